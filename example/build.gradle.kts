@@ -14,6 +14,5 @@ Cjfx {
 	val targetModules = listOf(CjfxModule.CONTROLS, CjfxModule.FXML)
 	modules.addAll(targetModules)
 	
-	dependencyConfigurations.clear()
-	dependencyConfigurations.addAll(listOf("compileOnly"))
+	dependencyConfigurations.set(listOf("compileOnly"))
 }
\ No newline at end of file
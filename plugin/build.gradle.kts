@@ -103,7 +103,6 @@ tasks.named<Test>("test") {
 dependencies {
 	implementation("org.javamodularity:moduleplugin:1.8.12")
 	implementation("com.github.ushiosan23:jvm-utilities:1.0.0")
-	implementation("org.openjfx:javafx-base:21:win")
 	implementation("com.google.code.gson:gson:2.10.1")
 	compileOnly("org.jetbrains:annotations:24.1.0")
 	// Use JUnit Jupiter for testing.
@@ -0,0 +1,24 @@
+package uoxx3.cjfx;
+
+/**
+ * Determines how the version lock file ({@code cjfx.lockfile}) is used when the JavaFX version
+ * is a special case ({@code #latest#}, {@code #early#} or a regular expression).
+ * <p>
+ * The lock file is generated with the {@code cjfxLock} task and contains the concrete version
+ * of every module and classifier, so the builds are reproducible and do not use the network
+ * until the lock file is refreshed.
+ */
+public enum CjfxLockMode {
+	/**
+	 * The lock file is ignored and the versions are always resolved
+	 */
+	DISABLED,
+	/**
+	 * The locked version is used when it exists, otherwise the version is resolved
+	 */
+	LENIENT,
+	/**
+	 * The locked version must exist, otherwise the build fails
+	 */
+	STRICT
+}
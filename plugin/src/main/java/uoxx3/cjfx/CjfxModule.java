@@ -8,6 +8,7 @@ import ushiosan.jvm.collections.USet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -196,4 +197,25 @@ public enum CjfxModule {
 		return String.format(format, artifactGroup(version), modifier);
 	}
 	
+	
+	/**
+	 * Generates the notation of the artifact in map form ({@code group}, {@code name}, {@code version} and
+	 * {@code classifier}). Unlike {@link #artifactGroup(String, String)}, Gradle does not need to parse
+	 * this notation to create the dependency.
+	 *
+	 * @param version  The specific version of the artifact
+	 * @param modifier The access modifier of the artifact. Useful for separating artifacts by
+	 *                 platform like JavaFX does.
+	 * @return The notation of the artifact or an empty map for the {@link #ALL} option.
+	 */
+	public @NotNull @Unmodifiable Map<String, String> artifactNotation(@NotNull String version,
+		@NotNull String modifier) {
+		if (this == ALL) return Map.of();
+		
+		return Map.of("group", "org.openjfx",
+					  "name", artifactName(),
+					  "version", version,
+					  "classifier", modifier);
+	}
+	
 }
@@ -2,22 +2,46 @@ package uoxx3.cjfx;
 
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.ApplicationPlugin;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.bundling.Jar;
+import org.gradle.jvm.toolchain.JavaToolchainService;
 import org.javamodularity.moduleplugin.ModuleSystemPlugin;
+import org.javamodularity.moduleplugin.extensions.RunModuleOptions;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import uoxx3.cjfx.extensions.CjfxConfiguration;
+import uoxx3.cjfx.internal.lock.VersionLockFile;
+import uoxx3.cjfx.internal.module.ModuleMetadataIndex;
 import uoxx3.cjfx.internal.process.DependencyProcessor;
+import uoxx3.cjfx.internal.process.PlatformProcessor;
+import uoxx3.cjfx.internal.service.BuildStatisticsService;
+import uoxx3.cjfx.internal.service.ConfigurationFileService;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+import uoxx3.cjfx.tasks.CjfxCdsArchiveTask;
 import uoxx3.cjfx.tasks.CjfxConfigureRunTask;
-import ushiosan.jvm.filesystem.UResource;
+import uoxx3.cjfx.tasks.CjfxExtractNativesTask;
+import uoxx3.cjfx.tasks.CjfxJdkModulesTask;
+import uoxx3.cjfx.tasks.CjfxJlinkTask;
+import uoxx3.cjfx.tasks.CjfxLockTask;
+import uoxx3.cjfx.tasks.CjfxStatsTask;
 
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +51,17 @@ import java.util.stream.Collectors;
  */
 public class CjfxPluginEntry implements Plugin<Project> {
 	
+	/**
+	 * Maximum depth used to search the configuration files inside the project directory
+	 * (the directory itself and its direct subdirectories).
+	 */
+	private static final int PROJECT_SEARCH_DEPTH = 2;
+	
+	/**
+	 * System property with the directories of the native libraries
+	 */
+	private static final String LIBRARY_PATH_PROPERTY = "java.library.path";
+	
 	/**
 	 * Apply this plugin to the given target object.
 	 *
@@ -39,63 +74,285 @@ public class CjfxPluginEntry implements Plugin<Project> {
 		project.getPlugins().apply(ModuleSystemPlugin.class);
 		
 		// We load the configuration files into the current project
-		loadCjfxGradleConfigurations(project);
+		Provider<BuildStatisticsService> statisticsService = BuildStatisticsService.register(project);
+		statisticsService.get().statistics()
+			.measure(BuildStatistics.CONFIGURATION_FILES, () -> loadCjfxGradleConfigurations(project));
 		
 		// Local variables with the instances of the objects that will be used
 		// throughout the life cycle of the plugin.
-		DependencyProcessor dependencyProcessor = new DependencyProcessor(project);
+		Provider<DependencyResolverService> resolverService = DependencyResolverService.register(project);
+		DependencyProcessor dependencyProcessor = new DependencyProcessor(project, resolverService, statisticsService);
 		CjfxConfiguration configuration = project.getExtensions()
 			.create(CjfxConfiguration.EXTENSION_NAME, CjfxConfiguration.class, project, dependencyProcessor);
 		
+		// Report with the statistics of the plugin during the current build
+		TaskProvider<CjfxStatsTask> statsTask = project.getTasks()
+			.register(CjfxStatsTask.TASK_NAME, CjfxStatsTask.class, task -> {
+				task.getStatisticsService().set(statisticsService);
+				task.getReportFile().set(project.getLayout().getBuildDirectory()
+											 .file("reports/cjfx/stats.json"));
+				task.usesService(statisticsService);
+			});
+		
+		// The module names are computed when the task needs them, so the extension
+		// changes made after the plugin is applied are always taken into account.
+		Provider<Set<String>> moduleNames = project.provider(() -> CjfxModule
+			.resolveModuleDependencies(configuration.modules.get())
+			.stream()
+			.map(CjfxModule::javaModuleName)
+			.collect(Collectors.toCollection(LinkedHashSet::new)));
+		FileCollection runtimeClasspath = project.getConfigurations()
+			.getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+		File moduleIndexFile = new File(project.getGradle().getGradleUserHomeDir(),
+										"caches/cjfx/" + ModuleMetadataIndex.FILE_NAME);
+		
+		// Task that locks the dynamic JavaFX versions of the project
+		project.getTasks().register(CjfxLockTask.TASK_NAME, CjfxLockTask.class, task -> {
+			task.getVersionSpecification().set(configuration.version);
+			task.getArtifactNames().set(project.provider(() -> CjfxModule
+				.resolveModuleDependencies(configuration.modules.get())
+				.stream()
+				.map(CjfxModule::artifactName)
+				.collect(Collectors.toCollection(LinkedHashSet::new))));
+			task.getClassifier().set(project.provider(() -> PlatformProcessor.instance()
+				.resolveArtifactModifier(configuration.platform.get(), configuration.architecture.get())));
+			task.getResolverService().set(resolverService);
+			task.getLockFile().set(project.getLayout().getProjectDirectory().file(VersionLockFile.FILE_NAME));
+			task.usesService(resolverService);
+		});
+		
+		// Runtime image with the JavaFX modules of the current platform
+		JavaPluginExtension javaExtension = project.getExtensions().getByType(JavaPluginExtension.class);
+		JavaToolchainService toolchainService = project.getExtensions().getByType(JavaToolchainService.class);
+		TaskProvider<CjfxJdkModulesTask> jdkModulesTask = project.getTasks()
+			.register(CjfxJdkModulesTask.TASK_NAME, CjfxJdkModulesTask.class, task -> {
+				task.getApplicationClasspath().from(javaExtension.getSourceSets()
+														.getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+														.getRuntimeClasspath()
+														.filter(CjfxConfigureRunTask.nonJavafxArtifacts(moduleIndexFile)));
+				task.getJavaLauncher().convention(toolchainService.launcherFor(javaExtension.getToolchain()));
+				task.getModulesFile().set(project.getLayout().getBuildDirectory().file("cjfx/jdk-modules.txt"));
+			});
+		project.getTasks().register(CjfxJlinkTask.TASK_NAME, CjfxJlinkTask.class, task -> {
+			task.getModuleNames().set(moduleNames);
+			task.getJdkModulesFile().set(jdkModulesTask.flatMap(CjfxJdkModulesTask::getModulesFile));
+			task.getModulePath().from(runtimeClasspath.filter(CjfxConfigureRunTask.javafxArtifacts(moduleIndexFile)));
+			task.getModuleIndexFile().set(moduleIndexFile);
+			task.getJavaLauncher().convention(toolchainService.launcherFor(javaExtension.getToolchain()));
+			task.getImageDirectory().set(project.getLayout().getBuildDirectory().dir("cjfx/image"));
+		});
+		
 		// The executable settings will only be applied if the project has the
 		// "ApplicationPlugin" plugin. Otherwise, such configuration is not necessary.
 		if (!project.getPlugins().hasPlugin(ApplicationPlugin.class)) return;
 		
-		// We get the execution task of the Java application. This task is used
-		// to configure the JavaFX classpath as well as its modules.
-		JavaExec javaRunTask = (JavaExec) project.getTasks()
-			.getByName(ApplicationPlugin.TASK_RUN_NAME);
+		// The arguments of the run profile never override the JVM arguments defined by the user
+		Provider<List<String>> profileArguments = configuration.runProfile
+			.zip(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+					 .map(CjfxPluginEntry::userJvmArguments),
+				 CjfxRunProfile::jvmArguments);
+		
+		// The native libraries are extracted once per platform, instead of every time the application starts.
+		// The copies of the JavaFX artifacts replace the original artifacts, so JavaFX finds the libraries.
+		TaskProvider<CjfxExtractNativesTask> extractNativesTask = project.getTasks()
+			.register(CjfxExtractNativesTask.TASK_NAME, CjfxExtractNativesTask.class, task -> {
+				task.getArtifacts().from(runtimeClasspath.filter(CjfxConfigureRunTask.javafxArtifacts(moduleIndexFile)));
+				task.getNativesDirectory().set(project.getLayout().getBuildDirectory().dir(project.provider(
+					() -> "cjfx/natives/" + PlatformProcessor.instance()
+						.resolveArtifactModifier(configuration.platform.get(), configuration.architecture.get()))));
+			});
 		
-		// We create the task that configures the modules and the JVM classpath for
+		FileCollection javafxModules = project.files(
+				extractNativesTask.flatMap(CjfxExtractNativesTask::getModulesDirectory))
+			.getAsFileTree()
+			.matching(pattern -> pattern.include("*.jar"));
+		
+		// We register the task that generates the modules and the JVM classpath for
 		// the application to work.
-		project.getTasks().create(CjfxConfigureRunTask.TASK_NAME, CjfxConfigureRunTask.class,
-								  project, configuration, javaRunTask);
+		TaskProvider<CjfxConfigureRunTask> configureRunTask = project.getTasks()
+			.register(CjfxConfigureRunTask.TASK_NAME, CjfxConfigureRunTask.class, task -> {
+				task.getModuleNames().set(moduleNames);
+				task.getRuntimeClasspath().from(javafxModules);
+				task.getModuleIndexFile().set(moduleIndexFile);
+				task.getProfileArguments().set(profileArguments);
+				task.getArgumentFile().set(project.getLayout().getBuildDirectory()
+											   .file("tmp/cjfx/run.args"));
+				task.getStatisticsService().set(statisticsService);
+				task.usesService(statisticsService);
+			});
+		statsTask.configure(task -> task.mustRunAfter(configureRunTask));
+		
+		// The execution task of the Java application is configured only when it is
+		// required, and it only receives providers, never the extension instance.
+		Provider<RegularFile> argumentFile = configureRunTask.flatMap(CjfxConfigureRunTask::getArgumentFile);
+		Provider<RegularFile> archiveFile = project.getLayout().getBuildDirectory()
+			.file("cjfx/cds/application.jsa");
+		FileCollection mainOutput = javaExtension.getSourceSets()
+			.getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+			.getOutput();
+		FileCollection applicationJar = project.files(project.getTasks()
+														  .named(JavaPlugin.JAR_TASK_NAME, Jar.class)
+														  .flatMap(Jar::getArchiveFile));
+		TaskProvider<JavaExec> runTask = project.getTasks()
+			.named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, run -> {
+				RunModuleOptions runModuleOptions = run.getExtensions()
+					.findByType(RunModuleOptions.class);
+				run.dependsOn(configureRunTask, extractNativesTask);
+				run.getJvmArgumentProviders()
+					.add(new CjfxExtractNativesTask.NativeLibraryProvider(
+						extractNativesTask.flatMap(CjfxExtractNativesTask::getNativesDirectory),
+						project.provider(() -> userLibraryPath(run))));
+				
+				// The module plugin already uses the module path, only the modules are attached and the
+				// JavaFX artifacts are replaced by their copies. The names are resolved when the task runs,
+				// because the task is created before the Cjfx block.
+				if (runModuleOptions != null) {
+					run.setClasspath(run.getClasspath()
+										 .filter(CjfxConfigureRunTask.nonJavafxArtifacts(moduleIndexFile))
+										 .plus(javafxModules));
+					run.getJvmArgumentProviders()
+						.add(new CjfxConfigureRunTask.AddModulesProvider(moduleNames));
+					run.getJvmArgumentProviders()
+						.add(new CjfxConfigureRunTask.ProfileArgumentProvider(profileArguments));
+					return;
+				}
+				
+				// The JavaFX artifacts are removed from the classpath and passed through the argument file.
+				// The CDS archives do not support classes loaded from directories, so the application runs
+				// (and the archive is trained) with the jar file instead of its classes and resources.
+				run.setClasspath(project.files(applicationJar, run.getClasspath()
+					.minus(mainOutput)
+					.filter(CjfxConfigureRunTask.nonJavafxArtifacts(moduleIndexFile))));
+				run.getJvmArgumentProviders()
+					.add(new CjfxConfigureRunTask.ArgumentFileProvider(argumentFile));
+				run.getJvmArgumentProviders()
+					.add(new CjfxCdsArchiveTask.SharedArchiveProvider(archiveFile, argumentFile,
+																	  run.getJavaLauncher()));
+			});
+		
+		// Training run of the application that generates the CDS archive. The command line of the
+		// execution task is read lazily, so the archive is trained with the final configuration of that task.
+		project.getTasks().register(CjfxCdsArchiveTask.TASK_NAME, CjfxCdsArchiveTask.class, task -> {
+			task.dependsOn(configureRunTask, extractNativesTask);
+			task.getMainClass().set(runTask.flatMap(JavaExec::getMainClass));
+			task.getJavaLauncher().set(runTask.flatMap(JavaExec::getJavaLauncher));
+			task.setClasspath(project.files(project.provider(() -> runTask.get().getClasspath())));
+			task.getJvmArguments().set(project.provider(() -> trainingJvmArguments(runTask.get())));
+			task.getArgumentProviders().add(new CjfxCdsArchiveTask.ApplicationArgumentProvider(
+				project.provider(() -> applicationArguments(runTask.get()))));
+			task.getArgumentFile().set(argumentFile);
+			task.getArchiveFile().set(archiveFile);
+			
+			// The module plugin generates the module path of the execution task by itself
+			Provider<Boolean> modularRun = runTask.map(
+				run -> run.getExtensions().findByType(RunModuleOptions.class) != null);
+			task.onlyIf("The execution task does not use the module plugin", spec -> !modularRun.get());
+		});
+	}
+	
+	/**
+	 * Gets the JVM arguments of the execution task used by the training run of the CDS archive. All the
+	 * arguments are included (user arguments, system properties and argument providers), except the
+	 * archive used by the execution task, because the training run generates a new archive.
+	 *
+	 * @param run The execution task
+	 * @return The JVM arguments of the training run
+	 */
+	private static @NotNull List<String> trainingJvmArguments(@NotNull JavaExec run) {
+		return run.getAllJvmArgs().stream()
+			.filter(argument -> !argument.startsWith(CjfxCdsArchiveTask.SHARED_ARCHIVE_OPTION))
+			.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Gets the application arguments of the execution task, including the arguments of its providers.
+	 *
+	 * @param run The execution task
+	 * @return The application arguments
+	 */
+	private static @NotNull List<String> applicationArguments(@NotNull JavaExec run) {
+		List<String> arguments = new ArrayList<>();
+		List<String> args = run.getArgs();
+		if (args != null) arguments.addAll(args);
+		run.getArgumentProviders()
+			.forEach(provider -> provider.asArguments().forEach(arguments::add));
+		return arguments;
+	}
+	
+	/**
+	 * Gets the library path ({@code java.library.path} property) defined by the user in the execution task,
+	 * with the {@code systemProperty} method or as a JVM argument.
+	 *
+	 * @param run The execution task
+	 * @return The user library path or {@code null} if the property is not defined
+	 */
+	private static @Nullable String userLibraryPath(@NotNull JavaExec run) {
+		Object property = run.getSystemProperties().get(LIBRARY_PATH_PROPERTY);
+		if (property != null) return property.toString();
+		
+		String prefix = "-D" + LIBRARY_PATH_PROPERTY + "=";
+		List<String> jvmArgs = run.getJvmArgs();
+		if (jvmArgs == null) return null;
+		
+		// The last definition has priority, just like in the JVM
+		String libraryPath = null;
+		for (String argument : jvmArgs) {
+			if (argument.startsWith(prefix)) libraryPath = argument.substring(prefix.length());
+		}
+		return libraryPath;
+	}
+	
+	/**
+	 * Gets the JVM arguments defined by the user in the execution task, including the
+	 * system properties defined with the {@code systemProperty} method.
+	 *
+	 * @param run The execution task
+	 * @return The user JVM arguments
+	 */
+	private static @NotNull List<String> userJvmArguments(@NotNull JavaExec run) {
+		List<String> arguments = new ArrayList<>();
+		List<String> jvmArgs = run.getJvmArgs();
+		if (jvmArgs != null) arguments.addAll(jvmArgs);
+		run.getSystemProperties().keySet()
+			.forEach(name -> arguments.add("-D" + name));
+		return arguments;
 	}
 	
 	/**
 	 * Open the gradle configuration files and add them to the {@link ExtraPropertiesExtension}
 	 * extension of the project.
+	 * <p>
+	 * The files are searched in the root project directory, the project directory (and its direct
+	 * subdirectories, except the child projects and the build outputs) and the Gradle user home.
+	 * The files are applied in that order, so the Gradle user home has the highest priority, just like
+	 * the {@code gradle.properties} files.
 	 *
 	 * @param project The target project
 	 */
 	private void loadCjfxGradleConfigurations(@NotNull Project project) {
-		try {
-			// Extract all properties files
-			Path projectDirectory = project.getProjectDir()
-				.toPath();
-			ExtraPropertiesExtension projectExtras = project.getExtensions()
-				.getExtraProperties();
-			List<Path> cjfxConfigurationFiles = UResource.resourceWalk(
-					projectDirectory, false,
-					Files::isRegularFile,
-					UResource.extensionsPathOf(false, "properties"),
-					(resource) -> UResource.basename(resource).equalsIgnoreCase("cjfx"))
-				.collect(Collectors.toList());
-			
-			// Load project configurations
-			for (Path propertyFile : cjfxConfigurationFiles) {
-				try (InputStream stream = Files.newInputStream(propertyFile)) {
-					Properties result = new Properties();
-					result.load(stream);
-					
-					// Attach property content
-					result.forEach((key, value) -> projectExtras.set((String) key, value));
-				} catch (Exception ignore) {
-				}
-			}
-		} catch (Exception ignore) {
+		ConfigurationFileService fileService = ConfigurationFileService.register(project).get();
+		ExtraPropertiesExtension projectExtras = project.getExtensions()
+			.getExtraProperties();
+		Set<Path> excludedDirectories = project.getChildProjects().values().stream()
+			.map(child -> child.getProjectDir().toPath().toAbsolutePath().normalize())
+			.collect(Collectors.toCollection(HashSet::new));
+		excludedDirectories.add(project.getLayout().getBuildDirectory()
+									.get().getAsFile().toPath().toAbsolutePath().normalize());
+		
+		// Search the configuration files in the well-defined locations
+		Set<Path> cjfxConfigurationFiles = new LinkedHashSet<>();
+		cjfxConfigurationFiles.addAll(fileService.findConfigurationFiles(
+			project.getRootDir().toPath(), 1, Set.of()));
+		cjfxConfigurationFiles.addAll(fileService.findConfigurationFiles(
+			project.getProjectDir().toPath(), PROJECT_SEARCH_DEPTH, excludedDirectories));
+		cjfxConfigurationFiles.addAll(fileService.findConfigurationFiles(
+			project.getGradle().getGradleUserHomeDir().toPath(), 1, Set.of()));
+		
+		// Load project configurations
+		for (Path propertyFile : cjfxConfigurationFiles) {
+			fileService.loadConfigurationFile(propertyFile)
+				.forEach(projectExtras::set);
 		}
 	}
 	
-	
 }
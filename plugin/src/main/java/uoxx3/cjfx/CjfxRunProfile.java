@@ -0,0 +1,139 @@
+package uoxx3.cjfx;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Listed with the rendering profiles used to run the JavaFX applications.
+ * <p>
+ * Every profile contains the JavaFX system properties (rendering pipeline, synchronization and animation
+ * pulse) and the JVM options of a common execution environment, so the projects do not have to maintain
+ * the same arguments by hand. The arguments defined by the user always have priority over the arguments
+ * of the profile (see {@link #jvmArguments(Collection)}).
+ */
+public enum CjfxRunProfile {
+	/**
+	 * The application runs with the JavaFX defaults (hardware pipeline when it is available)
+	 */
+	DEFAULT,
+	/**
+	 * Software rendering pipeline, for machines without a compatible GPU (virtual machines,
+	 * remote desktops, etc.)
+	 */
+	SOFTWARE("-Dprism.order=sw",
+			 "-Dprism.vsync=false"),
+	/**
+	 * Headless execution with the Monocle glass platform, for continuous integration servers and UI tests.
+	 * The Monocle implementation must be part of the runtime classpath. The serial garbage collector keeps
+	 * the memory and the threads of every JVM to a minimum, because the servers usually run many test JVMs
+	 * in parallel with small heaps.
+	 */
+	HEADLESS("-Dglass.platform=Monocle",
+			 "-Dmonocle.platform=Headless",
+			 "-Dprism.order=sw",
+			 "-Djava.awt.headless=true",
+			 "-XX:+UseSerialGC"),
+	/**
+	 * Maximum number of frames, for benchmarks and animation heavy applications. The pulses are not limited
+	 * by the screen refresh rate and the GPU can use more memory for textures.
+	 */
+	THROUGHPUT("-Dprism.vsync=false",
+			   "-Djavafx.animation.fullspeed=true",
+			   "-Dprism.maxvram=1g",
+			   "-XX:+UseParallelGC");
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The JVM arguments of the profile in the order in which they are passed.
+	 */
+	private final List<String> arguments;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Constructor for enumerated type for the run profiles
+	 *
+	 * @param profileArguments JVM arguments of the profile. It can be empty if necessary.
+	 */
+	CjfxRunProfile(String @NotNull ... profileArguments) {
+		arguments = List.of(profileArguments);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets all the JVM arguments of the profile.
+	 *
+	 * @return The profile arguments in the order in which they are passed
+	 */
+	public @NotNull @Unmodifiable List<String> jvmArguments() {
+		return arguments;
+	}
+	
+	/**
+	 * Gets the JVM arguments of the profile that are not defined by the user. A system property is
+	 * overridden when the user defines the same property (with any value), an option ({@code -XX:})
+	 * when the user defines the same option (enabled or disabled), and the garbage collector when the
+	 * user selects any garbage collector.
+	 *
+	 * @param userArguments The JVM arguments defined by the user
+	 * @return The profile arguments that must be passed to the JVM
+	 */
+	public @NotNull @Unmodifiable List<String> jvmArguments(@NotNull Collection<String> userArguments) {
+		Set<String> userKeys = userArguments.stream()
+			.map(CjfxRunProfile::argumentKey)
+			.collect(Collectors.toSet());
+		
+		return arguments.stream()
+			.filter(argument -> !userKeys.contains(argumentKey(argument)))
+			.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the key used to detect the arguments that configure the same JVM setting.
+	 *
+	 * @param argument The JVM argument
+	 * @return The argument key
+	 */
+	private static @NotNull String argumentKey(@NotNull String argument) {
+		String value = argument.trim();
+		
+		// System properties: "-Dname=value" or "-Dname"
+		if (value.startsWith("-D")) {
+			int separator = value.indexOf('=');
+			return separator < 0 ? value : value.substring(0, separator);
+		}
+		
+		// Advanced options: "-XX:+Name", "-XX:-Name" or "-XX:Name=value"
+		if (value.startsWith("-XX:")) {
+			String option = value.substring(4);
+			if (option.startsWith("+") || option.startsWith("-")) option = option.substring(1);
+			int separator = option.indexOf('=');
+			if (separator >= 0) option = option.substring(0, separator);
+			
+			// Only one garbage collector can be selected
+			String lowerOption = option.toLowerCase(Locale.ROOT);
+			if (lowerOption.startsWith("use") && lowerOption.endsWith("gc")) return "-XX:UseGC";
+			return "-XX:" + option;
+		}
+		return value;
+	}
+	
+}
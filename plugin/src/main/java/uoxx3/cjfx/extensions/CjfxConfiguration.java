@@ -1,34 +1,33 @@
 package uoxx3.cjfx.extensions;
 
-import javafx.beans.property.ObjectPropertyBase;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.value.ObservableValue;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableSet;
-import javafx.collections.SetChangeListener;
 import org.gradle.api.Project;
+import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
-import org.jetbrains.annotations.Contract;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
 import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.CjfxLockMode;
 import uoxx3.cjfx.CjfxModule;
+import uoxx3.cjfx.CjfxRunProfile;
 import uoxx3.cjfx.internal.process.DependencyProcessor;
 import uoxx3.cjfx.utilities.BaseProjectReference;
 import ushiosan.jvm.collections.UList;
-import ushiosan.jvm.collections.USet;
 import ushiosan.jvm.platform.UArchitecture;
 import ushiosan.jvm.platform.UPlatform;
 
 import javax.inject.Inject;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Plugin configuration class. This acts as an extension and Gradle block to configure the plugin configurations in general.
  * <p>
- * It was decided to use the properties with observers, because the plugin has to track JavaFX dependencies, in this way
- * there is continuous monitoring of changes and not only in the compilation stage. This is also done this way in the
- * official JavaFX plugin, although with a completely different approach.
+ * All the settings are Gradle lazy properties ({@link Property} and {@link SetProperty}), so they can be
+ * changed at any moment of the configuration phase. The changes are detected by comparing the current values
+ * with the values of the last update, and all of them are applied at once when the dependencies of a target
+ * configuration are used (see {@link #applyChanges()}).
  */
 public class CjfxConfiguration extends BaseProjectReference {
 	
@@ -41,64 +40,65 @@ public class CjfxConfiguration extends BaseProjectReference {
 	 */
 	public static final String EXTENSION_NAME = "Cjfx";
 	
+	/**
+	 * Default JavaFX version when no version is defined
+	 */
+	public static final String DEFAULT_VERSION = "#latest#";
+	
 	/* -----------------------------------------------------
 	 * Properties
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Observable property that monitors the required version of JavaFX
+	 * Property with the required version of JavaFX. If the version is not defined (or is set
+	 * to {@code null}), the {@link #DEFAULT_VERSION} is used.
 	 */
-	public final ObjectPropertyBase<String> version;
+	public final Property<String> version;
 	
 	/**
-	 * Observable property that monitors the target JavaFX platform
+	 * Property with the target JavaFX platform. If the platform is not defined (or is set
+	 * to {@code null}), the {@link UPlatform#runningPlatform()} is used.
 	 */
-	public final ObjectPropertyBase<UPlatform> platform;
+	public final Property<UPlatform> platform;
 	
 	/**
-	 * Observable property that monitors the target JavaFX architecture
+	 * Property with the target JavaFX architecture. If the architecture is not defined (or is set
+	 * to {@code null}), the {@link UArchitecture#platformRunningArch()} is used.
 	 */
-	public final ObjectPropertyBase<UArchitecture> architecture;
+	public final Property<UArchitecture> architecture;
 	
 	/**
-	 * Observable property that monitors JavaFX modules
+	 * Property with the JavaFX modules
 	 */
-	public final ObservableSet<CjfxModule> modules;
+	public final SetProperty<CjfxModule> modules;
 	
 	/**
-	 * Observable property that monitors the build configurations where
-	 * JavaFX will be integrated
+	 * Property with the build configurations where JavaFX will be integrated
 	 */
-	public final ObservableSet<String> dependencyConfigurations;
+	public final SetProperty<String> dependencyConfigurations;
 	
 	/**
-	 * Helper object used to resolve project dependencies
+	 * Property that determines how the version lock file is used. By default, the locked
+	 * versions are used when they exist ({@link CjfxLockMode#LENIENT}).
 	 */
-	private final DependencyProcessor processor;
+	public final Property<CjfxLockMode> lockMode;
 	
 	/**
-	 * Special property used to obtain an observable property but with a default value.
-	 * <p>
-	 * In particular, this property determines the version of JavaFX and if it is defined as
-	 * {@code null}, it will return a default value, in this case {@code #latest#}
+	 * Property with the rendering profile used to run the application. By default, the application
+	 * runs with the JavaFX defaults ({@link CjfxRunProfile#DEFAULT}).
 	 */
-	private final ObservableValue<String> observableVersion;
+	public final Property<CjfxRunProfile> runProfile;
 	
 	/**
-	 * Special property used to obtain an observable property but with a default value.
-	 * <p>
-	 * In particular, this property determines the platform of JavaFX and if it is defined as
-	 * {@code null}, it will return a default value, in this case {@link UPlatform#runningPlatform()}
+	 * Helper object used to resolve project dependencies
 	 */
-	private final ObservableValue<UPlatform> observablePlatform;
+	private final DependencyProcessor processor;
 	
 	/**
-	 * Special property used to obtain an observable property but with a default value.
-	 * <p>
-	 * In particular, this property determines the architecture of JavaFX and if it is defined as
-	 * {@code null}, it will return a default value, in this case {@link UArchitecture#platformRunningArch()}
+	 * Values of the configuration used by the last update of the project dependencies, or {@code null}
+	 * if the dependencies were never updated. See {@link #applyChanges()}.
 	 */
-	private final ObservableValue<UArchitecture> observableArchitecture;
+	private List<Object> appliedState;
 	
 	/* -----------------------------------------------------
 	 * Constructors
@@ -113,58 +113,32 @@ public class CjfxConfiguration extends BaseProjectReference {
 	@Inject
 	public CjfxConfiguration(@NotNull Project project, @NotNull DependencyProcessor dependencyProcessor) {
 		super(project);
+		ObjectFactory objects = project.getObjects();
 		// Initialize properties
 		processor = dependencyProcessor;
+		appliedState = null;
 		
-		version = makeProperty("version");
-		observableVersion = makeObservable(version, "#latest#");
+		version = objects.property(String.class)
+			.convention(DEFAULT_VERSION);
+		platform = objects.property(UPlatform.class)
+			.convention(UPlatform.runningPlatform());
+		architecture = objects.property(UArchitecture.class)
+			.convention(UArchitecture.platformRunningArch());
 		
-		platform = makeProperty("platform");
-		observablePlatform = makeObservable(platform, UPlatform.runningPlatform());
+		// The collections have an explicit value, so the DSL can add elements to them
+		modules = objects.setProperty(CjfxModule.class);
+		modules.set(Set.of(CjfxModule.BASE));
+		dependencyConfigurations = objects.setProperty(String.class);
+		dependencyConfigurations.set(List.of("implementation", "testImplementation"));
+		lockMode = objects.property(CjfxLockMode.class)
+			.convention(CjfxLockMode.LENIENT);
+		runProfile = objects.property(CjfxRunProfile.class)
+			.convention(CjfxRunProfile.DEFAULT);
 		
-		architecture = makeProperty("architecture");
-		observableArchitecture = makeObservable(architecture, UArchitecture.platformRunningArch());
-		
-		dependencyConfigurations = FXCollections.observableSet("implementation", "testImplementation");
-		modules = FXCollections.observableSet(CjfxModule.BASE);
-		
-		// Update project initial dependencies
+		// The dependencies are contributed lazily, so the changes are only applied
+		// when a target configuration is used.
 		initializeGradleProperties();
-		dependencyProcessor.updateDependencies(this);
-		
-		// Listen all changes
-		USet.make(observableArchitecture, observableVersion, observablePlatform)
-			.forEach(observable -> observable.addListener(this::onCommonPropertyChanged));
-		USet.make(modules, dependencyConfigurations)
-			.forEach(observable -> observable.addListener(this::onCommonSetPropertyChanged));
-	}
-	
-	/* -----------------------------------------------------
-	 * Events
-	 * ----------------------------------------------------- */
-	
-	/**
-	 * Event method used when a simple property has made a change to its content. It is not necessary to determine
-	 * a specific type since the dependencies must be changed for any change made, no matter how small.
-	 *
-	 * @param observable The object where the change was made
-	 * @param oldValue   The old value of the object
-	 * @param newValue   The new value of the object
-	 */
-	@SuppressWarnings("unused")
-	private void onCommonPropertyChanged(@NotNull ObservableValue<?> observable, Object oldValue, Object newValue) {
-		processor.updateDependencies(this);
-	}
-	
-	/**
-	 * Event method used when a collection property has made a change to its content. It is not necessary to determine
-	 * a specific type since the dependencies must be changed for any change made, no matter how small.
-	 *
-	 * @param change Event with changes made to the collection
-	 */
-	@SuppressWarnings("unused")
-	private void onCommonSetPropertyChanged(SetChangeListener.@NotNull Change<?> change) {
-		processor.updateDependencies(this);
+		dependencyProcessor.registerDependencies(this);
 	}
 	
 	/* -----------------------------------------------------
@@ -172,30 +146,20 @@ public class CjfxConfiguration extends BaseProjectReference {
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Gets the read-only property for JavaFX version tracking
-	 *
-	 * @return The version observable property
-	 */
-	public ObservableValue<String> observableVersion() {
-		return observableVersion;
-	}
-	
-	/**
-	 * Gets the read-only property for JavaFX platform tracking
-	 *
-	 * @return The platform observable property
-	 */
-	public ObservableValue<UPlatform> observablePlatform() {
-		return observablePlatform;
-	}
-	
-	/**
-	 * Gets the read-only property for JavaFX architecture tracking
-	 *
-	 * @return The architecture observable property
+	 * Applies all the pending changes to the project dependencies. Several changes made in the DSL block
+	 * only produce a single update, and if the configuration did not change since the last update
+	 * this method does nothing.
+	 * <p>
+	 * The method is called automatically when the dependencies of a target configuration are used,
+	 * so it is normally not necessary to call it manually.
 	 */
-	public ObservableValue<UArchitecture> observableArchitecture() {
-		return observableArchitecture;
+	public synchronized void applyChanges() {
+		List<Object> currentState = currentState();
+		if (currentState.equals(appliedState)) return;
+		
+		// If the update fails, the changes are still pending, so the next attempt reports the error again
+		processor.updateDependencies(this);
+		appliedState = currentState;
 	}
 	
 	/* -----------------------------------------------------
@@ -233,45 +197,37 @@ public class CjfxConfiguration extends BaseProjectReference {
 				.map(property -> property.trim().toUpperCase())
 				.map(CjfxModule::valueOf)
 				.collect(Collectors.toList()))
-			.ifPresent(mods -> {
-				modules.clear();
-				modules.addAll(mods);
-			});
+			.ifPresent(modules::set);
 		
 		// Update the JavaFX dependencyConfigurations by configuring the project with the gradle.properties file
 		getProjectExtraAsList(extras, "dependencyConfigurations")
-			.ifPresent(list -> {
-				dependencyConfigurations.clear();
-				dependencyConfigurations.addAll(list);
-			});
-	}
-	
-	/**
-	 * Create a simple observable property with a default {@code null} value
-	 *
-	 * @param name The property name
-	 * @param <T>  The type of data that the property will have
-	 * @return An observable and mutable property with a {@code null} initial value
-	 */
-	@Contract(pure = true)
-	private <T> @NotNull ObjectPropertyBase<T> makeProperty(@NotNull String name) {
-		return new SimpleObjectProperty<>(this, name, null);
+			.ifPresent(dependencyConfigurations::set);
+		
+		// Update the lock mode by configuring the project with the gradle.properties file
+		getProjectExtra(extras, "lockMode")
+			.map(property -> property.trim().toUpperCase())
+			.map(CjfxLockMode::valueOf)
+			.ifPresent(lockMode::set);
+		
+		// Update the run profile by configuring the project with the gradle.properties file
+		getProjectExtra(extras, "runProfile")
+			.map(property -> property.trim().toUpperCase())
+			.map(CjfxRunProfile::valueOf)
+			.ifPresent(runProfile::set);
 	}
 	
 	/**
-	 * From a mutable property, creates a new instance of observable value
-	 * but with a default value when the original property is set to {@code null}.
+	 * Gets the values of all the settings that affect the project dependencies.
 	 *
-	 * @param property The mutable observable property
-	 * @param initial  The initial value of the property and the default value if set to {@code null}
-	 * @param <T>      The type of data that the property will have
-	 * @return An immutable property that is actually a proxy for the main property, but when this is set to
-	 *    {@code null}, this property returns the default value (convention).
+	 * @return The current values of the configuration
 	 */
-	private <T> @NotNull ObservableValue<T> makeObservable(@NotNull ObjectPropertyBase<T> property,
-		@NotNull T initial) {
-		property.setValue(initial);
-		return property.orElse(initial);
+	private @NotNull List<Object> currentState() {
+		return List.of(version.get(),
+					   platform.get(),
+					   architecture.get(),
+					   List.copyOf(modules.get()),
+					   List.copyOf(dependencyConfigurations.get()),
+					   lockMode.get());
 	}
 	
 	/**
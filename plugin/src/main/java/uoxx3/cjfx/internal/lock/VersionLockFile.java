@@ -0,0 +1,173 @@
+package uoxx3.cjfx.internal.lock;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Content of the version lock file.
+ * <p>
+ * Every line of the file contains the concrete version of an artifact for a version specification,
+ * with the format {@code group:artifact:classifier:specification=version}. The classifier can be empty and the
+ * specification is the last element of the key, so it can contain any character except the line breaks.
+ * The lines that start with {@code #} are comments.
+ */
+public final class VersionLockFile {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the lock file inside the project directory
+	 */
+	public static final String FILE_NAME = "cjfx.lockfile";
+	
+	/**
+	 * Header written at the beginning of the lock file
+	 */
+	private static final String HEADER =
+		"# This is a cjfx version lock file. It is generated by the cjfxLock task.\n" +
+		"# Run the cjfxLock task again to refresh the locked versions.\n";
+	
+	/**
+	 * Empty lock file
+	 */
+	private static final VersionLockFile EMPTY = new VersionLockFile(Map.of());
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * All the locked versions indexed by the entry key
+	 */
+	private final Map<String, String> entries;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor
+	 *
+	 * @param lockEntries All the locked versions indexed by the entry key
+	 */
+	private VersionLockFile(@NotNull Map<String, String> lockEntries) {
+		entries = Map.copyOf(lockEntries);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets an empty lock file
+	 *
+	 * @return The empty lock file
+	 */
+	public static @NotNull VersionLockFile empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Parses the content of a lock file. Invalid lines are ignored.
+	 *
+	 * @param content The content of the file or {@code null} if the file does not exist
+	 * @return The lock file
+	 */
+	public static @NotNull VersionLockFile parse(@Nullable String content) {
+		if (content == null || content.isBlank()) return EMPTY;
+		
+		Map<String, String> entries = new TreeMap<>();
+		for (String line : content.split("\\R")) {
+			String entry = line.trim();
+			int separator = entry.lastIndexOf('=');
+			if (entry.isEmpty() || entry.startsWith("#") || separator <= 0) continue;
+			
+			String version = entry.substring(separator + 1).trim();
+			if (!version.isEmpty()) entries.put(entry.substring(0, separator).trim(), version);
+		}
+		return new VersionLockFile(entries);
+	}
+	
+	/**
+	 * Search for the locked version of an artifact
+	 *
+	 * @param group         The group that is in charge of providing the artifact
+	 * @param artifact      The name of the artifact
+	 * @param classifier    The artifact classifier or empty text if the artifact has no classifier
+	 * @param specification The version specification (special case)
+	 * @return The locked version or {@link Optional#empty()} if the artifact is not locked
+	 */
+	public @NotNull Optional<String> find(@NotNull String group, @NotNull String artifact,
+		@NotNull String classifier, @NotNull String specification) {
+		return Optional.ofNullable(entries.get(entryKey(group, artifact, classifier, specification)));
+	}
+	
+	/**
+	 * Creates a new lock file with an additional locked version. If the artifact
+	 * was already locked, the version is replaced.
+	 *
+	 * @param group         The group that is in charge of providing the artifact
+	 * @param artifact      The name of the artifact
+	 * @param classifier    The artifact classifier or empty text if the artifact has no classifier
+	 * @param specification The version specification (special case)
+	 * @param version       The concrete version of the artifact
+	 * @return The new lock file
+	 */
+	public @NotNull VersionLockFile with(@NotNull String group, @NotNull String artifact,
+		@NotNull String classifier, @NotNull String specification, @NotNull String version) {
+		Map<String, String> result = new TreeMap<>(entries);
+		result.put(entryKey(group, artifact, classifier, specification), version.trim());
+		return new VersionLockFile(result);
+	}
+	
+	/**
+	 * Gets all the locked versions
+	 *
+	 * @return All the locked versions indexed by the entry key
+	 */
+	public @NotNull @Unmodifiable Map<String, String> entries() {
+		return entries;
+	}
+	
+	/**
+	 * Generates the content of the lock file. The entries are sorted, so the file
+	 * only changes when a locked version changes.
+	 *
+	 * @return The content of the lock file
+	 */
+	public @NotNull String format() {
+		StringBuilder builder = new StringBuilder(HEADER);
+		new TreeMap<>(entries).forEach((key, version) -> builder
+			.append(key)
+			.append('=')
+			.append(version)
+			.append('\n'));
+		return builder.toString();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Generates the key of an entry
+	 *
+	 * @param group         The group that is in charge of providing the artifact
+	 * @param artifact      The name of the artifact
+	 * @param classifier    The artifact classifier or empty text if the artifact has no classifier
+	 * @param specification The version specification (special case)
+	 * @return The entry key
+	 */
+	private static @NotNull String entryKey(@NotNull String group, @NotNull String artifact,
+		@NotNull String classifier, @NotNull String specification) {
+		return String.join(":", group.trim(), artifact.trim(), classifier.trim(), specification.trim());
+	}
+	
+}
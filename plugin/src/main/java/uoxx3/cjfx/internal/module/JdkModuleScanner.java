@@ -0,0 +1,184 @@
+package uoxx3.cjfx.internal.module;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleDescriptor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+/**
+ * Utility class that detects the JDK modules required by an application.
+ * <p>
+ * Modular applications declare the modules that they need inside their module descriptors
+ * ({@code requires} directives), so the descriptors of the application classpath are read directly.
+ * The rest of the applications are analyzed with the {@code jdeps} tool of the JDK
+ * ({@code --print-module-deps}), whose arguments and output are handled by this class.
+ */
+public final class JdkModuleScanner {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Location of the module descriptor inside the artifacts
+	 */
+	private static final String MODULE_DESCRIPTOR = "module-info.class";
+	
+	/**
+	 * Prefixes of the modules provided by the JDK
+	 */
+	private static final List<String> JDK_MODULE_PREFIXES = List.of("java.", "jdk.");
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * This class cannot be instantiated
+	 */
+	private JdkModuleScanner() {
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Reads the JDK modules declared by the module descriptors of the application classpath. The application
+	 * is modular when one of its class directories has a module descriptor; the descriptors of the modular
+	 * artifacts are read too, because their JDK modules must also be part of the image. The optional
+	 * dependencies ({@code requires static}) are only needed at compile time, so they are ignored.
+	 *
+	 * @param applicationFiles The application classpath (class directories and jar files)
+	 * @return The declared JDK modules or {@link Optional#empty()} if the application is not modular
+	 */
+	public static @NotNull Optional<Set<String>> declaredJdkModules(@NotNull Collection<File> applicationFiles) {
+		boolean modularApplication = applicationFiles.stream()
+			.filter(File::isDirectory)
+			.anyMatch(file -> readDescriptor(file).isPresent());
+		if (!modularApplication) return Optional.empty();
+		
+		return Optional.of(applicationFiles.stream()
+							   .map(JdkModuleScanner::readDescriptor)
+							   .flatMap(Optional::stream)
+							   .flatMap(descriptor -> descriptor.requires().stream())
+							   .filter(requires -> !requires.modifiers().contains(ModuleDescriptor.Requires.Modifier.STATIC))
+							   .map(ModuleDescriptor.Requires::name)
+							   .filter(JdkModuleScanner::isJdkModule)
+							   .collect(Collectors.toCollection(TreeSet::new)));
+	}
+	
+	/**
+	 * Gets the classpath elements without module descriptor. Their JDK modules are unknown,
+	 * so they must be analyzed with the {@code jdeps} tool.
+	 *
+	 * @param applicationFiles The application classpath (class directories and jar files)
+	 * @return The classpath elements that are not named modules
+	 */
+	public static @NotNull List<File> undeclaredFiles(@NotNull Collection<File> applicationFiles) {
+		return applicationFiles.stream()
+			.filter(file -> readDescriptor(file).isEmpty())
+			.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Generates the arguments of the {@code jdeps} tool that print the JDK modules used by the application.
+	 * The missing classes (for example the JavaFX classes) are ignored, because they are not JDK classes.
+	 *
+	 * @param applicationFiles The application classpath (class directories and jar files)
+	 * @param javaVersion      The Java version used to read the multi-release jars
+	 * @return The tool arguments
+	 */
+	public static @NotNull List<String> jdepsArguments(@NotNull Collection<File> applicationFiles, int javaVersion) {
+		List<String> paths = applicationFiles.stream()
+			.map(File::getAbsolutePath)
+			.collect(Collectors.toList());
+		
+		List<String> arguments = new ArrayList<>();
+		arguments.add("--print-module-deps");
+		arguments.add("--ignore-missing-deps");
+		arguments.add("--multi-release");
+		arguments.add(String.valueOf(javaVersion));
+		arguments.add("--class-path");
+		arguments.add(String.join(File.pathSeparator, paths));
+		arguments.addAll(paths);
+		return arguments;
+	}
+	
+	/**
+	 * Reads the modules printed by the {@code jdeps} tool ({@code --print-module-deps} option).
+	 *
+	 * @param output The output of the tool
+	 * @return The JDK modules used by the application
+	 */
+	public static @NotNull Set<String> parseModuleDeps(@NotNull String output) {
+		return Arrays.stream(output.split("[,\\s]+"))
+			.map(String::trim)
+			.filter(JdkModuleScanner::isJdkModule)
+			.collect(Collectors.toCollection(TreeSet::new));
+	}
+	
+	/**
+	 * Checks if a module is provided by the JDK
+	 *
+	 * @param moduleName The module name
+	 * @return {@code true} if the module is a JDK module or {@code false} otherwise
+	 */
+	public static boolean isJdkModule(@NotNull String moduleName) {
+		return JDK_MODULE_PREFIXES.stream()
+			.anyMatch(moduleName::startsWith);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Reads the module descriptor of a classpath element. Multi-release jars use the descriptor
+	 * of the current Java version.
+	 *
+	 * @param file The classpath element (jar file or directory)
+	 * @return The module descriptor or {@link Optional#empty()} if the element is not a named module
+	 */
+	private static @NotNull Optional<ModuleDescriptor> readDescriptor(@NotNull File file) {
+		try {
+			if (file.isDirectory()) {
+				Path descriptor = file.toPath().resolve(MODULE_DESCRIPTOR);
+				if (!Files.isRegularFile(descriptor)) return Optional.empty();
+				
+				try (InputStream stream = Files.newInputStream(descriptor)) {
+					return Optional.of(ModuleDescriptor.read(stream));
+				}
+			}
+			if (!file.isFile()) return Optional.empty();
+			
+			try (JarFile jarFile = new JarFile(file, false, ZipFile.OPEN_READ, Runtime.version())) {
+				JarEntry descriptor = jarFile.getJarEntry(MODULE_DESCRIPTOR);
+				if (descriptor == null) return Optional.empty();
+				
+				try (InputStream stream = jarFile.getInputStream(descriptor)) {
+					return Optional.of(ModuleDescriptor.read(stream));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
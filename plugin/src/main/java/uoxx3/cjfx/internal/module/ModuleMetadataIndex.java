@@ -0,0 +1,359 @@
+package uoxx3.cjfx.internal.module;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.module.InvalidModuleDescriptorException;
+import java.lang.module.ModuleDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipFile;
+
+/**
+ * Persistent index with the Java module name of every classpath element.
+ * <p>
+ * The module name is read from the module descriptor ({@code module-info.class}, including the versioned
+ * descriptors of multi-release jars) or from the {@code Automatic-Module-Name} attribute of the manifest.
+ * The file name is never used, so the JavaFX artifacts are detected by their modules ({@code javafx.*})
+ * and not by their names. Every entry is indexed by the absolute path of the file and validated with its
+ * size and modification time, so a jar is only opened the first time it is seen.
+ */
+public final class ModuleMetadataIndex {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the index file inside the cache directory
+	 */
+	public static final String FILE_NAME = "module-index.json";
+	
+	/**
+	 * Prefix of all the JavaFX modules
+	 */
+	public static final String JAVAFX_MODULE_PREFIX = "javafx.";
+	
+	/**
+	 * Location of the module descriptor inside the artifacts
+	 */
+	private static final String MODULE_DESCRIPTOR = "module-info.class";
+	
+	/**
+	 * Manifest attribute with the name of the automatic modules
+	 */
+	private static final Attributes.Name AUTOMATIC_MODULE_NAME = new Attributes.Name("Automatic-Module-Name");
+	
+	/**
+	 * All the indexes of the process indexed by location
+	 */
+	private static final Map<Path, ModuleMetadataIndex> INSTANCES = new ConcurrentHashMap<>();
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Location of the index file
+	 */
+	private final Path indexFile;
+	
+	/**
+	 * All the entries of the index indexed by the absolute path of the file
+	 */
+	private final Map<String, IndexEntry> entries;
+	
+	/**
+	 * Determines if the index has entries that are not saved
+	 */
+	private volatile boolean modified;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Constructor with the location of the index file. The entries already saved
+	 * are loaded immediately.
+	 *
+	 * @param location Location of the index file
+	 */
+	ModuleMetadataIndex(@NotNull Path location) {
+		indexFile = location.toAbsolutePath();
+		entries = new ConcurrentHashMap<>();
+		loadEntries();
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the index shared by all the builds of the process for a location.
+	 *
+	 * @param location Location of the index file
+	 * @return The shared index
+	 */
+	public static @NotNull ModuleMetadataIndex shared(@NotNull File location) {
+		return INSTANCES.computeIfAbsent(location.toPath().toAbsolutePath(), ModuleMetadataIndex::new);
+	}
+	
+	/**
+	 * Gets the module name of a classpath element.
+	 *
+	 * @param file The classpath element (jar file or directory)
+	 * @return The module name or {@link Optional#empty()} if the element is not a named or automatic module
+	 */
+	public @NotNull Optional<String> moduleName(@NotNull File file) {
+		Path path = file.toPath().toAbsolutePath();
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (IOException e) {
+			return Optional.empty();
+		}
+		
+		// Directories change without changing their modification time, so they are never indexed
+		if (attributes.isDirectory()) return readDirectoryModuleName(path);
+		
+		String key = path.toString();
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		IndexEntry entry = entries.get(key);
+		if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+			entry = readJarEntry(path, size, lastModified);
+			entries.put(key, entry);
+			modified = true;
+		}
+		return entry.moduleName.isEmpty() ? Optional.empty() : Optional.of(entry.moduleName);
+	}
+	
+	/**
+	 * Checks if a classpath element is an automatic module (a module without descriptor that
+	 * defines its name in the manifest). The automatic modules cannot be used by {@code jlink}.
+	 *
+	 * @param file The classpath element (jar file or directory)
+	 * @return {@code true} if the element is an automatic module or {@code false} otherwise
+	 */
+	public boolean isAutomaticModule(@NotNull File file) {
+		if (moduleName(file).isEmpty() || file.isDirectory()) return false;
+		
+		IndexEntry entry = entries.get(file.toPath().toAbsolutePath().toString());
+		return entry != null && entry.automatic;
+	}
+	
+	/**
+	 * Checks if a classpath element is a JavaFX module.
+	 *
+	 * @param file The classpath element (jar file or directory)
+	 * @return {@code true} if the element contains a JavaFX module or {@code false} otherwise
+	 */
+	public boolean isJavafxModule(@NotNull File file) {
+		return moduleName(file)
+			.map(name -> name.startsWith(JAVAFX_MODULE_PREFIX))
+			.orElse(false);
+	}
+	
+	/**
+	 * Saves the index if it has new entries. The entries of the files that no longer exist are removed.
+	 * The file is replaced atomically, so concurrent builds never read an incomplete index.
+	 */
+	public synchronized void save() {
+		if (!modified) return;
+		modified = false;
+		
+		JsonObject content = new JsonObject();
+		entries.entrySet().removeIf(entry -> !Files.isRegularFile(Path.of(entry.getKey())));
+		entries.forEach((key, entry) -> content.add(key, entry.toJson()));
+		
+		try {
+			Files.createDirectories(indexFile.getParent());
+			Path temporaryFile = Files.createTempFile(indexFile.getParent(), FILE_NAME, ".tmp");
+			try {
+				try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+					writer.write(content.toString());
+				}
+				try {
+					Files.move(temporaryFile, indexFile,
+							   StandardCopyOption.ATOMIC_MOVE,
+							   StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException e) {
+			System.err.printf("Error saving the module index %s: %s%n", indexFile, e.getMessage());
+		}
+	}
+	
+	/**
+	 * Gets the current number of entries
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Loads the entries of the index file. An invalid file is ignored and replaced
+	 * the next time that the index is saved.
+	 */
+	private void loadEntries() {
+		if (!Files.isRegularFile(indexFile)) return;
+		
+		try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+			JsonObject content = JsonParser.parseReader(reader).getAsJsonObject();
+			for (Map.Entry<String, JsonElement> entry : content.entrySet()) {
+				entries.put(entry.getKey(), IndexEntry.fromJson(entry.getValue().getAsJsonObject()));
+			}
+		} catch (IOException | RuntimeException e) {
+			System.err.printf("Invalid module index %s: %s%n", indexFile, e.getMessage());
+			entries.clear();
+		}
+	}
+	
+	/**
+	 * Reads the module name of a jar file. Multi-release jars use the descriptor of the current
+	 * Java version.
+	 *
+	 * @param path         The jar file
+	 * @param size         Size of the file
+	 * @param lastModified Last modification time of the file
+	 * @return The index entry of the file
+	 */
+	private static @NotNull IndexEntry readJarEntry(@NotNull Path path, long size, long lastModified) {
+		try (JarFile jarFile = new JarFile(path.toFile(), false, ZipFile.OPEN_READ, Runtime.version())) {
+			JarEntry descriptor = jarFile.getJarEntry(MODULE_DESCRIPTOR);
+			if (descriptor != null) {
+				try (InputStream stream = jarFile.getInputStream(descriptor)) {
+					return new IndexEntry(size, lastModified, ModuleDescriptor.read(stream).name(), false);
+				}
+			}
+			
+			Manifest manifest = jarFile.getManifest();
+			String automaticName = manifest == null ? null :
+				manifest.getMainAttributes().getValue(AUTOMATIC_MODULE_NAME);
+			if (automaticName != null) return new IndexEntry(size, lastModified, automaticName.trim(), true);
+		} catch (IOException | InvalidModuleDescriptorException | SecurityException e) {
+			System.err.printf("Cannot read the module of %s: %s%n", path, e.getMessage());
+		}
+		return new IndexEntry(size, lastModified, "", false);
+	}
+	
+	/**
+	 * Reads the module name of a directory (for example the compiled classes of another project).
+	 *
+	 * @param path The directory
+	 * @return The module name or {@link Optional#empty()} if the directory has no module descriptor
+	 */
+	private static @NotNull Optional<String> readDirectoryModuleName(@NotNull Path path) {
+		Path descriptor = path.resolve(MODULE_DESCRIPTOR);
+		if (!Files.isRegularFile(descriptor)) return Optional.empty();
+		
+		try (InputStream stream = Files.newInputStream(descriptor)) {
+			return Optional.of(ModuleDescriptor.read(stream).name());
+		} catch (IOException | InvalidModuleDescriptorException e) {
+			System.err.printf("Cannot read the module of %s: %s%n", path, e.getMessage());
+		}
+		return Optional.empty();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Internal class with the module name of a file and the attributes used to validate it.
+	 */
+	private static final class IndexEntry {
+		
+		/**
+		 * Size of the file
+		 */
+		private final long size;
+		
+		/**
+		 * Last modification time of the file (in milliseconds)
+		 */
+		private final long lastModified;
+		
+		/**
+		 * Module name or empty text if the file is not a module
+		 */
+		private final String moduleName;
+		
+		/**
+		 * Determines if the module is an automatic module
+		 */
+		private final boolean automatic;
+		
+		/**
+		 * Default entry constructor
+		 *
+		 * @param fileSize     Size of the file
+		 * @param modification Last modification time of the file
+		 * @param name         Module name or empty text if the file is not a module
+		 * @param isAutomatic  Determines if the module is an automatic module
+		 */
+		private IndexEntry(long fileSize, long modification, @NotNull String name, boolean isAutomatic) {
+			size = fileSize;
+			lastModified = modification;
+			moduleName = name;
+			automatic = isAutomatic;
+		}
+		
+		/**
+		 * Creates an entry from its Json representation
+		 *
+		 * @param object The Json representation
+		 * @return The index entry
+		 */
+		private static @NotNull IndexEntry fromJson(@NotNull JsonObject object) {
+			return new IndexEntry(object.get("size").getAsLong(),
+								  object.get("lastModified").getAsLong(),
+								  object.get("module").getAsString(),
+								  object.get("automatic").getAsBoolean());
+		}
+		
+		/**
+		 * Generates the Json representation of the entry
+		 *
+		 * @return The Json representation
+		 */
+		private @NotNull JsonObject toJson() {
+			JsonObject result = new JsonObject();
+			result.addProperty("size", size);
+			result.addProperty("lastModified", lastModified);
+			result.addProperty("module", moduleName);
+			result.addProperty("automatic", automatic);
+			return result;
+		}
+		
+	}
+	
+}
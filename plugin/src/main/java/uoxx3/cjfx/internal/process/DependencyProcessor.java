@@ -1,18 +1,39 @@
 package uoxx3.cjfx.internal.process;
 
+import org.gradle.api.Action;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencySet;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.provider.Provider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import uoxx3.cjfx.CjfxLockMode;
 import uoxx3.cjfx.CjfxModule;
 import uoxx3.cjfx.extensions.CjfxConfiguration;
-import uoxx3.cjfx.internal.resolver.DynamicDependencyResolver;
+import uoxx3.cjfx.internal.lock.VersionLockFile;
 import uoxx3.cjfx.internal.resolver.IDependencyResolver;
-import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.service.BuildStatisticsService;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+import uoxx3.cjfx.tasks.CjfxLockTask;
 import uoxx3.cjfx.utilities.BaseProjectReference;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Utility class that performs operations such as updating and resolving
@@ -25,9 +46,32 @@ public final class DependencyProcessor extends BaseProjectReference {
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Object in charge of resolving the versions of the JavaFX modules.
+	 * Build service that holds the object in charge of resolving the versions of the JavaFX modules.
 	 */
-	private final IDependencyResolver resolver;
+	private final Provider<DependencyResolverService> resolverService;
+	
+	/**
+	 * Build service where the time of every dependency update is registered.
+	 */
+	private final Provider<BuildStatisticsService> statisticsService;
+	
+	/**
+	 * Content of the version lock file of the project. The content is read through a Gradle provider,
+	 * so the configuration cache is invalidated when the lock file changes.
+	 */
+	private final Provider<String> lockFileContent;
+	
+	/**
+	 * Notations of the JavaFX modules calculated by the last update, indexed by the
+	 * coordinates of the artifact ({@code group:artifact:version:classifier}).
+	 */
+	private Map<String, Map<String, String>> moduleDependencies;
+	
+	/**
+	 * Dependencies contributed to every configuration whose dependencies were already used,
+	 * indexed by the configuration name and the coordinates of the artifact.
+	 */
+	private final Map<String, Contribution> contributions;
 	
 	/* -----------------------------------------------------
 	 * Methods
@@ -36,11 +80,20 @@ public final class DependencyProcessor extends BaseProjectReference {
 	/**
 	 * Default constructor of the current class.
 	 *
-	 * @param project Project referenced by the class.
+	 * @param project    Project referenced by the class.
+	 * @param service    Build service shared between all the projects of the build.
+	 * @param statistics Build service where the dependency updates are registered.
 	 */
-	public DependencyProcessor(@NotNull Project project) {
+	public DependencyProcessor(@NotNull Project project, @NotNull Provider<DependencyResolverService> service,
+		@NotNull Provider<BuildStatisticsService> statistics) {
 		super(project);
-		resolver = new DynamicDependencyResolver();
+		resolverService = service;
+		statisticsService = statistics;
+		lockFileContent = project.getProviders()
+			.fileContents(project.getLayout().getProjectDirectory().file(VersionLockFile.FILE_NAME))
+			.getAsText();
+		moduleDependencies = Map.of();
+		contributions = new HashMap<>();
 	}
 	
 	/* -----------------------------------------------------
@@ -48,85 +101,279 @@ public final class DependencyProcessor extends BaseProjectReference {
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Updates the project dependencies based on the new configuration.
+	 * Registers the JavaFX dependencies inside the target configurations. The dependencies are contributed
+	 * through providers, so the version resolution and the dependency creation only happen when the
+	 * dependencies of a configuration are actually used (normally when the configuration is resolved).
+	 * Tasks like {@code help} or {@code clean} never resolve the JavaFX version.
 	 * <p>
-	 * Unfortunately any changes made cause this method to have to do the entire process and there
-	 * is no way to update the dependencies without having to change everything again.
+	 * Only the configurations defined in {@link CjfxConfiguration#dependencyConfigurations} receive the
+	 * providers. The configurations added to that property by the build script are registered once the
+	 * project is evaluated. If the plugin configuration changes after the dependencies of a configuration
+	 * were used, the changes are applied before the configuration is resolved.
 	 *
 	 * @param con The current configuration of the plugin
 	 */
-	public void updateDependencies(@NotNull CjfxConfiguration con) {
-		// Remove all old dependencies
-		requireProject().getConfigurations()
-			.forEach(pCon -> removeOldDependencies(pCon, con));
+	public void registerDependencies(@NotNull CjfxConfiguration con) {
+		Project project = requireProject();
+		Set<String> registeredConfigurations = new HashSet<>();
+		Action<Configuration> registerAction = configuration -> {
+			if (!registeredConfigurations.add(configuration.getName())) return;
+			
+			configuration.getDependencies()
+				.addAllLater(project.provider(() -> contributedDependencies(configuration, con)));
+			configuration.withDependencies(dependencies -> {
+				if (isContributed(configuration)) con.applyChanges();
+			});
+		};
+		
+		// Target configurations at the moment that they are created
+		project.getConfigurations()
+			.matching(configuration -> con.dependencyConfigurations.get().contains(configuration.getName()))
+			.configureEach(registerAction);
 		
+		// Target configurations defined by the build script after the configuration was created
+		project.afterEvaluate(evaluated -> con.dependencyConfigurations.get().stream()
+			.map(name -> evaluated.getConfigurations().findByName(name))
+			.filter(Objects::nonNull)
+			.forEach(registerAction::execute));
+	}
+	
+	/**
+	 * Updates the JavaFX dependencies based on the new configuration. Only the configurations whose
+	 * dependencies were already used are modified, and only with the difference between the previous
+	 * and the new dependencies (added or removed modules, changed version or classifier).
+	 *
+	 * @param con The current configuration of the plugin
+	 */
+	public synchronized void updateDependencies(@NotNull CjfxConfiguration con) {
+		statisticsService.get().statistics()
+			.measure(BuildStatistics.DEPENDENCY_UPDATE, () -> updateDependenciesImpl(con));
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Calculates the new dependencies and applies the difference to every contributed configuration.
+	 *
+	 * @param con The current configuration of the plugin
+	 */
+	private void updateDependenciesImpl(@NotNull CjfxConfiguration con) {
 		// Check if new modules exists
-		if (con.modules.isEmpty()) return;
+		Set<CjfxModule> modules = con.modules.get();
+		if (modules.isEmpty()) {
+			moduleDependencies = Map.of();
+		} else {
+			// Variables used to resolve dependencies
+			Set<CjfxModule> destinationModules = CjfxModule.resolveModuleDependencies(modules);
+			String modifier = PlatformProcessor.instance().resolveArtifactModifier(
+				con.platform.get(),
+				con.architecture.get());
+			
+			// Wait for the version resolution
+			String targetVersion;
+			try {
+				targetVersion = resolveTargetVersionAsync(con, modifier).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+				throw e;
+			}
+			
+			// Resolve all dependencies
+			Map<String, Map<String, String>> dependencies = new LinkedHashMap<>();
+			for (CjfxModule module : destinationModules) {
+				dependencies.put(module.artifactGroup(targetVersion, modifier),
+								 module.artifactNotation(targetVersion, modifier));
+			}
+			moduleDependencies = Collections.unmodifiableMap(dependencies);
+		}
 		
-		// Variables used to resolve dependencies
-		Set<CjfxModule> destinationModules = CjfxModule.resolveModuleDependencies(con.modules);
-		String modifier = PlatformProcessor.instance().resolveArtifactModifier(
-			con.observablePlatform().getValue(),
-			con.observableArchitecture().getValue());
-		String targetVersion = con.observableVersion().getValue();
+		// Apply the difference to the configurations already used
+		contributions.values()
+			.forEach(contribution -> applyDifference(contribution, con));
+	}
+	
+	/**
+	 * Generates the JavaFX dependencies of a configuration the first time that its dependencies are used.
+	 * The pending changes of the plugin configuration are applied first.
+	 *
+	 * @param configuration The configuration whose dependencies are being used
+	 * @param con           The current configuration of the plugin
+	 * @return The JavaFX dependencies or an empty list if the configuration is not a target configuration
+	 */
+	private @NotNull List<Dependency> contributedDependencies(@NotNull Configuration configuration,
+		@NotNull CjfxConfiguration con) {
+		if (con.dependencyConfigurations.get().contains(configuration.getName())) con.applyChanges();
 		
-		// Check if the version contains a special case
-		if (resolver.isSpecialCase(con.observableVersion())) {
-			// Only resolve the first module version
-			CjfxModule moduleTest = destinationModules.stream()
-				.findFirst()
-				.orElseThrow(() -> new RuntimeException("No modules found"));
-			IArtifactResponse response = resolver.resolveArtifact(
-					"org.openjfx",
-					moduleTest.artifactName(), targetVersion)
-				.orElseThrow(() -> new RuntimeException("Cannot resolve artifact version"));
+		synchronized (this) {
+			// The dependencies are registered, so the next changes can be applied as a difference
+			Contribution contribution = new Contribution(configuration);
+			contributions.put(configuration.getName(), contribution);
+			if (!con.dependencyConfigurations.get().contains(configuration.getName())) return List.of();
 			
-			// Replace the target version
-			targetVersion = response.version();
+			DependencyHandler dependencyHandler = requireProject().getDependencies();
+			moduleDependencies.forEach((coordinates, notation) -> contribution.dependencies
+				.put(coordinates, dependencyHandler.create(notation)));
+			return new ArrayList<>(contribution.dependencies.values());
 		}
+	}
+	
+	/**
+	 * Applies the difference between the dependencies contributed to a configuration and
+	 * the current dependencies. Configurations that already participated in a dependency resolution
+	 * cannot be modified, so the difference is reported and ignored.
+	 *
+	 * @param contribution The dependencies contributed to the configuration
+	 * @param con          The current configuration of the plugin
+	 */
+	private void applyDifference(@NotNull Contribution contribution, @NotNull CjfxConfiguration con) {
+		Configuration configuration = contribution.configuration;
+		Map<String, Map<String, String>> targetDependencies =
+			con.dependencyConfigurations.get().contains(configuration.getName()) ?
+			moduleDependencies : Map.of();
 		
-		// Resolve all dependencies
-		final String finalTargetVersion = targetVersion;
-		List<String> moduleDependencies = destinationModules.stream()
-			.map(module -> module.artifactGroup(finalTargetVersion, modifier))
-			.collect(Collectors.toList());
+		// Check if the dependencies changed
+		if (contribution.dependencies.keySet().equals(targetDependencies.keySet())) return;
+		if (isUsedInResolution(configuration)) {
+			reportImmutableConfiguration(configuration, null);
+			return;
+		}
 		
-		// Iterate all project configurations
-		for (String projectConfiguration : con.dependencyConfigurations) {
-			Configuration artifactConfiguration = requireProject().getConfigurations()
-				.findByName(projectConfiguration);
-			
-			// Iterate all dependencies
-			if (artifactConfiguration == null) continue;
-			for (String dependency : moduleDependencies) {
-				requireProject().getDependencies()
-					.add(projectConfiguration, dependency);
+		DependencySet dependencySet = configuration.getDependencies();
+		try {
+			// Remove the old dependencies
+			Iterator<Map.Entry<String, Dependency>> iterator = contribution.dependencies.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Dependency> entry = iterator.next();
+				if (targetDependencies.containsKey(entry.getKey())) continue;
+				
+				dependencySet.remove(entry.getValue());
+				iterator.remove();
 			}
+			
+			// Add the new dependencies
+			DependencyHandler dependencyHandler = requireProject().getDependencies();
+			targetDependencies.forEach((coordinates, notation) -> {
+				if (contribution.dependencies.containsKey(coordinates)) return;
+				
+				Dependency dependency = dependencyHandler.create(notation);
+				dependencySet.add(dependency);
+				contribution.dependencies.put(coordinates, dependency);
+			});
+		} catch (InvalidUserDataException e) {
+			// The configuration was included in a resolution outside this project
+			reportImmutableConfiguration(configuration, e);
 		}
 	}
 	
-	/* -----------------------------------------------------
-	 * Internal methods
-	 * ----------------------------------------------------- */
+	/**
+	 * Checks if a configuration already participated in a dependency resolution, either directly
+	 * or through a configuration that extends it (for example {@code implementation} when
+	 * {@code runtimeClasspath} is resolved). Gradle rejects any change in those configurations.
+	 *
+	 * @param configuration The configuration to check
+	 * @return {@code true} if the configuration cannot be modified or {@code false} otherwise
+	 */
+	private boolean isUsedInResolution(@NotNull Configuration configuration) {
+		return requireProject().getConfigurations().stream()
+			.filter(item -> item.getState() != Configuration.State.UNRESOLVED)
+			.anyMatch(item -> item.getHierarchy().contains(configuration));
+	}
+	
+	/**
+	 * Reports that the JavaFX dependencies of a configuration cannot be updated.
+	 *
+	 * @param configuration The configuration that cannot be modified
+	 * @param cause         The error thrown by Gradle or {@code null} if the change was not attempted
+	 */
+	private static void reportImmutableConfiguration(@NotNull Configuration configuration,
+		@Nullable Exception cause) {
+		System.err.printf("The JavaFX dependencies of the configuration %s cannot be updated because it was " +
+							  "already used in a dependency resolution. Change the Cjfx configuration before " +
+							  "resolving the configuration%s%n", configuration.getName(),
+						  cause == null ? "." : ": " + cause.getMessage());
+	}
 	
 	/**
-	 * Remove dependencies on old configurations
+	 * Checks if the dependencies of the configuration were already used.
 	 *
-	 * @param moduleCon The configuration specifies what to delete
-	 * @param con       The plugin configuration
+	 * @param configuration The configuration to check
+	 * @return {@code true} if the configuration has a registered contribution or {@code false} otherwise
 	 */
-	private void removeOldDependencies(@NotNull Configuration moduleCon, @NotNull CjfxConfiguration con) {
-		// Check if the configuration exists in the current configuration
-		if (con.dependencyConfigurations.contains(moduleCon.getName())) return;
+	private synchronized boolean isContributed(@NotNull Configuration configuration) {
+		return contributions.containsKey(configuration.getName());
+	}
+	
+	/**
+	 * Resolves the version of JavaFX used by the configuration. If the version is a special case,
+	 * it is resolved with the first module, since all the modules share the same version.
+	 * <p>
+	 * Special cases are searched inside the version lock file first (unless the lock is disabled),
+	 * so a locked build never uses the resolver.
+	 *
+	 * @param con      The current configuration of the plugin
+	 * @param modifier The classifier of the artifacts
+	 * @return A future with the specific version of JavaFX
+	 */
+	private @NotNull CompletableFuture<String> resolveTargetVersionAsync(@NotNull CjfxConfiguration con,
+		@NotNull String modifier) {
+		String targetVersion = con.version.get();
+		IDependencyResolver resolver = resolverService.get().resolver();
+		
+		// Check if the version contains a special case
+		if (!resolver.isSpecialCase(targetVersion)) return CompletableFuture.completedFuture(targetVersion);
+		
+		// Only resolve the first module version
+		CjfxModule moduleTest = CjfxModule.resolveModuleDependencies(con.modules.get()).stream()
+			.findFirst()
+			.orElseThrow(() -> new RuntimeException("No modules found"));
+		
+		// Check the locked version
+		CjfxLockMode lockMode = con.lockMode.get();
+		if (lockMode != CjfxLockMode.DISABLED) {
+			Optional<String> lockedVersion = VersionLockFile.parse(lockFileContent.getOrNull())
+				.find("org.openjfx", moduleTest.artifactName(), modifier, targetVersion);
+			if (lockedVersion.isPresent()) return CompletableFuture.completedFuture(lockedVersion.get());
+			if (lockMode == CjfxLockMode.STRICT) {
+				throw new IllegalStateException(String.format(
+					"The version %s of %s (%s) is not locked. Run the %s task to refresh %s",
+					targetVersion, moduleTest.artifactName(), modifier, CjfxLockTask.TASK_NAME, VersionLockFile.FILE_NAME));
+			}
+		}
+		
+		return resolver.resolveArtifactAsync("org.openjfx", moduleTest.artifactName(), targetVersion)
+			.thenApply(response -> response
+				.orElseThrow(() -> new RuntimeException("Cannot resolve artifact version"))
+				.version());
+	}
+	
+	
+	/**
+	 * Internal class with the dependencies contributed to a single configuration.
+	 */
+	private static final class Contribution {
+		
+		/**
+		 * The configuration that receives the dependencies
+		 */
+		private final Configuration configuration;
+		
+		/**
+		 * The contributed dependencies indexed by the coordinates of the artifact
+		 */
+		private final Map<String, Dependency> dependencies;
+		
+		/**
+		 * Default contribution constructor
+		 *
+		 * @param target The configuration that receives the dependencies
+		 */
+		private Contribution(@NotNull Configuration target) {
+			configuration = target;
+			dependencies = new LinkedHashMap<>();
+		}
 		
-		// Remove all javafx dependencies from another configurations
-		moduleCon.getDependencies().removeIf(dependency -> {
-			// Check if dependency group is valid
-			if (dependency.getGroup() == null) return false;
-			// Remove dependency information
-			String group = dependency.getGroup();
-			return group.contentEquals("org.openjfx");
-		});
 	}
 	
 }
@@ -4,6 +4,8 @@ import com.google.gson.Gson;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,6 +24,23 @@ public abstract class BaseDependencyResolver implements IDependencyResolver {
 	protected static final Pattern CONFIGURATION_CHECKER =
 		Pattern.compile("#(.+)#");
 	
+	/**
+	 * Regular expression used to detect the final release versions ({@code #latest#} special case)
+	 */
+	protected static final Pattern LATEST_VERSION_PATTERN =
+		Pattern.compile("^(\\d+\\.)*(\\*|\\d+)$");
+	
+	/**
+	 * Regular expression used to detect the early access versions ({@code #early#} special case)
+	 */
+	protected static final Pattern EARLY_VERSION_PATTERN =
+		Pattern.compile("^(\\d+\\.)*(\\d+-ea\\+\\d+)$");
+	
+	/**
+	 * Default maximum time that a single resolution can take
+	 */
+	public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	
 	/**
 	 * HTTP client configured to make requests to a Maven repository API.
 	 */
@@ -32,6 +51,11 @@ public abstract class BaseDependencyResolver implements IDependencyResolver {
 	 */
 	private final Gson gsonClient;
 	
+	/**
+	 * Maximum time that a single resolution can take
+	 */
+	private final Duration requestTimeout;
+	
 	/* -----------------------------------------------------
 	 * Constructor
 	 * ----------------------------------------------------- */
@@ -39,12 +63,24 @@ public abstract class BaseDependencyResolver implements IDependencyResolver {
 	/**
 	 * Default constructor with the necessary instances.
 	 *
+	 * @param client  HTTP client instance
+	 * @param gson    Gson instance
+	 * @param timeout Maximum time that a single resolution can take
+	 */
+	public BaseDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson, @NotNull Duration timeout) {
+		httpClient = client;
+		gsonClient = gson;
+		requestTimeout = timeout;
+	}
+	
+	/**
+	 * Constructor with the default request timeout.
+	 *
 	 * @param client HTTP client instance
 	 * @param gson   Gson instance
 	 */
 	public BaseDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson) {
-		httpClient = client;
-		gsonClient = gson;
+		this(client, gson, DEFAULT_REQUEST_TIMEOUT);
 	}
 	
 	/* -----------------------------------------------------
@@ -77,6 +113,30 @@ public abstract class BaseDependencyResolver implements IDependencyResolver {
 		return matcher.group(1).trim();
 	}
 	
+	/**
+	 * Generates the filter of the versions that satisfy a special case. The {@code latest} and
+	 * {@code early} cases have a predefined pattern, any other case is used as a regular expression.
+	 *
+	 * @param specialCase The name of the special case
+	 * @return A filter that accepts only the versions of the special case
+	 * @see #extractCase(String)
+	 */
+	public @NotNull Predicate<String> specialCaseFilter(@NotNull String specialCase) {
+		Pattern pattern;
+		switch (specialCase.trim()) {
+			case "latest":
+				pattern = LATEST_VERSION_PATTERN;
+				break;
+			case "early":
+				pattern = EARLY_VERSION_PATTERN;
+				break;
+			default:
+				pattern = Pattern.compile(specialCase.trim());
+				break;
+		}
+		return version -> pattern.matcher(version).find();
+	}
+	
 	/**
 	 * Access to the instance of object {@link HttpClient}
 	 *
@@ -95,4 +155,13 @@ public abstract class BaseDependencyResolver implements IDependencyResolver {
 		return gsonClient;
 	}
 	
+	/**
+	 * Maximum time that a single resolution can take
+	 *
+	 * @return The request timeout
+	 */
+	public @NotNull Duration requestTimeout() {
+		return requestTimeout;
+	}
+	
 }
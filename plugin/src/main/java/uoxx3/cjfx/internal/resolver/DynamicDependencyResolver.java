@@ -2,35 +2,87 @@ package uoxx3.cjfx.internal.resolver;
 
 import com.google.gson.GsonBuilder;
 import org.jetbrains.annotations.NotNull;
-import uoxx3.cjfx.internal.resolver.maven.MavenDependencyResolver;
+import org.jetbrains.annotations.Nullable;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactCacheKey;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.cache.DaemonArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
 import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
-import ushiosan.jvm.collections.USet;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+import uoxx3.cjfx.internal.stats.MeasuredHttpClient;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * This class registers several dependency resolvers and performs the action on each of them until
- * one performs the operation correctly.
+ * This class registers several dependency resolvers and starts the action on all of them in order of
+ * priority, without waiting for the previous ones. The first resolver that finds the artifact wins and
+ * the rest of the requests are discarded, so the resolution takes as long as the fastest resolver and
+ * never more than the global deadline. The resolvers that answer synchronously (local repositories)
+ * are registered first, so the network is not used when the artifact is already on disk.
  * <p>
- * Artifact resolution must be synchronous because Gradle natively does not work with
- * asynchronous elements, and it does not make sense to implement it at the moment.
- * To solve this type of problem, it is necessary to implement an internal cache so as not to make requests
- * every time you want to resolve a dependency.
+ * The synchronous methods only wait for the result of the asynchronous ones, so both variants
+ * share the same resolution process. The instance owns the executor of the HTTP client, so it
+ * must be closed when it is no longer used.
  */
-public class DynamicDependencyResolver extends BaseDependencyResolver {
+public class DynamicDependencyResolver extends BaseDependencyResolver implements AutoCloseable {
 	
 	/* -----------------------------------------------------
 	 * Properties
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * List with all registry dependency resolvers
+	 * List with all registry dependency resolvers, sorted by priority
 	 */
-	private final Set<IDependencyResolver> resolverSet;
+	private final List<IDependencyResolver> resolverList;
+	
+	/**
+	 * Statistics where the resolutions of every resolver are registered
+	 */
+	private final BuildStatistics statistics;
+	
+	/**
+	 * Executor of the HTTP requests
+	 */
+	private final ExecutorService httpExecutor;
+	
+	/**
+	 * Cache shared by all the builds of the daemon or {@code null} if the cache is disabled
+	 */
+	private volatile DaemonArtifactCache daemonCache;
+	
+	/**
+	 * Time during which the entries of the daemon cache are used without a refresh
+	 */
+	private volatile Duration daemonCacheFreshness;
+	
+	/**
+	 * Time after which the entries of the daemon cache are never used
+	 */
+	private volatile Duration daemonCacheMaxAge;
+	
+	/**
+	 * Resolver of the background refreshes of the daemon cache or {@code null} if the
+	 * registered resolvers are used
+	 */
+	private volatile Supplier<IDependencyResolver> refreshResolver;
+	
+	/**
+	 * Persistent cache where the refreshed versions are saved or {@code null} if they are not saved
+	 */
+	private volatile ArtifactDiskCache refreshDiskCache;
 	
 	/* -----------------------------------------------------
 	 * Constructors
@@ -40,26 +92,113 @@ public class DynamicDependencyResolver extends BaseDependencyResolver {
 	 * Empty constructor
 	 */
 	public DynamicDependencyResolver() {
-		super(HttpClient.newBuilder()
-				  .version(HttpClient.Version.HTTP_2)
-				  .connectTimeout(Duration.ofSeconds(10))
-				  .executor(Executors.newFixedThreadPool(3))
-				  .followRedirects(HttpClient.Redirect.NORMAL)
-				  .build(),
+		this(DEFAULT_REQUEST_TIMEOUT);
+	}
+	
+	/**
+	 * Constructor with a custom deadline. The instance has no resolvers, they must be added
+	 * with {@link #registerResolver(IDependencyResolver)} using the shared HTTP and Gson instances.
+	 *
+	 * @param timeout Global deadline of every resolution
+	 */
+	public DynamicDependencyResolver(@NotNull Duration timeout) {
+		this(timeout, new BuildStatistics());
+	}
+	
+	/**
+	 * Constructor with a custom deadline and the statistics of the build. Every HTTP request
+	 * and every resolution of the registered resolvers is measured.
+	 *
+	 * @param timeout Global deadline of every resolution
+	 * @param stats   Statistics where the requests and resolutions are registered
+	 */
+	public DynamicDependencyResolver(@NotNull Duration timeout, @NotNull BuildStatistics stats) {
+		this(timeout, stats, HttpExecutors.newExecutor());
+	}
+	
+	/**
+	 * Constructor with the executor of the HTTP client. The executor is owned by the instance
+	 * and it is shut down when the instance is closed.
+	 *
+	 * @param timeout  Global deadline of every resolution
+	 * @param stats    Statistics where the requests and resolutions are registered
+	 * @param executor Executor of the HTTP requests
+	 */
+	private DynamicDependencyResolver(@NotNull Duration timeout, @NotNull BuildStatistics stats,
+		@NotNull ExecutorService executor) {
+		super(new MeasuredHttpClient(HttpClient.newBuilder()
+										 .version(HttpClient.Version.HTTP_2)
+										 .connectTimeout(Duration.ofSeconds(10))
+										 .executor(executor)
+										 .followRedirects(HttpClient.Redirect.NORMAL)
+										 .build(), stats),
 			  (new GsonBuilder())
-				  .serializeNulls()
-				  .setPrettyPrinting()
 				  .excludeFieldsWithoutExposeAnnotation()
-				  .create());
+				  .create(),
+			  timeout);
 		// Initialize properties
-		resolverSet = USet.make(
-			new MavenDependencyResolver(httpClient(), gsonClient()));
+		resolverList = new CopyOnWriteArrayList<>();
+		statistics = stats;
+		httpExecutor = executor;
+		daemonCacheFreshness = Duration.ZERO;
+		daemonCacheMaxAge = Duration.ZERO;
 	}
 	
 	/* -----------------------------------------------------
 	 * Methods
 	 * ----------------------------------------------------- */
 	
+	/**
+	 * Registers a new resolver. The resolvers are started in the same order in which they are
+	 * registered, so the resolvers that answer immediately (local repositories) must be registered first.
+	 *
+	 * @param resolver The resolver to register
+	 */
+	public void registerResolver(@NotNull IDependencyResolver resolver) {
+		resolverList.add(resolver);
+	}
+	
+	/**
+	 * Enables the cache shared by all the builds of the daemon. The special cases are resolved through
+	 * that cache: an entry older than the freshness window is still used, but it is refreshed in the
+	 * background, so the build only waits for the resolvers when the artifact was never resolved or
+	 * its entry is older than the maximum age.
+	 *
+	 * @param cache     The cache of the daemon
+	 * @param freshness Time during which the entries are used without a refresh
+	 * @param maxAge    Time after which the entries are never used
+	 */
+	public void useDaemonCache(@NotNull DaemonArtifactCache cache, @NotNull Duration freshness,
+		@NotNull Duration maxAge) {
+		daemonCacheFreshness = freshness;
+		daemonCacheMaxAge = maxAge;
+		daemonCache = cache;
+	}
+	
+	/**
+	 * Defines the resolver used to refresh the stale entries of the daemon cache. The registered resolvers
+	 * answer with the local repositories and the caches first, so they would always return the version that
+	 * is already cached; the refresh resolver must only ask the remote repositories. The refreshed versions
+	 * are also saved inside the persistent cache, so the next daemons use them too.
+	 *
+	 * @param resolver  The supplier of the refresh resolver. It is only called when a refresh is started.
+	 * @param diskCache The persistent cache of the registered resolvers or {@code null} if it is not used
+	 */
+	public void useRefreshResolver(@NotNull Supplier<IDependencyResolver> resolver,
+		@Nullable ArtifactDiskCache diskCache) {
+		refreshDiskCache = diskCache;
+		refreshResolver = resolver;
+	}
+	
+	/**
+	 * Shuts down the executor of the HTTP requests. The requests already started are finished,
+	 * but new requests are rejected, so the instance must not be used after this call.
+	 */
+	@Override
+	public void close() {
+		httpExecutor.shutdown();
+	}
+	
 	/**
 	 * Resolves the required artifact depending on the options provided.
 	 *
@@ -73,12 +212,7 @@ public class DynamicDependencyResolver extends BaseDependencyResolver {
 	@Override
 	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
 		@NotNull String version, @NotNull String classifier) {
-		// Iterate all resolvers
-		for (IDependencyResolver resolver : resolverSet) {
-			Optional<IArtifactResponse> response = resolver.resolveArtifact(group, artifact, version, classifier);
-			if (response.isPresent()) return response;
-		}
-		return Optional.empty();
+		return resolveArtifactAsync(group, artifact, version, classifier).join();
 	}
 	
 	/**
@@ -93,12 +227,163 @@ public class DynamicDependencyResolver extends BaseDependencyResolver {
 	@Override
 	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
 		@NotNull String version) {
-		// Iterate all resolvers
-		for (IDependencyResolver resolver : resolverSet) {
-			Optional<IArtifactResponse> response = resolver.resolveArtifact(group, artifact, version);
-			if (response.isPresent()) return response;
+		return resolveArtifactAsync(group, artifact, version).join();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version, @NotNull String classifier) {
+		return resolveCached(new ArtifactCacheKey(group, artifact, version, classifier),
+							 resolver -> resolver.resolveArtifactAsync(group, artifact, version, classifier));
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version) {
+		return resolveCached(new ArtifactCacheKey(group, artifact, version),
+							 resolver -> resolver.resolveArtifactAsync(group, artifact, version));
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Resolves a special case through the daemon cache (when it is enabled). Specific versions
+	 * and disabled caches always use the resolvers.
+	 *
+	 * @param key    The key of the resolution
+	 * @param action The resolution that every resolver must perform
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveCached(@NotNull ArtifactCacheKey key,
+		@NotNull Function<IDependencyResolver, CompletableFuture<Optional<IArtifactResponse>>> action) {
+		DaemonArtifactCache cache = daemonCache;
+		if (cache == null || !isSpecialCase(key.version())) return raceResolvers(action);
+		
+		return cache.resolve(key, daemonCacheFreshness, daemonCacheMaxAge, () -> raceResolvers(action),
+							 () -> refreshArtifact(key, action));
+	}
+	
+	/**
+	 * Resolves the current version of a stale entry of the daemon cache with the refresh resolver
+	 * (see {@link #useRefreshResolver(Supplier, ArtifactDiskCache)}) and saves it inside the persistent cache.
+	 * Without refresh resolver, the registered resolvers are used.
+	 *
+	 * @param key    The key of the resolution
+	 * @param action The resolution that the resolver must perform
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> refreshArtifact(@NotNull ArtifactCacheKey key,
+		@NotNull Function<IDependencyResolver, CompletableFuture<Optional<IArtifactResponse>>> action) {
+		Supplier<IDependencyResolver> resolverSupplier = refreshResolver;
+		if (resolverSupplier == null) return raceResolvers(action);
+		
+		ArtifactDiskCache diskCache = refreshDiskCache;
+		return startRequest(resolverSupplier.get(), action)
+			.thenApply(response -> {
+				if (diskCache != null) {
+					response.ifPresent(artifact -> diskCache.store(
+						key, new MavenArtifactCache(artifact, extractCase(key.version()))));
+				}
+				return response;
+			});
+	}
+	
+	/**
+	 * Starts the registered resolvers in order of priority and returns the first artifact found.
+	 * When a resolver finds the artifact, or the global deadline is reached, the futures of the
+	 * remaining requests are cancelled.
+	 *
+	 * @param action The resolution that every resolver must perform
+	 * @return A future with the first artifact found or {@link Optional#empty()} if no resolver found the artifact
+	 * 	before the deadline.
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> raceResolvers(
+		@NotNull Function<IDependencyResolver, CompletableFuture<Optional<IArtifactResponse>>> action) {
+		CompletableFuture<Optional<IArtifactResponse>> result = new CompletableFuture<>();
+		List<IDependencyResolver> resolvers = List.copyOf(resolverList);
+		List<CompletableFuture<Optional<IArtifactResponse>>> requests = new ArrayList<>();
+		AtomicInteger remainingRequests = new AtomicInteger(resolvers.size());
+		
+		// The first successful response completes the result. A resolver is only skipped when a previous
+		// one already answered synchronously (local repositories), otherwise all of them run at the same time.
+		for (IDependencyResolver resolver : resolvers) {
+			if (result.isDone()) break;
+			
+			CompletableFuture<Optional<IArtifactResponse>> request = startRequest(resolver, action);
+			requests.add(request);
+			request.whenComplete((response, error) -> {
+				if (error == null && response.isPresent()) {
+					result.complete(response);
+				} else if (remainingRequests.decrementAndGet() == 0) {
+					result.complete(Optional.empty());
+				}
+			});
+		}
+		if (resolvers.isEmpty()) result.complete(Optional.empty());
+		
+		// Cancel the slower requests once the result is known. Cancelling a future does not abort the
+		// HTTP exchange that is already in progress, its response is only discarded.
+		result.whenComplete((response, error) -> requests.forEach(request -> request.cancel(true)));
+		return result
+			.orTimeout(requestTimeout().toMillis(), TimeUnit.MILLISECONDS)
+			.exceptionally(error -> {
+				System.err.printf("Error resolving artifact: %s%n", error instanceof TimeoutException ?
+																   "deadline exceeded" : error.getMessage());
+				return Optional.empty();
+			});
+	}
+	
+	/**
+	 * Starts the request of a single resolver. Synchronous errors are converted into a failed future,
+	 * so a broken resolver never interrupts the rest of the resolvers. The time and the result of
+	 * the request are registered inside the statistics.
+	 *
+	 * @param resolver The resolver that performs the request
+	 * @param action   The resolution that the resolver must perform
+	 * @return A future with the result of the resolver
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> startRequest(@NotNull IDependencyResolver resolver,
+		@NotNull Function<IDependencyResolver, CompletableFuture<Optional<IArtifactResponse>>> action) {
+		String statisticName = BuildStatistics.RESOLVER_PREFIX + resolver.getClass().getSimpleName();
+		long start = System.nanoTime();
+		CompletableFuture<Optional<IArtifactResponse>> request;
+		try {
+			request = action.apply(resolver);
+		} catch (Exception e) {
+			request = CompletableFuture.failedFuture(e);
 		}
-		return Optional.empty();
+		
+		request.whenComplete((response, error) -> {
+			statistics.recordTime(statisticName, start);
+			if (error != null) {
+				statistics.increment(statisticName + (error instanceof CancellationException ?
+													  ".cancelled" : ".failed"));
+			} else {
+				statistics.increment(statisticName + (response.isPresent() ? ".found" : ".notFound"));
+			}
+		});
+		return request;
 	}
 	
 }
@@ -0,0 +1,113 @@
+package uoxx3.cjfx.internal.resolver;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of the executors used by the HTTP clients of the resolvers.
+ * <p>
+ * On JDK 21 or newer every request runs on a virtual thread. On older versions a small pool of daemon
+ * threads is used, whose idle threads are released, so the executors never keep a Gradle daemon alive
+ * and never accumulate threads between builds.
+ */
+public final class HttpExecutors {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Maximum number of platform threads of the fallback pool
+	 */
+	public static final int MAX_POOL_THREADS = 3;
+	
+	/**
+	 * Time that an idle platform thread is kept alive
+	 */
+	private static final long KEEP_ALIVE_SECONDS = 30L;
+	
+	/**
+	 * Prefix of the names of all the threads
+	 */
+	private static final String THREAD_PREFIX = "cjfx-http-";
+	
+	/**
+	 * Counter used to identify the threads
+	 */
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * This class cannot be instantiated
+	 */
+	private HttpExecutors() {
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Creates a new executor for the HTTP requests. The caller is in charge of shutting down the executor.
+	 *
+	 * @return A virtual thread executor (JDK 21+) or a bounded pool of daemon threads
+	 */
+	public static @NotNull ExecutorService newExecutor() {
+		if (Runtime.version().feature() >= 21) {
+			ExecutorService virtualExecutor = newVirtualThreadExecutor();
+			if (virtualExecutor != null) return virtualExecutor;
+		}
+		return newDaemonPool();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Creates an executor that starts a virtual thread for every task. The plugin is compiled for
+	 * Java 11, so the method is called through reflection.
+	 *
+	 * @return The virtual thread executor or {@code null} if the method is not available
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			System.err.printf("Virtual threads are not available: %s%n", e.getMessage());
+		}
+		return null;
+	}
+	
+	/**
+	 * Creates a bounded pool of daemon threads. The threads are created on demand and
+	 * released when they are idle.
+	 *
+	 * @return The daemon thread pool
+	 */
+	private static @NotNull ExecutorService newDaemonPool() {
+		ThreadFactory factory = task -> {
+			Thread thread = new Thread(task, THREAD_PREFIX + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_POOL_THREADS, MAX_POOL_THREADS,
+														 KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+														 new LinkedBlockingQueue<>(), factory);
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+	
+}
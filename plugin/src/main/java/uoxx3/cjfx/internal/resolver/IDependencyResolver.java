@@ -1,19 +1,20 @@
 package uoxx3.cjfx.internal.resolver;
 
-import javafx.beans.value.ObservableValue;
+import org.gradle.api.provider.Provider;
 import org.jetbrains.annotations.NotNull;
 import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
-import ushiosan.jvm.UObject;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface used to resolve dependencies on artifacts required by the user.
  * <p>
- * Artifact resolution must be synchronous because Gradle natively does not work with
- * asynchronous elements, and it does not make sense to implement it at the moment.
- * To solve this type of problem, it is necessary to implement an internal cache so as not to make requests
- * every time you want to resolve a dependency.
+ * Gradle natively does not work with asynchronous elements, so the dependencies are applied with the
+ * synchronous methods. The asynchronous variants allow starting the resolution as soon as the configuration
+ * is known and only waiting for the result when the dependencies are really needed.
+ * In addition, an internal cache is implemented so as not to make requests every time you want to resolve
+ * a dependency.
  */
 public interface IDependencyResolver {
 	
@@ -31,9 +32,8 @@ public interface IDependencyResolver {
 	 * @param version The content you want to verify
 	 * @return {@code true} if this is a special case or {@code false} otherwise
 	 */
-	default boolean isSpecialCase(@NotNull ObservableValue<String> version) {
-		String content = version.getValue();
-		return isSpecialCase(UObject.notNull(content, ""));
+	default boolean isSpecialCase(@NotNull Provider<String> version) {
+		return isSpecialCase(version.getOrElse(""));
 	}
 	
 	/**
@@ -52,9 +52,8 @@ public interface IDependencyResolver {
 	 * @return The excerpt from the special version or an empty text if no special case is found.
 	 * @see #isSpecialCase(String)
 	 */
-	default @NotNull String extractCase(@NotNull ObservableValue<String> version) {
-		String content = version.getValue();
-		return extractCase(UObject.notNull(content, ""));
+	default @NotNull String extractCase(@NotNull Provider<String> version) {
+		return extractCase(version.getOrElse(""));
 	}
 	
 	/**
@@ -87,4 +86,34 @@ public interface IDependencyResolver {
 		@NotNull String artifact,
 		@NotNull String version);
 	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(
+		@NotNull String group,
+		@NotNull String artifact,
+		@NotNull String version,
+		@NotNull String classifier);
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(
+		@NotNull String group,
+		@NotNull String artifact,
+		@NotNull String version);
+	
 }
@@ -0,0 +1,149 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Immutable key used to identify a resolution inside the artifact caches.
+ * <p>
+ * The key contains the full coordinate of the request (group, artifact, version specification
+ * and classifier), so two requests only share an entry when they are exactly the same.
+ */
+public final class ArtifactCacheKey {
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The group that is in charge of providing the artifact
+	 */
+	private final String group;
+	
+	/**
+	 * The name of the artifact
+	 */
+	private final String artifact;
+	
+	/**
+	 * The version specification of the artifact (special case or specific version)
+	 */
+	private final String version;
+	
+	/**
+	 * The artifact classifier or empty text if the request has no classifier
+	 */
+	private final String classifier;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default key constructor.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version specification of the artifact
+	 * @param classifier The artifact classifier or empty text if the request has no classifier
+	 */
+	public ArtifactCacheKey(@NotNull String group, @NotNull String artifact, @NotNull String version,
+		@NotNull String classifier) {
+		this.group = group.trim();
+		this.artifact = artifact.trim();
+		this.version = version.trim();
+		this.classifier = classifier.trim();
+	}
+	
+	/**
+	 * Key constructor for requests without classifier.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version specification of the artifact
+	 */
+	public ArtifactCacheKey(@NotNull String group, @NotNull String artifact, @NotNull String version) {
+		this(group, artifact, version, "");
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the group that is in charge of providing the artifact
+	 *
+	 * @return The artifact group
+	 */
+	public @NotNull String group() {
+		return group;
+	}
+	
+	/**
+	 * Gets the name of the artifact
+	 *
+	 * @return The artifact name
+	 */
+	public @NotNull String artifact() {
+		return artifact;
+	}
+	
+	/**
+	 * Gets the version specification of the artifact
+	 *
+	 * @return The version specification
+	 */
+	public @NotNull String version() {
+		return version;
+	}
+	
+	/**
+	 * Gets the artifact classifier
+	 *
+	 * @return The artifact classifier or empty text if the request has no classifier
+	 */
+	public @NotNull String classifier() {
+		return classifier;
+	}
+	
+	/**
+	 * Object comparison
+	 *
+	 * @param o The object to compare
+	 * @return {@code true} if both keys represent the same request or {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof ArtifactCacheKey)) return false;
+		ArtifactCacheKey that = (ArtifactCacheKey) o;
+		
+		return group.equals(that.group) &&
+			   artifact.equals(that.artifact) &&
+			   version.equals(that.version) &&
+			   classifier.equals(that.classifier);
+	}
+	
+	/**
+	 * Object hash code
+	 *
+	 * @return Object hash code
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(group, artifact, version, classifier);
+	}
+	
+	/**
+	 * Object string representation. This representation is also used as an identifier
+	 * inside the persistent cache.
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public @NotNull String toString() {
+		return String.join(":", group, artifact, classifier, version);
+	}
+	
+}
@@ -0,0 +1,310 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent cache of already resolved artifacts.
+ * <p>
+ * All entries are saved inside a single file located in the Gradle user home, so the resolutions
+ * survive between daemons and can be shared between several builds running at the same time.
+ * Every access to the file is protected by a file lock and the writes are done over a temporary
+ * file that is atomically moved to its final location.
+ */
+public final class ArtifactDiskCache {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the file where all the resolutions are saved
+	 */
+	private static final String CACHE_FILE_NAME = "resolutions.json";
+	
+	/**
+	 * Name of the file used to synchronize the access between processes
+	 */
+	private static final String LOCK_FILE_NAME = "resolutions.lock";
+	
+	/**
+	 * File locks are held by the whole JVM, so the threads of the same process
+	 * must be synchronized with a regular monitor.
+	 */
+	private static final Object PROCESS_LOCK = new Object();
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Directory where the cache files are located
+	 */
+	private final Path cacheDirectory;
+	
+	/**
+	 * Maximum age of the cache entries
+	 */
+	private final Duration timeToLive;
+	
+	/**
+	 * Gson instance for serialization of the cache content
+	 */
+	private final Gson gsonClient;
+	
+	/**
+	 * Number of lookups that found a valid entry
+	 */
+	private final LongAdder hitCounter;
+	
+	/**
+	 * Number of lookups that did not find a valid entry
+	 */
+	private final LongAdder missCounter;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor of the persistent cache.
+	 *
+	 * @param directory Directory where the cache files are located
+	 * @param ttl       Maximum age of the cache entries. A zero or negative duration disables the cache.
+	 * @param gson      Gson instance used to serialize the cache content
+	 */
+	public ArtifactDiskCache(@NotNull Path directory, @NotNull Duration ttl, @NotNull Gson gson) {
+		cacheDirectory = directory;
+		timeToLive = ttl;
+		gsonClient = gson;
+		hitCounter = new LongAdder();
+		missCounter = new LongAdder();
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Determines if the cache can be used.
+	 *
+	 * @return {@code true} if the cache is enabled or {@code false} otherwise
+	 */
+	public boolean isEnabled() {
+		return !timeToLive.isZero() && !timeToLive.isNegative();
+	}
+	
+	/**
+	 * Gets the maximum age of the cache entries
+	 *
+	 * @return The maximum age of the cache entries
+	 */
+	public @NotNull Duration timeToLive() {
+		return timeToLive;
+	}
+	
+	/**
+	 * Gets the number of lookups that found a valid entry
+	 *
+	 * @return The number of cache hits
+	 */
+	public long hitCount() {
+		return hitCounter.sum();
+	}
+	
+	/**
+	 * Gets the number of lookups that did not find a valid entry
+	 *
+	 * @return The number of cache misses
+	 */
+	public long missCount() {
+		return missCounter.sum();
+	}
+	
+	/**
+	 * Search for a valid (not expired) entry inside the cache.
+	 *
+	 * @param key The key of the resolution
+	 * @return The cached artifact or {@link Optional#empty()} if the entry does not exist or is expired
+	 */
+	public @NotNull Optional<MavenArtifactCache> find(@NotNull ArtifactCacheKey key) {
+		Optional<MavenArtifactCache> result = find(key, false);
+		
+		// Register the lookup result
+		if (result.isPresent()) {
+			hitCounter.increment();
+		} else {
+			missCounter.increment();
+		}
+		return result;
+	}
+	
+	/**
+	 * Search for an entry inside the cache even if it is expired. This is used when the
+	 * artifacts cannot be resolved through the network and an old answer is better than none.
+	 *
+	 * @param key The key of the resolution
+	 * @return The cached artifact or {@link Optional#empty()} if the entry does not exist
+	 */
+	public @NotNull Optional<MavenArtifactCache> findAny(@NotNull ArtifactCacheKey key) {
+		return find(key, true);
+	}
+	
+	/**
+	 * Saves a new resolution inside the cache, replacing the previous resolution of the same key.
+	 * Expired entries are kept, so they can still be used by offline builds.
+	 *
+	 * @param key  The key of the resolution
+	 * @param item The resolved artifact
+	 */
+	public void store(@NotNull ArtifactCacheKey key, @NotNull MavenArtifactCache item) {
+		if (!isEnabled()) return;
+		
+		synchronized (PROCESS_LOCK) {
+			try (FileChannel lockChannel = openLockChannel()) {
+				FileLock lock = lockChannel.lock();
+				try {
+					DiskCacheContent content = readContent();
+					content.entries.put(key.toString(), item);
+					
+					writeContent(content);
+				} finally {
+					lock.release();
+				}
+			} catch (Exception e) {
+				System.err.printf("Error writing cjfx cache: %s%n", e.getMessage());
+			}
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Search for an entry inside the cache.
+	 *
+	 * @param key            The key of the resolution
+	 * @param includeExpired Determines if the expired entries are also returned
+	 * @return The cached artifact or {@link Optional#empty()} if the entry is not found
+	 */
+	private @NotNull Optional<MavenArtifactCache> find(@NotNull ArtifactCacheKey key, boolean includeExpired) {
+		if (!isEnabled()) return Optional.empty();
+		
+		synchronized (PROCESS_LOCK) {
+			try (FileChannel lockChannel = openLockChannel()) {
+				FileLock lock = lockChannel.lock(0L, Long.MAX_VALUE, true);
+				try {
+					MavenArtifactCache item = readContent().entries.get(key.toString());
+					
+					// Check if the element is still valid
+					if (item == null) return Optional.empty();
+					if (!includeExpired && item.isExpired(timeToLive)) return Optional.empty();
+					return Optional.of(item);
+				} finally {
+					lock.release();
+				}
+			} catch (Exception e) {
+				System.err.printf("Error reading cjfx cache: %s%n", e.getMessage());
+			}
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * Opens the channel of the lock file, creating the cache directory if necessary.
+	 *
+	 * @return The lock file channel
+	 * @throws IOException If the lock file cannot be opened
+	 */
+	private @NotNull FileChannel openLockChannel() throws IOException {
+		Files.createDirectories(cacheDirectory);
+		return FileChannel.open(cacheDirectory.resolve(LOCK_FILE_NAME),
+								StandardOpenOption.CREATE,
+								StandardOpenOption.READ,
+								StandardOpenOption.WRITE);
+	}
+	
+	/**
+	 * Reads the whole content of the cache file. The caller must hold the file lock.
+	 *
+	 * @return The cache content or an empty content if the file does not exist or is corrupted
+	 */
+	private @NotNull DiskCacheContent readContent() {
+		Path cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+		if (!Files.isRegularFile(cacheFile)) return new DiskCacheContent();
+		
+		try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+			DiskCacheContent content = gsonClient.fromJson(reader, DiskCacheContent.class);
+			if (content == null || content.entries == null) return new DiskCacheContent();
+			
+			return content;
+		} catch (Exception e) {
+			// A corrupted file is treated as an empty cache and replaced with the next write
+			return new DiskCacheContent();
+		}
+	}
+	
+	/**
+	 * Writes the content of the cache into a temporary file and atomically replaces
+	 * the cache file. The caller must hold the file lock.
+	 *
+	 * @param content The content to write
+	 * @throws IOException If the content cannot be written
+	 */
+	private void writeContent(@NotNull DiskCacheContent content) throws IOException {
+		Path cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+		Path temporaryFile = Files.createTempFile(cacheDirectory, CACHE_FILE_NAME, ".tmp");
+		
+		try {
+			try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+				gsonClient.toJson(content, writer);
+			}
+			
+			try {
+				Files.move(temporaryFile, cacheFile,
+						   StandardCopyOption.ATOMIC_MOVE,
+						   StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+	
+	/**
+	 * Internal class that represents the structure of the cache file.
+	 */
+	private static final class DiskCacheContent {
+		
+		/**
+		 * All the cache entries indexed by {@link ArtifactCacheKey#toString()}
+		 */
+		@Expose
+		@SerializedName("entries")
+		private Map<String, MavenArtifactCache> entries = new HashMap<>();
+		
+	}
+	
+}
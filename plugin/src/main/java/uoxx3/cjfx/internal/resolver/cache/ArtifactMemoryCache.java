@@ -0,0 +1,210 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of already resolved artifacts.
+ * <p>
+ * The entries are indexed by the full request ({@link ArtifactCacheKey}), so the lookup is constant time.
+ * The cache has a maximum size and when it is exceeded the least recently used entry is removed,
+ * which means that the entries are never lost because of the garbage collector.
+ */
+public final class ArtifactMemoryCache {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default maximum number of entries
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Map with all the cache entries
+	 */
+	private final Map<ArtifactCacheKey, CacheEntry> entries;
+	
+	/**
+	 * Maximum number of entries
+	 */
+	private final int capacity;
+	
+	/**
+	 * Logical clock used to determine the last access of every entry
+	 */
+	private final AtomicLong accessClock;
+	
+	/**
+	 * Number of lookups that found an entry
+	 */
+	private final LongAdder hitCounter;
+	
+	/**
+	 * Number of lookups that did not find an entry
+	 */
+	private final LongAdder missCounter;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Constructor with a custom capacity.
+	 *
+	 * @param maxEntries Maximum number of entries
+	 */
+	public ArtifactMemoryCache(int maxEntries) {
+		if (maxEntries <= 0) throw new IllegalArgumentException("The cache capacity must be greater than zero");
+		
+		entries = new ConcurrentHashMap<>();
+		capacity = maxEntries;
+		accessClock = new AtomicLong();
+		hitCounter = new LongAdder();
+		missCounter = new LongAdder();
+	}
+	
+	/**
+	 * Constructor with the default capacity.
+	 */
+	public ArtifactMemoryCache() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Search for an entry inside the cache.
+	 *
+	 * @param key The key of the resolution
+	 * @return The cached artifact or {@link Optional#empty()} if the entry does not exist
+	 */
+	public @NotNull Optional<MavenArtifactCache> find(@NotNull ArtifactCacheKey key) {
+		CacheEntry entry = entries.get(key);
+		
+		// Register the lookup result
+		if (entry == null) {
+			missCounter.increment();
+			return Optional.empty();
+		}
+		
+		hitCounter.increment();
+		entry.lastAccess = accessClock.incrementAndGet();
+		return Optional.of(entry.item);
+	}
+	
+	/**
+	 * Saves a new resolution inside the cache. If the cache is full, the least
+	 * recently used entry is removed.
+	 *
+	 * @param key  The key of the resolution
+	 * @param item The resolved artifact
+	 */
+	public void store(@NotNull ArtifactCacheKey key, @NotNull MavenArtifactCache item) {
+		entries.put(key, new CacheEntry(item, accessClock.incrementAndGet()));
+		
+		// Remove the old entries
+		while (entries.size() > capacity) {
+			evictLeastRecentlyUsed();
+		}
+	}
+	
+	/**
+	 * Removes all entries of the cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+	
+	/**
+	 * Gets the current number of entries
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * Gets the number of lookups that found an entry
+	 *
+	 * @return The number of cache hits
+	 */
+	public long hitCount() {
+		return hitCounter.sum();
+	}
+	
+	/**
+	 * Gets the number of lookups that did not find an entry
+	 *
+	 * @return The number of cache misses
+	 */
+	public long missCount() {
+		return missCounter.sum();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Removes the entry with the oldest access. The cache is small, so a linear search
+	 * is only done when an entry must be removed and never during the lookups.
+	 */
+	private void evictLeastRecentlyUsed() {
+		ArtifactCacheKey oldestKey = null;
+		long oldestAccess = Long.MAX_VALUE;
+		
+		for (Map.Entry<ArtifactCacheKey, CacheEntry> entry : entries.entrySet()) {
+			long access = entry.getValue().lastAccess;
+			if (access < oldestAccess) {
+				oldestAccess = access;
+				oldestKey = entry.getKey();
+			}
+		}
+		
+		if (oldestKey != null) entries.remove(oldestKey);
+	}
+	
+	/**
+	 * Internal class with the cached artifact and its last access.
+	 */
+	private static final class CacheEntry {
+		
+		/**
+		 * The resolved artifact
+		 */
+		private final MavenArtifactCache item;
+		
+		/**
+		 * Logical time of the last access
+		 */
+		private volatile long lastAccess;
+		
+		/**
+		 * Default entry constructor
+		 *
+		 * @param artifact The resolved artifact
+		 * @param access   Logical time of the creation
+		 */
+		private CacheEntry(@NotNull MavenArtifactCache artifact, long access) {
+			item = artifact;
+			lastAccess = access;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,322 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of resolved artifacts that lives as long as the Gradle daemon.
+ * <p>
+ * The instances are stored in a static field, so the same cache is used by all the builds executed
+ * by the daemon while the plugin classes are not reloaded. The cache follows the stale-while-revalidate
+ * strategy: an entry older than the freshness window is still returned immediately, and a single
+ * background resolution replaces it, so the refreshed value is used from the next lookup on. Entries older
+ * than the maximum age are never used, so a failed refresh cannot keep an old version forever.
+ */
+public final class DaemonArtifactCache {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Maximum number of entries of every cache
+	 */
+	public static final int DEFAULT_CAPACITY = ArtifactMemoryCache.DEFAULT_CAPACITY;
+	
+	/**
+	 * Default maximum age of the entries
+	 */
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(24);
+	
+	/**
+	 * All the caches of the daemon indexed by scope
+	 */
+	private static final Map<String, DaemonArtifactCache> INSTANCES = new ConcurrentHashMap<>();
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Map with all the cache entries
+	 */
+	private final Map<ArtifactCacheKey, CacheEntry> entries;
+	
+	/**
+	 * Maximum number of entries
+	 */
+	private final int capacity;
+	
+	/**
+	 * Number of lookups that found a fresh entry
+	 */
+	private final LongAdder hitCounter;
+	
+	/**
+	 * Number of lookups that found a stale entry
+	 */
+	private final LongAdder staleCounter;
+	
+	/**
+	 * Number of lookups that did not find an entry
+	 */
+	private final LongAdder missCounter;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Constructor with a custom capacity. The shared instances are obtained
+	 * with {@link #shared(String)}.
+	 *
+	 * @param maxEntries Maximum number of entries
+	 */
+	DaemonArtifactCache(int maxEntries) {
+		if (maxEntries <= 0) throw new IllegalArgumentException("The cache capacity must be greater than zero");
+		
+		entries = new ConcurrentHashMap<>();
+		capacity = maxEntries;
+		hitCounter = new LongAdder();
+		staleCounter = new LongAdder();
+		missCounter = new LongAdder();
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the cache of the daemon for a scope. The scope identifies the origin of the
+	 * resolutions (for example the repositories), so builds with different origins never
+	 * share the entries.
+	 *
+	 * @param scope The scope of the resolutions
+	 * @return The cache shared by all the builds with the same scope
+	 */
+	public static @NotNull DaemonArtifactCache shared(@NotNull String scope) {
+		return INSTANCES.computeIfAbsent(scope, key -> new DaemonArtifactCache(DEFAULT_CAPACITY));
+	}
+	
+	/**
+	 * Resolves an artifact using the cached entry when it exists, with the default maximum age
+	 * ({@link #DEFAULT_MAX_AGE}).
+	 *
+	 * @param key        The key of the resolution
+	 * @param freshness  The time during which an entry is considered fresh
+	 * @param resolution The action that resolves the artifact
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 * @see #resolve(ArtifactCacheKey, Duration, Duration, Supplier)
+	 */
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolve(@NotNull ArtifactCacheKey key,
+		@NotNull Duration freshness, @NotNull Supplier<CompletableFuture<Optional<IArtifactResponse>>> resolution) {
+		return resolve(key, freshness, DEFAULT_MAX_AGE, resolution);
+	}
+	
+	/**
+	 * Resolves an artifact using the cached entry when it exists. The stale entries are refreshed
+	 * with the same action that resolves the missing entries.
+	 *
+	 * @param key        The key of the resolution
+	 * @param freshness  The time during which an entry is considered fresh
+	 * @param maxAge     The time after which an entry is never used
+	 * @param resolution The action that resolves the artifact
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 * @see #resolve(ArtifactCacheKey, Duration, Duration, Supplier, Supplier)
+	 */
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolve(@NotNull ArtifactCacheKey key,
+		@NotNull Duration freshness, @NotNull Duration maxAge,
+		@NotNull Supplier<CompletableFuture<Optional<IArtifactResponse>>> resolution) {
+		return resolve(key, freshness, maxAge, resolution, resolution);
+	}
+	
+	/**
+	 * Resolves an artifact using the cached entry when it exists. Fresh entries are returned directly;
+	 * stale entries are also returned directly, but a background refresh is started to replace them.
+	 * Entries older than the maximum age are removed. The resolution only blocks the caller when the
+	 * artifact is not cached (or its entry expired).
+	 * <p>
+	 * The refresh action must not answer with the caches (or the local repositories) used by the resolution,
+	 * otherwise it would always return the version that is already cached.
+	 *
+	 * @param key        The key of the resolution
+	 * @param freshness  The time during which an entry is considered fresh
+	 * @param maxAge     The time after which an entry is never used
+	 * @param resolution The action that resolves the missing artifacts
+	 * @param refresh    The action that resolves the current version of the stale artifacts
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolve(@NotNull ArtifactCacheKey key,
+		@NotNull Duration freshness, @NotNull Duration maxAge,
+		@NotNull Supplier<CompletableFuture<Optional<IArtifactResponse>>> resolution,
+		@NotNull Supplier<CompletableFuture<Optional<IArtifactResponse>>> refresh) {
+		CacheEntry entry = entries.get(key);
+		
+		// Expired entries are removed, even if a refresh is still pending
+		if (entry != null && entry.age().compareTo(maxAge) >= 0) {
+			entries.remove(key, entry);
+			entry = null;
+		}
+		
+		// The artifact is not cached, so the caller must wait
+		if (entry == null) {
+			missCounter.increment();
+			return resolution.get()
+				.thenApply(response -> {
+					response.ifPresent(artifact -> store(key, artifact));
+					return response;
+				});
+		}
+		
+		if (entry.age().compareTo(freshness) < 0) {
+			hitCounter.increment();
+		} else {
+			staleCounter.increment();
+			// Only one refresh is started for every entry
+			if (entry.refreshing.compareAndSet(false, true)) refresh(key, entry, refresh);
+		}
+		return CompletableFuture.completedFuture(Optional.of(entry.item));
+	}
+	
+	/**
+	 * Removes all entries of the cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+	
+	/**
+	 * Gets the current number of entries
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * Gets the number of lookups that found a fresh entry
+	 *
+	 * @return The number of cache hits
+	 */
+	public long hitCount() {
+		return hitCounter.sum();
+	}
+	
+	/**
+	 * Gets the number of lookups that found a stale entry (and started a refresh)
+	 *
+	 * @return The number of stale hits
+	 */
+	public long staleCount() {
+		return staleCounter.sum();
+	}
+	
+	/**
+	 * Gets the number of lookups that did not find an entry
+	 *
+	 * @return The number of cache misses
+	 */
+	public long missCount() {
+		return missCounter.sum();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Replaces a stale entry in the background. If the resolution fails, the stale
+	 * entry is kept and the next lookup tries again.
+	 *
+	 * @param key     The key of the resolution
+	 * @param entry   The stale entry
+	 * @param refresh The action that resolves the current version of the artifact
+	 */
+	private void refresh(@NotNull ArtifactCacheKey key, @NotNull CacheEntry entry,
+		@NotNull Supplier<CompletableFuture<Optional<IArtifactResponse>>> refresh) {
+		CompletableFuture<Optional<IArtifactResponse>> request;
+		try {
+			request = refresh.get();
+		} catch (Exception e) {
+			request = CompletableFuture.failedFuture(e);
+		}
+		
+		request.whenComplete((response, error) -> {
+			if (error == null && response.isPresent()) {
+				store(key, response.get());
+			} else {
+				entry.refreshing.set(false);
+			}
+		});
+	}
+	
+	/**
+	 * Saves a new resolution inside the cache. If the cache is full, the oldest entry is removed.
+	 *
+	 * @param key  The key of the resolution
+	 * @param item The resolved artifact
+	 */
+	private void store(@NotNull ArtifactCacheKey key, @NotNull IArtifactResponse item) {
+		entries.put(key, new CacheEntry(item));
+		
+		// Remove the old entries
+		while (entries.size() > capacity) {
+			entries.entrySet().stream()
+				.min((first, second) -> Long.compare(first.getValue().createdAt, second.getValue().createdAt))
+				.ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+		}
+	}
+	
+	/**
+	 * Internal class with the cached artifact and its creation time.
+	 */
+	private static final class CacheEntry {
+		
+		/**
+		 * The resolved artifact
+		 */
+		private final IArtifactResponse item;
+		
+		/**
+		 * Creation time of the entry ({@link System#nanoTime()})
+		 */
+		private final long createdAt;
+		
+		/**
+		 * Determines if a background resolution is already replacing the entry
+		 */
+		private final AtomicBoolean refreshing;
+		
+		/**
+		 * Default entry constructor
+		 *
+		 * @param artifact The resolved artifact
+		 */
+		private CacheEntry(@NotNull IArtifactResponse artifact) {
+			item = artifact;
+			createdAt = System.nanoTime();
+			refreshing = new AtomicBoolean();
+		}
+		
+		/**
+		 * Gets the time elapsed since the entry was created
+		 *
+		 * @return The age of the entry
+		 */
+		private @NotNull Duration age() {
+			return Duration.ofNanos(System.nanoTime() - createdAt);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,343 @@
+package uoxx3.cjfx.internal.resolver.local;
+
+import com.google.gson.Gson;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import uoxx3.cjfx.internal.resolver.BaseDependencyResolver;
+import uoxx3.cjfx.internal.resolver.maven.MavenMetadataReader;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.resolver.version.VersionIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Class used to resolve dependencies on artifacts that are already downloaded on the current machine.
+ * <p>
+ * The resolver inspects the Maven local repository ({@code maven-metadata-local.xml} and the version
+ * directories) and the module cache of Gradle ({@code caches/modules-2/files-2.1}). Only the versions
+ * whose files are present on disk are taken into account, so the resolution is a directory listing
+ * and never needs network access.
+ */
+public class LocalRepositoryDependencyResolver extends BaseDependencyResolver {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the metadata file that Maven generates inside the local repository
+	 */
+	private static final String LOCAL_METADATA_FILE = "maven-metadata-local.xml";
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Location of the Maven local repository or {@code null} if it is not inspected
+	 */
+	private final @Nullable Path mavenRepository;
+	
+	/**
+	 * Location of the Gradle module cache or {@code null} if it is not inspected
+	 */
+	private final @Nullable Path gradleModuleCache;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor with the necessary instances.
+	 *
+	 * @param client        HTTP client instance
+	 * @param gson          Gson instance
+	 * @param mavenLocal    Location of the Maven local repository or {@code null} if it is not inspected
+	 * @param gradleModules Location of the Gradle module cache or {@code null} if it is not inspected
+	 */
+	public LocalRepositoryDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson,
+		@Nullable Path mavenLocal, @Nullable Path gradleModules) {
+		super(client, gson);
+		// Initialize properties
+		mavenRepository = mavenLocal;
+		gradleModuleCache = gradleModules;
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the default location of the Maven local repository. The {@code maven.repo.local} system
+	 * property is used if it is defined.
+	 *
+	 * @return The location of the Maven local repository
+	 */
+	public static @NotNull Path defaultMavenRepository() {
+		String customRepository = System.getProperty("maven.repo.local");
+		if (customRepository != null && !customRepository.isBlank()) return Path.of(customRepository);
+		
+		return Path.of(System.getProperty("user.home"), ".m2", "repository");
+	}
+	
+	/**
+	 * Gets the location of the module cache inside the Gradle user home.
+	 *
+	 * @param gradleUserHome The Gradle user home directory
+	 * @return The location of the Gradle module cache
+	 */
+	public static @NotNull Path gradleModuleCache(@NotNull Path gradleUserHome) {
+		return gradleUserHome.resolve("caches").resolve("modules-2").resolve("files-2.1");
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact is not
+	 * 	present on disk.
+	 */
+	@Override
+	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version, @NotNull String classifier) {
+		try {
+			// Specific versions only need to be present on disk
+			if (!isSpecialCase(version)) {
+				return isPresent(group, artifact, version.trim(), classifier) ?
+					   Optional.of(MavenArtifactResponse.of(group, artifact, version.trim(), classifier)) :
+					   Optional.empty();
+			}
+			
+			// Select the newest version that satisfies the special case
+			String specialCase = extractCase(version);
+			Predicate<String> versionFilter = specialCaseFilter(specialCase);
+			Optional<String> versionFound = new VersionIndex(findVersions(group, artifact))
+				.newest(versionFilter.and(item -> isPresent(group, artifact, item, classifier)));
+			if (versionFound.isEmpty()) return Optional.empty();
+			
+			System.out.printf("> cjfx-version-resolved: %s -> %s (local repository)%n",
+							  specialCase,
+							  versionFound.get());
+			return Optional.of(MavenArtifactResponse.of(group, artifact, versionFound.get(), classifier));
+		} catch (Exception e) {
+			System.err.printf("Error inspecting local repositories: %s%n", e.getMessage());
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact is not
+	 * 	present on disk.
+	 */
+	@Override
+	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version) {
+		return resolveArtifact(group, artifact, version, "");
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided. Reading the local directories is
+	 * fast enough to be done on the current thread, so the returned future is always completed.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return A completed future with the artifact information or {@link Optional#empty()} if the artifact is not
+	 * 	present on disk.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version, @NotNull String classifier) {
+		return CompletableFuture.completedFuture(resolveArtifact(group, artifact, version, classifier));
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided. Reading the local directories is
+	 * fast enough to be done on the current thread, so the returned future is always completed.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return A completed future with the artifact information or {@link Optional#empty()} if the artifact is not
+	 * 	present on disk.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version) {
+		return CompletableFuture.completedFuture(resolveArtifact(group, artifact, version));
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Collects all the versions of the artifact known by the local repositories.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @return All the versions found without duplicates
+	 */
+	private @NotNull Set<String> findVersions(@NotNull String group, @NotNull String artifact) {
+		Set<String> versions = new LinkedHashSet<>();
+		
+		// Maven local repository
+		Path mavenDirectory = mavenArtifactDirectory(group, artifact);
+		if (mavenDirectory != null) {
+			versions.addAll(readLocalMetadata(mavenDirectory.resolve(LOCAL_METADATA_FILE)));
+			versions.addAll(listDirectories(mavenDirectory));
+		}
+		
+		// Gradle module cache
+		Path gradleDirectory = gradleArtifactDirectory(group, artifact);
+		if (gradleDirectory != null) versions.addAll(listDirectories(gradleDirectory));
+		
+		return versions;
+	}
+	
+	/**
+	 * Checks if the artifact file of a specific version is present in any local repository.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The specific version of the artifact
+	 * @param classifier The artifact classifier or empty text if the artifact has no classifier
+	 * @return {@code true} if the artifact file exists or {@code false} otherwise
+	 */
+	private boolean isPresent(@NotNull String group, @NotNull String artifact, @NotNull String version,
+		@NotNull String classifier) {
+		Collection<String> fileNames = artifactFileNames(artifact, version, classifier);
+		
+		// Maven local repository
+		Path mavenDirectory = mavenArtifactDirectory(group, artifact);
+		if (mavenDirectory != null && containsAny(mavenDirectory.resolve(version), fileNames)) return true;
+		
+		// Gradle module cache (every file is saved inside a directory named with its checksum)
+		Path gradleDirectory = gradleArtifactDirectory(group, artifact);
+		if (gradleDirectory == null) return false;
+		
+		return listDirectories(gradleDirectory.resolve(version)).stream()
+			.anyMatch(checksum -> containsAny(gradleDirectory.resolve(version).resolve(checksum), fileNames));
+	}
+	
+	/**
+	 * Generates the names of the files that prove the existence of the artifact. Artifacts without
+	 * classifier can be represented only by their descriptor.
+	 *
+	 * @param artifact   The name of the artifact
+	 * @param version    The specific version of the artifact
+	 * @param classifier The artifact classifier or empty text if the artifact has no classifier
+	 * @return The valid file names
+	 */
+	private @NotNull Collection<String> artifactFileNames(@NotNull String artifact, @NotNull String version,
+		@NotNull String classifier) {
+		String baseName = String.join("-", artifact, version);
+		if (!classifier.isBlank()) return List.of(String.format("%s-%s.jar", baseName, classifier.trim()));
+		
+		return List.of(baseName + ".jar", baseName + ".pom");
+	}
+	
+	/**
+	 * Gets the directory of the artifact inside the Maven local repository.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @return The artifact directory or {@code null} if the directory does not exist
+	 */
+	private @Nullable Path mavenArtifactDirectory(@NotNull String group, @NotNull String artifact) {
+		if (mavenRepository == null) return null;
+		
+		Path directory = mavenRepository.resolve(group.trim().replace('.', '/')).resolve(artifact.trim());
+		return Files.isDirectory(directory) ? directory : null;
+	}
+	
+	/**
+	 * Gets the directory of the artifact inside the Gradle module cache.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @return The artifact directory or {@code null} if the directory does not exist
+	 */
+	private @Nullable Path gradleArtifactDirectory(@NotNull String group, @NotNull String artifact) {
+		if (gradleModuleCache == null) return null;
+		
+		Path directory = gradleModuleCache.resolve(group.trim()).resolve(artifact.trim());
+		return Files.isDirectory(directory) ? directory : null;
+	}
+	
+	/**
+	 * Reads the versions declared inside a local metadata file.
+	 *
+	 * @param metadataFile The location of the metadata file
+	 * @return The declared versions or an empty list if the file does not exist or is invalid
+	 */
+	private @NotNull List<String> readLocalMetadata(@NotNull Path metadataFile) {
+		if (!Files.isRegularFile(metadataFile)) return List.of();
+		
+		try (InputStream input = Files.newInputStream(metadataFile)) {
+			return MavenMetadataReader.readVersions(input);
+		} catch (Exception e) {
+			System.err.printf("Error reading %s: %s%n", metadataFile, e.getMessage());
+		}
+		return List.of();
+	}
+	
+	/**
+	 * Lists the names of the subdirectories of a directory.
+	 *
+	 * @param directory The directory to list
+	 * @return The names of the subdirectories or an empty list if the directory does not exist
+	 */
+	private @NotNull List<String> listDirectories(@NotNull Path directory) {
+		if (!Files.isDirectory(directory)) return List.of();
+		
+		try (Stream<Path> children = Files.list(directory)) {
+			return children
+				.filter(Files::isDirectory)
+				.map(child -> child.getFileName().toString())
+				.collect(Collectors.toCollection(ArrayList::new));
+		} catch (IOException e) {
+			return List.of();
+		}
+	}
+	
+	/**
+	 * Checks if a directory contains any of the given files.
+	 *
+	 * @param directory The directory to check
+	 * @param fileNames The names of the files
+	 * @return {@code true} if at least one file exists or {@code false} otherwise
+	 */
+	private boolean containsAny(@NotNull Path directory, @NotNull Collection<String> fileNames) {
+		return fileNames.stream().anyMatch(fileName -> Files.isRegularFile(directory.resolve(fileName)));
+	}
+	
+}
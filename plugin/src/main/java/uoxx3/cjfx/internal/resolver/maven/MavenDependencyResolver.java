@@ -2,12 +2,15 @@ package uoxx3.cjfx.internal.resolver.maven;
 
 import com.google.gson.Gson;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import uoxx3.cjfx.internal.resolver.BaseDependencyResolver;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactCacheKey;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactMemoryCache;
 import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
-import uoxx3.cjfx.internal.resolver.maven.content.MavenResponse;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
 import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
-import uoxx3.cjfx.internal.resolver.response.IResolverResponse;
-import ushiosan.jvm.collections.USet;
+import uoxx3.cjfx.internal.resolver.version.VersionIndex;
 import ushiosan.jvm.content.UPair;
 import ushiosan.jvm.http.UHttpRequest;
 import ushiosan.jvm.http.UHttpResponse;
@@ -16,24 +19,30 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.ref.SoftReference;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.Arrays;
-import java.util.Iterator;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Interface used to resolve dependencies on artifacts required by the user.
+ * Class used to resolve dependencies on artifacts through the Maven-Central search API.
  * <p>
- * Artifact resolution must be synchronous because Gradle natively does not work with
- * asynchronous elements, and it does not make sense to implement it at the moment.
- * To solve this type of problem, it is necessary to implement an internal cache so as not to make requests
- * every time you want to resolve a dependency.
+ * The requests are made asynchronously and the synchronous methods only wait for the result.
+ * To avoid making requests every time you want to resolve a dependency, the resolutions are saved
+ * inside an internal cache and the requests that are still in progress are shared.
+ * <p>
+ * The special cases are not answered with the first page of the search. All the pages are requested
+ * once to build a {@link VersionIndex} of the artifact, and every special case is selected from that
+ * index, so the result does not depend on the order of the server.
  */
 public class MavenDependencyResolver extends BaseDependencyResolver {
 	
@@ -45,7 +54,23 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	 * URL where all HTTP requests will be made
 	 */
 	private static final String MAVEN_API_URL =
-		"https://search.maven.org/solrsearch/select?q=%s+&core=gav&rows=10&wt=json";
+		"https://search.maven.org/solrsearch/select?q=%s+&core=gav&wt=json";
+	
+	/**
+	 * Query format for the page of results within the API
+	 */
+	private static final String PAGE_QUERY = "&rows=%d&start=%d";
+	
+	/**
+	 * Maximum number of documents of every page (the API does not allow bigger pages)
+	 */
+	private static final int PAGE_SIZE = 200;
+	
+	/**
+	 * Maximum number of versions inside an index. This only protects the resolver from
+	 * queries that match far more documents than a single artifact can have.
+	 */
+	private static final int MAX_INDEX_SIZE = 5000;
 	
 	/**
 	 * Query format for group specification within the API
@@ -80,7 +105,29 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	/**
 	 * Collection with in-memory cache of already resolved artifacts.
 	 */
-	private final Set<SoftReference<MavenArtifactCache>> artifactMemoryCache;
+	private final ArtifactMemoryCache artifactMemoryCache;
+	
+	/**
+	 * Requests that are being resolved at this moment, indexed by the request key.
+	 */
+	private final Map<ArtifactCacheKey, CompletableFuture<Optional<IArtifactResponse>>> pendingRequests;
+	
+	/**
+	 * Version indexes of the artifacts (already downloaded or in progress), indexed by the request
+	 * key without version.
+	 */
+	private final Map<ArtifactCacheKey, CompletableFuture<VersionIndex>> versionIndexes;
+	
+	/**
+	 * Persistent cache shared between builds or {@code null} if the persistent cache is not used.
+	 */
+	private final @Nullable ArtifactDiskCache artifactDiskCache;
+	
+	/**
+	 * Determines if the network cannot be used. In this mode the artifacts are only
+	 * resolved with the previous resolutions saved in the caches.
+	 */
+	private final boolean offline;
 	
 	/* -----------------------------------------------------
 	 * Constructor
@@ -89,13 +136,31 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	/**
 	 * Default constructor with the necessary instances.
 	 *
+	 * @param client    HTTP client instance
+	 * @param gson      Gson instance
+	 * @param timeout   Maximum time that a single request can take
+	 * @param diskCache Persistent cache instance or {@code null} if the persistent cache is not used
+	 * @param offline   Determines if the network cannot be used
+	 */
+	public MavenDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson, @NotNull Duration timeout,
+		@Nullable ArtifactDiskCache diskCache, boolean offline) {
+		super(client, gson, timeout);
+		// Initialize properties
+		artifactMemoryCache = new ArtifactMemoryCache();
+		artifactDiskCache = diskCache;
+		pendingRequests = new ConcurrentHashMap<>();
+		versionIndexes = new ConcurrentHashMap<>();
+		this.offline = offline;
+	}
+	
+	/**
+	 * Constructor without persistent cache.
+	 *
 	 * @param client HTTP client instance
 	 * @param gson   Gson instance
 	 */
 	public MavenDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson) {
-		super(client, gson);
-		// Initialize properties
-		artifactMemoryCache = USet.makeMutable();
+		this(client, gson, DEFAULT_REQUEST_TIMEOUT, null, false);
 	}
 	
 	/* -----------------------------------------------------
@@ -114,47 +179,103 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	 */
 	@Override
 	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version, @NotNull String classifier) {
+		return resolveArtifactAsync(group, artifact, version, classifier).join();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version) {
+		return resolveArtifactAsync(group, artifact, version).join();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group, @NotNull String artifact,
 		@NotNull String version, @NotNull String classifier) {
 		// Check if the version already exists in the cache
 		boolean isSpecialCase = isSpecialCase(version);
-		UPair<Boolean, IArtifactResponse> cacheFound = isInCache(isSpecialCase ? extractCase(version) : version);
-		if (cacheFound.first) return Optional.ofNullable(cacheFound.second);
+		ArtifactCacheKey cacheKey = new ArtifactCacheKey(group, artifact, version, classifier);
+		Optional<IArtifactResponse> cacheFound = findInCache(cacheKey, isSpecialCase);
+		if (cacheFound.isPresent()) return CompletableFuture.completedFuture(cacheFound);
+		if (offline) return CompletableFuture.completedFuture(findInOfflineCache(cacheKey, isSpecialCase));
+		
+		// Special cases are answered with the version index of the artifact
+		if (isSpecialCase) {
+			String indexQuery = String.format(generateQuery(CLASSIFIER_QUERY), group, artifact, classifier);
+			return resolveFromIndex(indexQuery, cacheKey);
+		}
 		
 		// Generate query url
-		String format = isSpecialCase ?
-						generateQuery(CLASSIFIER_QUERY) :
-						generateQuery(VERSION_QUERY, CLASSIFIER_QUERY);
-		String mavenQuery = isSpecialCase ?
-							String.format(format, group, artifact, version, classifier) :
-							String.format(format, group, artifact, classifier);
-		return resolveArtifactImpl(mavenQuery, extractCase(version));
+		String mavenQuery = String.format(generateQuery(VERSION_QUERY, CLASSIFIER_QUERY),
+										  group, artifact, version, classifier);
+		return resolveArtifactImpl(mavenQuery, cacheKey);
 	}
 	
 	/**
-	 * Resolves the required artifact depending on the options provided.
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
 	 *
 	 * @param group    The group that is in charge of providing the artifact
 	 * @param artifact The name of the artifact
 	 * @param version  The version of the artifact. Normally this is a special case, but it can also
 	 *                 be a specific version.
-	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
 	 */
 	@Override
-	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group, @NotNull String artifact,
 		@NotNull String version) {
 		// Check if the version already exists in the cache
 		boolean isSpecialCase = isSpecialCase(version);
-		UPair<Boolean, IArtifactResponse> cacheFound = isInCache(isSpecialCase ? extractCase(version) : version);
-		if (cacheFound.first) return Optional.ofNullable(cacheFound.second);
+		ArtifactCacheKey cacheKey = new ArtifactCacheKey(group, artifact, version);
+		Optional<IArtifactResponse> cacheFound = findInCache(cacheKey, isSpecialCase);
+		if (cacheFound.isPresent()) return CompletableFuture.completedFuture(cacheFound);
+		if (offline) return CompletableFuture.completedFuture(findInOfflineCache(cacheKey, isSpecialCase));
+		
+		// Special cases are answered with the version index of the artifact
+		if (isSpecialCase) {
+			String indexQuery = String.format(generateQuery(), group, artifact);
+			return resolveFromIndex(indexQuery, cacheKey);
+		}
 		
 		// Generate query url
-		String format = isSpecialCase ?
-						generateQuery() :
-						generateQuery(VERSION_QUERY);
-		String mavenQuery = isSpecialCase ?
-							String.format(format, group, artifact) :
-							String.format(format, group, artifact, version);
-		return resolveArtifactImpl(mavenQuery, extractCase(version));
+		String mavenQuery = String.format(generateQuery(VERSION_QUERY), group, artifact, version);
+		return resolveArtifactImpl(mavenQuery, cacheKey);
+	}
+	
+	/**
+	 * Determines if the resolver works without network access
+	 *
+	 * @return {@code true} if the resolver is offline or {@code false} otherwise
+	 */
+	public boolean isOffline() {
+		return offline;
+	}
+	
+	/**
+	 * Gets the in-memory cache of the resolver
+	 *
+	 * @return The in-memory cache with its hit and miss counters
+	 */
+	public @NotNull ArtifactMemoryCache memoryCache() {
+		return artifactMemoryCache;
 	}
 	
 	/* -----------------------------------------------------
@@ -162,79 +283,73 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Resolves the required artifact depending on the options provided.
+	 * Resolves a specific version of the artifact. If the same artifact is already being resolved,
+	 * the pending request is reused instead of making a new one.
 	 *
-	 * @param query       The complete query of the HTTP request
-	 * @param specialCase The name of the special case or empty text if no such special case exists.
-	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 * @param query    The complete query of the HTTP request
+	 * @param cacheKey The key used to save the resolution inside the caches
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactImpl(@NotNull String query,
+		@NotNull ArtifactCacheKey cacheKey) {
+		// Check if the artifact is already being resolved. Every caller receives its own copy
+		// of the request, so cancelling it does not affect the other callers.
+		CompletableFuture<Optional<IArtifactResponse>> request = new CompletableFuture<>();
+		CompletableFuture<Optional<IArtifactResponse>> pending = pendingRequests.putIfAbsent(cacheKey, request);
+		if (pending != null) return pending.copy();
+		
+		// Make the request and release the pending slot when it is completed
+		requestArtifactAsync(query)
+			.whenComplete((result, error) -> {
+				pendingRequests.remove(cacheKey, request);
+				if (error != null) {
+					request.completeExceptionally(error);
+				} else {
+					request.complete(result);
+				}
+			});
+		return request.copy();
+	}
+	
+	/**
+	 * Makes the HTTP request to the Maven API without blocking the current thread.
+	 *
+	 * @param query The complete query of the HTTP request
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
 	 */
-	private @NotNull Optional<IArtifactResponse> resolveArtifactImpl(@NotNull String query, @NotNull String specialCase) {
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> requestArtifactAsync(@NotNull String query) {
 		try {
 			// Generate request instance
 			HttpRequest mavenRequest = UHttpRequest.makeRequest(query)
+				.timeout(requestTimeout())
 				.GET()
 				.build();
-			HttpResponse<InputStream> mavenResponse = httpClient()
-				.send(mavenRequest, HttpResponse.BodyHandlers.ofInputStream());
-			
-			// Check if response is valid
-			Optional<UPair<Integer, String>> responseErrorOpt = UHttpResponse.detectError(mavenResponse);
-			if (responseErrorOpt.isPresent()) {
-				throw new IOException(String.format("%d - %s", responseErrorOpt.get().first,
-													responseErrorOpt.get().second));
-			}
-			
-			// Parse http request to a valid json information
-			IResolverResponse response;
-			try (Reader responseReader = new InputStreamReader(mavenResponse.body())) {
-				response = gsonClient().fromJson(responseReader, MavenResponse.class);
-			}
-			
-			// Check if any artifact found
-			if (!response.hasArtifacts()) throw new IOException("No artifacts found");
-			Optional<IArtifactResponse> artifactFound;
 			
-			// If the special case is not defined
-			if (specialCase.isBlank()) return Arrays.stream(response.artifacts()).findFirst();
-			
-			// Check every special case
-			switch (specialCase.trim()) {
-				case "latest":
-					Pattern latestPattern = Pattern.compile("^(\\d+\\.)*(\\*|\\d+)$");
-					artifactFound = Arrays.stream(response.artifacts())
-						.filter(artifact -> {
-							Matcher matcher = latestPattern.matcher(artifact.version());
-							return matcher.find();
-						}).findFirst();
-					break;
-				case "early":
-					Pattern earlyPattern = Pattern.compile("^(\\d+\\.)*(\\d+-ea\\+\\d+)$");
-					artifactFound = Arrays.stream(response.artifacts())
-						.filter(artifact -> {
-							Matcher matcher = earlyPattern.matcher(artifact.version());
-							return matcher.find();
-						}).findFirst();
-					break;
-				default:
-					Pattern customPattern = Pattern.compile(specialCase);
-					artifactFound = Arrays.stream(response.artifacts())
-						.filter(artifact -> {
-							Matcher matcher = customPattern.matcher(artifact.version());
-							return matcher.find();
-						}).findFirst();
-					break;
-			}
-			// Check if artifact found
-			if (artifactFound.isEmpty()) return Optional.empty();
-			MavenArtifactCache cacheItem = new MavenArtifactCache(artifactFound.get(), specialCase);
-			
-			// Insert the element in the cache
-			artifactMemoryCache.add(new SoftReference<>(cacheItem));
-			System.out.printf("> cjfx-version-resolved: %s -> %s%n",
-							  cacheItem.specialVersion(),
-							  cacheItem.version());
+			return httpClient()
+				.sendAsync(mavenRequest, HttpResponse.BodyHandlers.ofInputStream())
+				.thenApply(this::processResponse)
+				.exceptionally(error -> {
+					System.err.printf("Error in http request: %s%n", error.getMessage());
+					return Optional.empty();
+				});
+		} catch (Exception e) {
+			System.err.printf("Error in http request: %s%n", e.getMessage());
+		}
+		return CompletableFuture.completedFuture(Optional.empty());
+	}
+	
+	/**
+	 * Processes the response of the Maven API and selects the first artifact.
+	 *
+	 * @param mavenResponse The HTTP response of the Maven API
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	private @NotNull Optional<IArtifactResponse> processResponse(@NotNull HttpResponse<InputStream> mavenResponse) {
+		try (Reader responseReader = new InputStreamReader(mavenResponse.body(), StandardCharsets.UTF_8)) {
+			checkResponse(mavenResponse);
 			
-			return artifactFound;
+			// Only the first document is read
+			return MavenSearchReader.findFirst(responseReader, version -> true);
 		} catch (Exception e) {
 			System.err.printf("Error in http request: %s%n", e.getMessage());
 		}
@@ -242,35 +357,175 @@ public class MavenDependencyResolver extends BaseDependencyResolver {
 	}
 	
 	/**
-	 * Determines if the special case of the version is found within the cache.
+	 * Resolves a special case with the version index of the artifact. The index is only
+	 * built once, so the next special cases of the same artifact do not make new requests.
 	 *
-	 * @param version Version with special case
-	 * @return Returns a pair of values where the first determines whether the version is found in
-	 * 	cache and the second determines the object found in cache.
-	 * 	If the first element is {@code false} then the second is automatically {@code null}.
-	 */
-	private @NotNull UPair<Boolean, IArtifactResponse> isInCache(@NotNull String version) {
-		// Generate set iterator
-		Iterator<SoftReference<MavenArtifactCache>> iterator = artifactMemoryCache.iterator();
+	 * @param query    The complete query of the HTTP request (without page)
+	 * @param cacheKey The key used to save the resolution inside the caches
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	private @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveFromIndex(@NotNull String query,
+		@NotNull ArtifactCacheKey cacheKey) {
+		return requestIndexAsync(query, new ArtifactCacheKey(cacheKey.group(), cacheKey.artifact(), "",
+															 cacheKey.classifier()))
+			.thenApply(index -> selectVersion(index, cacheKey))
+			.exceptionally(error -> {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+								  error.getCause() : error;
+				System.err.printf("Error in http request: %s%n", cause.getMessage());
+				return Optional.empty();
+			});
+	}
+	
+	/**
+	 * Gets the version index of the artifact. The requests that are still in progress are shared
+	 * and failed requests are discarded, so they can be retried.
+	 *
+	 * @param query    The complete query of the HTTP request (without page)
+	 * @param indexKey The key of the index
+	 * @return A future with the version index of the artifact
+	 */
+	private @NotNull CompletableFuture<VersionIndex> requestIndexAsync(@NotNull String query,
+		@NotNull ArtifactCacheKey indexKey) {
+		CompletableFuture<VersionIndex> request = new CompletableFuture<>();
+		CompletableFuture<VersionIndex> existing = versionIndexes.putIfAbsent(indexKey, request);
+		if (existing != null) return existing.copy();
 		
-		// Iterate all elements
-		while (iterator.hasNext()) {
-			SoftReference<MavenArtifactCache> reference = iterator.next();
-			MavenArtifactCache cacheItem = reference.get();
-			
-			// Delete all invalid elements
-			if (cacheItem == null) {
-				iterator.remove();
-				continue;
-			}
-			
-			// Check if the version exists
-			if (cacheItem.specialVersion().equals(version)) {
-				return UPair.make(true, cacheItem);
-			}
+		requestPagesAsync(query, 0, new ArrayList<>())
+			.whenComplete((versions, error) -> {
+				if (error != null) {
+					versionIndexes.remove(indexKey, request);
+					request.completeExceptionally(error);
+				} else {
+					request.complete(new VersionIndex(versions));
+				}
+			});
+		return request.copy();
+	}
+	
+	/**
+	 * Requests all the pages of the query one after another and collects the versions of every document.
+	 *
+	 * @param query    The complete query of the HTTP request (without page)
+	 * @param start    The position of the first document of the page
+	 * @param versions The versions collected by the previous pages
+	 * @return A future with all the versions of the query
+	 */
+	private @NotNull CompletableFuture<List<String>> requestPagesAsync(@NotNull String query, int start,
+		@NotNull List<String> versions) {
+		HttpRequest pageRequest;
+		try {
+			pageRequest = UHttpRequest.makeRequest(query + String.format(PAGE_QUERY, PAGE_SIZE, start))
+				.timeout(requestTimeout())
+				.GET()
+				.build();
+		} catch (Exception e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		
+		return httpClient()
+			.sendAsync(pageRequest, HttpResponse.BodyHandlers.ofInputStream())
+			.thenCompose(response -> {
+				int found;
+				int previousSize = versions.size();
+				try (Reader responseReader = new InputStreamReader(response.body(), StandardCharsets.UTF_8)) {
+					checkResponse(response);
+					found = MavenSearchReader.read(responseReader, document -> versions.add(document.version()));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				
+				// Check if there are more pages
+				int next = start + PAGE_SIZE;
+				boolean emptyPage = versions.size() == previousSize;
+				if (emptyPage || next >= found || next >= MAX_INDEX_SIZE) {
+					return CompletableFuture.completedFuture(versions);
+				}
+				return requestPagesAsync(query, next, versions);
+			});
+	}
+	
+	/**
+	 * Selects the newest version of the index that satisfies the special case.
+	 *
+	 * @param index    The version index of the artifact
+	 * @param cacheKey The key used to save the resolution inside the caches
+	 * @return The response with the artifact information or {@link Optional#empty()} if no version matches.
+	 */
+	private @NotNull Optional<IArtifactResponse> selectVersion(@NotNull VersionIndex index,
+		@NotNull ArtifactCacheKey cacheKey) {
+		String specialCase = extractCase(cacheKey.version());
+		Optional<String> versionFound = index.newest(specialCaseFilter(specialCase));
+		if (versionFound.isEmpty()) return Optional.empty();
+		
+		IArtifactResponse artifactFound = MavenArtifactResponse.of(cacheKey.group(), cacheKey.artifact(),
+																   versionFound.get(), cacheKey.classifier());
+		MavenArtifactCache cacheItem = new MavenArtifactCache(artifactFound, specialCase);
+		
+		// Insert the element in the cache
+		artifactMemoryCache.store(cacheKey, cacheItem);
+		if (artifactDiskCache != null) artifactDiskCache.store(cacheKey, cacheItem);
+		System.out.printf("> cjfx-version-resolved: %s -> %s%n",
+						  cacheItem.specialVersion(),
+						  cacheItem.version());
+		
+		return Optional.of(artifactFound);
+	}
+	
+	/**
+	 * Checks if the response of the Maven API is valid.
+	 *
+	 * @param mavenResponse The HTTP response of the Maven API
+	 * @throws IOException If the response contains an error
+	 */
+	private void checkResponse(@NotNull HttpResponse<?> mavenResponse) throws IOException {
+		Optional<UPair<Integer, String>> responseErrorOpt = UHttpResponse.detectError(mavenResponse);
+		if (responseErrorOpt.isPresent()) {
+			throw new IOException(String.format("%d - %s", responseErrorOpt.get().first,
+												responseErrorOpt.get().second));
 		}
+	}
+	
+	/**
+	 * Search for the resolution inside the caches. The memory cache is checked first and then the
+	 * persistent cache. Only the special cases are stored inside the persistent cache because the
+	 * specific versions do not need to be resolved.
+	 *
+	 * @param cacheKey      The key of the resolution
+	 * @param isSpecialCase Determines if the requested version is a special case
+	 * @return The cached artifact or {@link Optional#empty()} if the resolution is not found.
+	 */
+	private @NotNull Optional<IArtifactResponse> findInCache(@NotNull ArtifactCacheKey cacheKey, boolean isSpecialCase) {
+		Optional<MavenArtifactCache> cacheItem = artifactMemoryCache.find(cacheKey);
+		if (cacheItem.isPresent()) return cacheItem.map(IArtifactResponse.class::cast);
+		if (artifactDiskCache == null || !isSpecialCase) return Optional.empty();
+		
+		// Move the element to the memory cache
+		cacheItem = artifactDiskCache.find(cacheKey);
+		cacheItem.ifPresent(item -> artifactMemoryCache.store(cacheKey, item));
+		return cacheItem.map(IArtifactResponse.class::cast);
+	}
+	
+	/**
+	 * Search for the resolution when the network cannot be used. In this case the expired entries
+	 * of the persistent cache are also valid, because an old resolution is better than a failed build.
+	 *
+	 * @param cacheKey      The key of the resolution
+	 * @param isSpecialCase Determines if the requested version is a special case
+	 * @return The cached artifact or {@link Optional#empty()} if the resolution was never made.
+	 */
+	private @NotNull Optional<IArtifactResponse> findInOfflineCache(@NotNull ArtifactCacheKey cacheKey,
+		boolean isSpecialCase) {
+		Optional<MavenArtifactCache> cacheItem = artifactDiskCache == null || !isSpecialCase ?
+												 Optional.empty() :
+												 artifactDiskCache.findAny(cacheKey);
 		
-		return UPair.make(false, null);
+		// Move the element to the memory cache
+		cacheItem.ifPresent(item -> artifactMemoryCache.store(cacheKey, item));
+		if (cacheItem.isEmpty()) {
+			System.err.printf("Offline mode: no previous resolution found for %s%n", cacheKey);
+		}
+		return cacheItem.map(IArtifactResponse.class::cast);
 	}
 	
 	/**
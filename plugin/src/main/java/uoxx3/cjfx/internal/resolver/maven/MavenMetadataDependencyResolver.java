@@ -0,0 +1,329 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import com.google.gson.Gson;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import uoxx3.cjfx.internal.resolver.BaseDependencyResolver;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactCacheKey;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactMemoryCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.resolver.version.VersionIndex;
+import ushiosan.jvm.content.UPair;
+import ushiosan.jvm.http.UHttpRequest;
+import ushiosan.jvm.http.UHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class used to resolve dependencies on artifacts through the {@code maven-metadata.xml} file of a
+ * Maven repository (Maven Central or any mirror with the same layout).
+ * <p>
+ * The metadata file contains the complete version list of the artifact, so a single small request is
+ * enough to answer every special case. The file is read as a stream and the version list is kept in
+ * memory, so the next resolutions of the same artifact do not make new requests.
+ */
+public class MavenMetadataDependencyResolver extends BaseDependencyResolver {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default location of the Maven Central repository
+	 */
+	public static final String DEFAULT_REPOSITORY_URL = "https://repo.maven.apache.org/maven2";
+	
+	/**
+	 * Location of the metadata file relative to the repository: {@code <repository>/<group>/<artifact>/}
+	 */
+	private static final String METADATA_PATH = "%s/%s/%s/maven-metadata.xml";
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Base location of the Maven repository (without the final slash)
+	 */
+	private final String repositoryUrl;
+	
+	/**
+	 * Collection with in-memory cache of already resolved artifacts.
+	 */
+	private final ArtifactMemoryCache artifactMemoryCache;
+	
+	/**
+	 * Version indexes of the artifacts (already downloaded or in progress), indexed by {@code group:artifact}.
+	 */
+	private final Map<String, CompletableFuture<VersionIndex>> versionIndexes;
+	
+	/**
+	 * Persistent cache shared between builds or {@code null} if the persistent cache is not used.
+	 */
+	private final @Nullable ArtifactDiskCache artifactDiskCache;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor with the necessary instances.
+	 *
+	 * @param client     HTTP client instance
+	 * @param gson       Gson instance
+	 * @param timeout    Maximum time that a single request can take
+	 * @param repository Base location of the Maven repository
+	 * @param diskCache  Persistent cache instance or {@code null} if the persistent cache is not used
+	 */
+	public MavenMetadataDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson, @NotNull Duration timeout,
+		@NotNull String repository, @Nullable ArtifactDiskCache diskCache) {
+		super(client, gson, timeout);
+		// Initialize properties
+		repositoryUrl = repository.trim().replaceAll("/+$", "");
+		artifactMemoryCache = new ArtifactMemoryCache();
+		versionIndexes = new ConcurrentHashMap<>();
+		artifactDiskCache = diskCache;
+	}
+	
+	/**
+	 * Constructor without persistent cache.
+	 *
+	 * @param client     HTTP client instance
+	 * @param gson       Gson instance
+	 * @param repository Base location of the Maven repository
+	 */
+	public MavenMetadataDependencyResolver(@NotNull HttpClient client, @NotNull Gson gson,
+		@NotNull String repository) {
+		this(client, gson, DEFAULT_REQUEST_TIMEOUT, repository, null);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Resolves the required artifact depending on the options provided.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version, @NotNull String classifier) {
+		return resolveArtifactAsync(group, artifact, version, classifier).join();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return The response with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+		@NotNull String version) {
+		return resolveArtifactAsync(group, artifact, version).join();
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 * The metadata file does not contain the classifiers, so the classifier is only copied to the result.
+	 *
+	 * @param group      The group that is in charge of providing the artifact
+	 * @param artifact   The name of the artifact
+	 * @param version    The version of the artifact. Normally this is a special case, but it can also
+	 *                   be a specific version.
+	 * @param classifier The Artifact Classifier
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version, @NotNull String classifier) {
+		// Check if the version already exists in the cache
+		ArtifactCacheKey cacheKey = new ArtifactCacheKey(group, artifact, version, classifier);
+		Optional<IArtifactResponse> cacheFound = findInCache(cacheKey, isSpecialCase(version));
+		if (cacheFound.isPresent()) return CompletableFuture.completedFuture(cacheFound);
+		
+		// Select the version from the complete version list
+		return requestIndexAsync(cacheKey.group(), cacheKey.artifact())
+			.thenApply(index -> selectVersion(index, cacheKey))
+			.exceptionally(error -> {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+								  error.getCause() : error;
+				System.err.printf("Error in http request: %s%n", cause.getMessage());
+				return Optional.empty();
+			});
+	}
+	
+	/**
+	 * Resolves the required artifact depending on the options provided without blocking the current thread.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @param version  The version of the artifact. Normally this is a special case, but it can also
+	 *                 be a specific version.
+	 * @return A future with the artifact information or {@link Optional#empty()} if the artifact was not found.
+	 */
+	@Override
+	public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+		@NotNull String artifact, @NotNull String version) {
+		return resolveArtifactAsync(group, artifact, version, "");
+	}
+	
+	/**
+	 * Gets the in-memory cache of the resolver
+	 *
+	 * @return The in-memory cache with its hit and miss counters
+	 */
+	public @NotNull ArtifactMemoryCache memoryCache() {
+		return artifactMemoryCache;
+	}
+	
+	/**
+	 * Gets the base location of the Maven repository
+	 *
+	 * @return The repository location
+	 */
+	public @NotNull String repositoryUrl() {
+		return repositoryUrl;
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the version index of the artifact. The metadata is only downloaded once and the requests that
+	 * are still in progress are shared. Failed downloads are discarded, so they can be retried.
+	 *
+	 * @param group    The group that is in charge of providing the artifact
+	 * @param artifact The name of the artifact
+	 * @return A future with the version index of the artifact
+	 */
+	private @NotNull CompletableFuture<VersionIndex> requestIndexAsync(@NotNull String group,
+		@NotNull String artifact) {
+		String listKey = String.join(":", group, artifact);
+		CompletableFuture<VersionIndex> request = new CompletableFuture<>();
+		CompletableFuture<VersionIndex> existing = versionIndexes.putIfAbsent(listKey, request);
+		if (existing != null) return existing.copy();
+		
+		try {
+			// Generate request instance
+			String query = String.format(METADATA_PATH, repositoryUrl, group.replace('.', '/'), artifact);
+			HttpRequest metadataRequest = UHttpRequest.makeRequest(query)
+				.timeout(requestTimeout())
+				.GET()
+				.build();
+			
+			httpClient()
+				.sendAsync(metadataRequest, HttpResponse.BodyHandlers.ofInputStream())
+				.thenApply(this::processResponse)
+				.whenComplete((index, error) -> {
+					if (error != null) {
+						versionIndexes.remove(listKey, request);
+						request.completeExceptionally(error);
+					} else {
+						request.complete(index);
+					}
+				});
+		} catch (Exception e) {
+			versionIndexes.remove(listKey, request);
+			request.completeExceptionally(e);
+		}
+		return request.copy();
+	}
+	
+	/**
+	 * Processes the response of the repository and extracts the version list.
+	 *
+	 * @param metadataResponse The HTTP response of the repository
+	 * @return The version index of the artifact
+	 */
+	private @NotNull VersionIndex processResponse(@NotNull HttpResponse<InputStream> metadataResponse) {
+		try (InputStream input = metadataResponse.body()) {
+			// Check if response is valid
+			Optional<UPair<Integer, String>> responseErrorOpt = UHttpResponse.detectError(metadataResponse);
+			if (responseErrorOpt.isPresent()) {
+				throw new IOException(String.format("%d - %s", responseErrorOpt.get().first,
+													responseErrorOpt.get().second));
+			}
+			
+			return new VersionIndex(MavenMetadataReader.readVersions(input));
+		} catch (Exception e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Selects the version that satisfies the request. Specific versions must exist inside the index and
+	 * special cases select the newest version that matches the case.
+	 *
+	 * @param index    The version index of the artifact
+	 * @param cacheKey The key of the resolution
+	 * @return The response with the artifact information or {@link Optional#empty()} if no version matches.
+	 */
+	private @NotNull Optional<IArtifactResponse> selectVersion(@NotNull VersionIndex index,
+		@NotNull ArtifactCacheKey cacheKey) {
+		String specialCase = extractCase(cacheKey.version());
+		Optional<String> versionFound = isSpecialCase(cacheKey.version()) ?
+										index.newest(specialCaseFilter(specialCase)) :
+										Optional.of(cacheKey.version()).filter(index::contains);
+		if (versionFound.isEmpty()) return Optional.empty();
+		
+		IArtifactResponse artifactFound = MavenArtifactResponse.of(cacheKey.group(), cacheKey.artifact(),
+																   versionFound.get(), cacheKey.classifier());
+		MavenArtifactCache cacheItem = new MavenArtifactCache(artifactFound, specialCase);
+		
+		// Insert the element in the cache
+		artifactMemoryCache.store(cacheKey, cacheItem);
+		if (artifactDiskCache != null && !specialCase.isBlank()) artifactDiskCache.store(cacheKey, cacheItem);
+		if (!specialCase.isBlank()) {
+			System.out.printf("> cjfx-version-resolved: %s -> %s%n",
+							  cacheItem.specialVersion(),
+							  cacheItem.version());
+		}
+		return Optional.of(artifactFound);
+	}
+	
+	/**
+	 * Search for the resolution inside the caches. The memory cache is checked first and then the
+	 * persistent cache. Only the special cases are stored inside the persistent cache because the
+	 * specific versions do not need to be resolved.
+	 *
+	 * @param cacheKey      The key of the resolution
+	 * @param isSpecialCase Determines if the requested version is a special case
+	 * @return The cached artifact or {@link Optional#empty()} if the resolution is not found.
+	 */
+	private @NotNull Optional<IArtifactResponse> findInCache(@NotNull ArtifactCacheKey cacheKey,
+		boolean isSpecialCase) {
+		Optional<MavenArtifactCache> cacheItem = artifactMemoryCache.find(cacheKey);
+		if (cacheItem.isPresent()) return cacheItem.map(IArtifactResponse.class::cast);
+		if (artifactDiskCache == null || !isSpecialCase) return Optional.empty();
+		
+		// Move the element to the memory cache
+		cacheItem = artifactDiskCache.find(cacheKey);
+		cacheItem.ifPresent(item -> artifactMemoryCache.store(cacheKey, item));
+		return cacheItem.map(IArtifactResponse.class::cast);
+	}
+	
+}
@@ -0,0 +1,93 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of the Maven metadata files ({@code maven-metadata.xml} and {@code maven-metadata-local.xml}).
+ * <p>
+ * The files are read as a stream (StAX), so only the version list is extracted
+ * and the document is never loaded completely into memory.
+ */
+public final class MavenMetadataReader {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Factory used to create all the stream readers. The external entities are disabled
+	 * because the metadata files never use them.
+	 */
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * This class cannot be instantiated
+	 */
+	private MavenMetadataReader() {}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Reads all the versions declared inside the {@code <versioning><versions>} element.
+	 *
+	 * @param input The content of the metadata file
+	 * @return All the versions in the same order as the file
+	 * @throws XMLStreamException If the content is not a valid XML document
+	 */
+	public static @NotNull List<String> readVersions(@NotNull InputStream input) throws XMLStreamException {
+		List<String> versions = new ArrayList<>();
+		XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+		
+		try {
+			boolean insideVersions = false;
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					if (name.equals("versions")) {
+						insideVersions = true;
+					} else if (insideVersions && name.equals("version")) {
+						String version = reader.getElementText().trim();
+						if (!version.isEmpty()) versions.add(version);
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("versions")) {
+					insideVersions = false;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return versions;
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Creates the factory of the stream readers.
+	 *
+	 * @return The configured factory
+	 */
+	private static @NotNull XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+	
+}
@@ -0,0 +1,188 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Reader of the Maven-Central search API responses.
+ * <p>
+ * The response is read as a stream ({@link JsonReader}) and every document is passed to the caller as soon
+ * as it is read, so the reading stops at the first document that the caller needs and the rest of the
+ * response is never parsed. The structure of the response is described by
+ * {@link uoxx3.cjfx.internal.resolver.maven.content.MavenResponse}.
+ */
+public final class MavenSearchReader {
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * This class cannot be instantiated
+	 */
+	private MavenSearchReader() {}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Reads the documents of the response until the visitor rejects one of them.
+	 *
+	 * @param input   The content of the response
+	 * @param visitor Action applied to every document. It must return {@code false} to stop the reading.
+	 * @return The total number of documents found by the query (not only the documents of this response)
+	 * @throws IOException If the content is not a valid response
+	 */
+	public static int read(@NotNull Reader input, @NotNull Predicate<IArtifactResponse> visitor) throws IOException {
+		JsonReader reader = new JsonReader(input);
+		int found = 0;
+		
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (!reader.nextName().equals("response")) {
+				reader.skipValue();
+				continue;
+			}
+			
+			// Content of the response
+			reader.beginObject();
+			while (reader.hasNext()) {
+				switch (reader.nextName()) {
+					case "numFound":
+					case "found":
+						found = reader.nextInt();
+						break;
+					case "docs":
+					case "artifacts":
+					case "content":
+						reader.beginArray();
+						while (reader.hasNext()) {
+							if (!visitor.test(readDocument(reader))) return found;
+						}
+						reader.endArray();
+						break;
+					default:
+						reader.skipValue();
+						break;
+				}
+			}
+			reader.endObject();
+		}
+		return found;
+	}
+	
+	/**
+	 * Searches for the first document whose version is accepted by the filter.
+	 *
+	 * @param input         The content of the response
+	 * @param versionFilter The filter of the valid versions
+	 * @return The first valid document or {@link Optional#empty()} if no document is valid
+	 * @throws IOException If the content is not a valid response
+	 */
+	public static @NotNull Optional<IArtifactResponse> findFirst(@NotNull Reader input,
+		@NotNull Predicate<String> versionFilter) throws IOException {
+		IArtifactResponse[] artifactFound = new IArtifactResponse[1];
+		read(input, document -> {
+			if (!versionFilter.test(document.version())) return true;
+			
+			artifactFound[0] = document;
+			return false;
+		});
+		return Optional.ofNullable(artifactFound[0]);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Reads a single document of the response. Unknown properties are skipped.
+	 *
+	 * @param reader The reader positioned at the beginning of the document
+	 * @return The artifact information of the document
+	 * @throws IOException If the document is not valid
+	 */
+	private static @NotNull IArtifactResponse readDocument(@NotNull JsonReader reader) throws IOException {
+		String id = "";
+		String group = "";
+		String artifact = "";
+		String version = "";
+		String prototype = "";
+		String[] classifiers = new String[0];
+		String[] tags = new String[0];
+		
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+				continue;
+			}
+			
+			switch (name) {
+				case "id":
+					id = reader.nextString();
+					break;
+				case "g":
+				case "group":
+					group = reader.nextString();
+					break;
+				case "a":
+				case "artifact":
+					artifact = reader.nextString();
+					break;
+				case "v":
+				case "version":
+					version = reader.nextString();
+					break;
+				case "p":
+				case "prototype":
+					prototype = reader.nextString();
+					break;
+				case "ec":
+				case "classifiers":
+					classifiers = readStringArray(reader);
+					break;
+				case "tags":
+					tags = readStringArray(reader);
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+		
+		return MavenArtifactResponse.of(id, group, artifact, version, prototype, classifiers, tags);
+	}
+	
+	/**
+	 * Reads an array of texts.
+	 *
+	 * @param reader The reader positioned at the beginning of the array
+	 * @return The content of the array
+	 * @throws IOException If the array is not valid
+	 */
+	private static String @NotNull [] readStringArray(@NotNull JsonReader reader) throws IOException {
+		List<String> result = new ArrayList<>();
+		
+		reader.beginArray();
+		while (reader.hasNext()) {
+			result.add(reader.nextString());
+		}
+		reader.endArray();
+		return result.toArray(String[]::new);
+	}
+	
+}
@@ -1,12 +1,18 @@
 package uoxx3.cjfx.internal.resolver.maven.content;
 
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
 import org.jetbrains.annotations.NotNull;
 import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
- * Read-only element used as an in-memory cache
+ * Read-only element used as an in-memory cache.
+ * <p>
+ * The element is also serialized as-is inside the persistent cache, that is why
+ * the resolution time is stored together with the artifact information.
  */
 public final class MavenArtifactCache extends MavenArtifactResponse {
 	
@@ -17,8 +23,17 @@ public final class MavenArtifactCache extends MavenArtifactResponse {
 	/**
 	 * Special version of the artifact.
 	 */
+	@Expose
+	@SerializedName("specialVersion")
 	private final String specialVersion;
 	
+	/**
+	 * Moment (in epoch milliseconds) when the artifact was resolved.
+	 */
+	@Expose
+	@SerializedName("resolvedAt")
+	private final long resolvedAt;
+	
 	/* -----------------------------------------------------
 	 * Constructors
 	 * ----------------------------------------------------- */
@@ -38,6 +53,7 @@ public final class MavenArtifactCache extends MavenArtifactResponse {
 		specialVersion = special;
 		tags = art.classifiers();
 		version = art.version();
+		resolvedAt = System.currentTimeMillis();
 	}
 	
 	/* -----------------------------------------------------
@@ -53,6 +69,26 @@ public final class MavenArtifactCache extends MavenArtifactResponse {
 		return specialVersion;
 	}
 	
+	/**
+	 * Gets the moment (in epoch milliseconds) when the artifact was resolved.
+	 *
+	 * @return The resolution time of the artifact.
+	 */
+	public long resolvedAt() {
+		return resolvedAt;
+	}
+	
+	/**
+	 * Determines if the element is older than the given time to live.
+	 *
+	 * @param timeToLive The maximum age of the element
+	 * @return {@code true} if the element is expired or {@code false} otherwise
+	 */
+	public boolean isExpired(@NotNull Duration timeToLive) {
+		long age = System.currentTimeMillis() - resolvedAt;
+		return age < 0 || age > timeToLive.toMillis();
+	}
+	
 	/**
 	 * Object string representation
 	 *
@@ -62,6 +98,7 @@ public final class MavenArtifactCache extends MavenArtifactResponse {
 	public @NotNull String toString() {
 		return "MavenArtifactCache{" +
 			   "specialVersion='" + specialVersion + '\'' +
+			   ", resolvedAt=" + resolvedAt +
 			   ", id='" + id + '\'' +
 			   ", group='" + group + '\'' +
 			   ", artifact='" + artifact + '\'' +
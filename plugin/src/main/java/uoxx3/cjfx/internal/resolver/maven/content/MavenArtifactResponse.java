@@ -78,6 +78,53 @@ public class MavenArtifactResponse implements IArtifactResponse {
 	 * Methods
 	 * ----------------------------------------------------- */
 	
+	/**
+	 * Creates the artifact information from its coordinates. This is used by the resolvers
+	 * that do not receive the information from the Maven API (local repositories, metadata files, etc.).
+	 *
+	 * @param group      The group responsible for publishing the artifact
+	 * @param artifact   The artifact name
+	 * @param version    The artifact version
+	 * @param classifier The artifact classifier or empty text if the artifact has no classifier
+	 * @return The artifact information
+	 */
+	public static @NotNull MavenArtifactResponse of(@NotNull String group, @NotNull String artifact,
+		@NotNull String version, @NotNull String classifier) {
+		String id = classifier.isBlank() ?
+					String.join(":", group, artifact, version) :
+					String.join(":", group, artifact, version, classifier);
+		String[] classifiers = classifier.isBlank() ? new String[0] : new String[]{classifier};
+		
+		return of(id, group, artifact, version, "jar", classifiers, new String[0]);
+	}
+	
+	/**
+	 * Creates the artifact information with all its properties. This is used by the readers
+	 * that do not use the reflection of Gson.
+	 *
+	 * @param id          The full identifier of the artifact
+	 * @param group       The group responsible for publishing the artifact
+	 * @param artifact    The artifact name
+	 * @param version     The artifact version
+	 * @param prototype   The type of asset that defines the artifact
+	 * @param classifiers The possible access classifiers defined within the artifact
+	 * @param tags        The artifact tags
+	 * @return The artifact information
+	 */
+	public static @NotNull MavenArtifactResponse of(@NotNull String id, @NotNull String group,
+		@NotNull String artifact, @NotNull String version, @NotNull String prototype,
+		String @NotNull [] classifiers, String @NotNull [] tags) {
+		MavenArtifactResponse response = new MavenArtifactResponse();
+		response.id = id;
+		response.group = group;
+		response.artifact = artifact;
+		response.version = version;
+		response.prototype = prototype;
+		response.classifiers = classifiers;
+		response.tags = tags;
+		return response;
+	}
+	
 	/**
 	 * The full identifier of the artifact. This usually has the following format:
 	 * <pre>{@code
@@ -0,0 +1,142 @@
+package uoxx3.cjfx.internal.resolver.version;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comparator that sorts JavaFX versions from the oldest to the newest.
+ * <p>
+ * The versions have the format {@code major[.minor[.security[.patch]]][-qualifier]}, for example
+ * {@code 21}, {@code 21.0.1} or {@code 22-ea+16}. The numeric part is compared number by number
+ * (missing numbers are zero), a final release is newer than any qualified version of the same numbers
+ * and early access builds are sorted by their build number.
+ */
+public final class JavafxVersionComparator implements Comparator<String> {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Shared instance of the comparator. The comparator has no state.
+	 */
+	public static final JavafxVersionComparator INSTANCE = new JavafxVersionComparator();
+	
+	/**
+	 * Regular expression used to extract the build number of the early access versions
+	 */
+	private static final Pattern BUILD_NUMBER = Pattern.compile("\\+(\\d+)");
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * This class must be used through {@link #INSTANCE}
+	 */
+	private JavafxVersionComparator() {}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Compares two versions.
+	 *
+	 * @param first  The first version to compare
+	 * @param second The second version to compare
+	 * @return A negative number if the first version is older, zero if both are equal or a positive number
+	 * 	if the first version is newer.
+	 */
+	@Override
+	public int compare(@NotNull String first, @NotNull String second) {
+		String[] firstParts = splitQualifier(first.trim());
+		String[] secondParts = splitQualifier(second.trim());
+		
+		// Compare the numeric part
+		int result = compareNumbers(firstParts[0], secondParts[0]);
+		if (result != 0) return result;
+		
+		// The final release is always newer than the qualified versions
+		return compareQualifiers(firstParts[1], secondParts[1]);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Separates the numeric part of the version from its qualifier.
+	 *
+	 * @param version The version to separate
+	 * @return An array with the numeric part and the qualifier (empty if the version has no qualifier)
+	 */
+	private static String @NotNull [] splitQualifier(@NotNull String version) {
+		int separator = version.indexOf('-');
+		if (separator < 0) return new String[]{version, ""};
+		
+		return new String[]{version.substring(0, separator), version.substring(separator + 1)};
+	}
+	
+	/**
+	 * Compares the numeric part of two versions number by number.
+	 *
+	 * @param first  The first numeric part
+	 * @param second The second numeric part
+	 * @return The comparison result
+	 */
+	private static int compareNumbers(@NotNull String first, @NotNull String second) {
+		String[] firstNumbers = first.split("[.+]");
+		String[] secondNumbers = second.split("[.+]");
+		int length = Math.max(firstNumbers.length, secondNumbers.length);
+		
+		for (int i = 0; i < length; i++) {
+			String firstNumber = i < firstNumbers.length ? firstNumbers[i] : "0";
+			String secondNumber = i < secondNumbers.length ? secondNumbers[i] : "0";
+			int result = compareNumber(firstNumber, secondNumber);
+			if (result != 0) return result;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Compares a single element of the numeric part. Non-numeric elements are compared as text.
+	 *
+	 * @param first  The first element
+	 * @param second The second element
+	 * @return The comparison result
+	 */
+	private static int compareNumber(@NotNull String first, @NotNull String second) {
+		try {
+			return Long.compare(Long.parseLong(first), Long.parseLong(second));
+		} catch (NumberFormatException e) {
+			return first.compareTo(second);
+		}
+	}
+	
+	/**
+	 * Compares the qualifiers of two versions with the same numeric part.
+	 *
+	 * @param first  The first qualifier
+	 * @param second The second qualifier
+	 * @return The comparison result
+	 */
+	private static int compareQualifiers(@NotNull String first, @NotNull String second) {
+		if (first.equals(second)) return 0;
+		if (first.isEmpty()) return 1;
+		if (second.isEmpty()) return -1;
+		
+		// Compare the build number of the early access versions
+		Matcher firstBuild = BUILD_NUMBER.matcher(first);
+		Matcher secondBuild = BUILD_NUMBER.matcher(second);
+		if (firstBuild.find() && secondBuild.find()) {
+			int result = Long.compare(Long.parseLong(firstBuild.group(1)), Long.parseLong(secondBuild.group(1)));
+			if (result != 0) return result;
+		}
+		return first.compareTo(second);
+	}
+	
+}
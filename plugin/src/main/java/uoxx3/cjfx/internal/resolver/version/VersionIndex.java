@@ -0,0 +1,132 @@
+package uoxx3.cjfx.internal.resolver.version;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Immutable index with all the known versions of an artifact.
+ * <p>
+ * The versions are sorted with {@link JavafxVersionComparator} (from the oldest to the newest), so the
+ * special cases are answered by walking the index from the end and the specific versions with a binary
+ * search. The result never depends on the order in which a repository returned the versions.
+ */
+public final class VersionIndex {
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * All the versions without duplicates, sorted from the oldest to the newest
+	 */
+	private final List<String> versions;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default index constructor.
+	 *
+	 * @param items All the known versions in any order. Duplicated versions are ignored.
+	 */
+	public VersionIndex(@NotNull Collection<String> items) {
+		List<String> sortedVersions = new ArrayList<>(new LinkedHashSet<>(items));
+		sortedVersions.sort(JavafxVersionComparator.INSTANCE);
+		
+		versions = Collections.unmodifiableList(sortedVersions);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Search for the newest version accepted by the filter.
+	 *
+	 * @param versionFilter The filter of the valid versions
+	 * @return The newest valid version or {@link Optional#empty()} if no version is valid
+	 */
+	public @NotNull Optional<String> newest(@NotNull Predicate<String> versionFilter) {
+		for (int i = versions.size() - 1; i >= 0; i--) {
+			String version = versions.get(i);
+			if (versionFilter.test(version)) return Optional.of(version);
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * Checks if the specific version exists inside the index.
+	 *
+	 * @param version The version to search
+	 * @return {@code true} if the version exists or {@code false} otherwise
+	 */
+	public boolean contains(@NotNull String version) {
+		int position = Collections.binarySearch(versions, version, JavafxVersionComparator.INSTANCE);
+		if (position < 0) return false;
+		
+		// Different texts can represent the same version (21 and 21.0.0), so all the
+		// neighbours with the same order are also checked.
+		int first = position;
+		while (first > 0 && isSameOrder(versions.get(first - 1), version)) first--;
+		
+		for (int i = first; i < versions.size() && isSameOrder(versions.get(i), version); i++) {
+			if (versions.get(i).equals(version)) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Gets all the versions of the index
+	 *
+	 * @return All the versions sorted from the oldest to the newest
+	 */
+	public @NotNull List<String> versions() {
+		return versions;
+	}
+	
+	/**
+	 * Gets the number of versions of the index
+	 *
+	 * @return The number of versions
+	 */
+	public int size() {
+		return versions.size();
+	}
+	
+	/**
+	 * Object string representation
+	 *
+	 * @return Object string representation
+	 */
+	@Override
+	public String toString() {
+		return "VersionIndex{" +
+			   "versions=" + versions +
+			   '}';
+	}
+	
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Checks if two versions have the same position inside the index.
+	 *
+	 * @param first  The first version
+	 * @param second The second version
+	 * @return {@code true} if both versions have the same order or {@code false} otherwise
+	 */
+	private static boolean isSameOrder(@NotNull String first, @NotNull String second) {
+		return JavafxVersionComparator.INSTANCE.compare(first, second) == 0;
+	}
+	
+}
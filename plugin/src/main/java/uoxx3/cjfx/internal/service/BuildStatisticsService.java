@@ -0,0 +1,62 @@
+package uoxx3.cjfx.internal.service;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+
+/**
+ * Build service that aggregates the timings and counters of the plugin of all the projects of the build.
+ * <p>
+ * The service is discarded at the end of the build, so the statistics only describe the current build.
+ * When the configuration cache is reused, the configuration phase is skipped and only the statistics
+ * of the execution phase are collected.
+ */
+public abstract class BuildStatisticsService implements BuildService<BuildServiceParameters.None> {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the service within the Gradle context.
+	 */
+	public static final String SERVICE_NAME = "cjfxBuildStatistics";
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The statistics of the current build
+	 */
+	private final BuildStatistics statistics = new BuildStatistics();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Registers the service inside the build or returns the service already registered
+	 * by another project.
+	 *
+	 * @param project The project where the plugin is applied
+	 * @return The provider of the shared service
+	 */
+	public static @NotNull Provider<BuildStatisticsService> register(@NotNull Project project) {
+		return project.getGradle().getSharedServices()
+			.registerIfAbsent(SERVICE_NAME, BuildStatisticsService.class, spec -> {});
+	}
+	
+	/**
+	 * Gets the statistics of the current build
+	 *
+	 * @return The build statistics
+	 */
+	public @NotNull BuildStatistics statistics() {
+		return statistics;
+	}
+	
+}
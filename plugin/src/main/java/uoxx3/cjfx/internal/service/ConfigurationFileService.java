@@ -0,0 +1,323 @@
+package uoxx3.cjfx.internal.service;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build service that finds and parses the {@code cjfx.properties} configuration files.
+ * <p>
+ * The files are only searched in well-defined locations and with a limited depth, skipping the
+ * directories that never contain configuration files (build outputs, caches, version control, etc.).
+ * The service is shared by all the projects of the build, and both the search results and the
+ * parsed files are cached and only invalidated when the modification time of the files
+ * (or of the searched directories) changes.
+ */
+public abstract class ConfigurationFileService implements BuildService<BuildServiceParameters.None> {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the service within the Gradle context.
+	 */
+	public static final String SERVICE_NAME = "cjfxConfigurationFiles";
+	
+	/**
+	 * Name of the configuration files
+	 */
+	public static final String CONFIGURATION_FILE_NAME = "cjfx.properties";
+	
+	/**
+	 * Names of the directories that are never searched. The hidden directories
+	 * (names starting with a dot) are also skipped.
+	 */
+	public static final Set<String> EXCLUDED_DIRECTORIES = Set.of(
+		"build", "out", "target", "bin", "node_modules", "generated", "generated-sources");
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Search results indexed by the search request (directory, depth and excluded directories)
+	 */
+	private final Map<List<Object>, DirectoryScan> directoryScans = new ConcurrentHashMap<>();
+	
+	/**
+	 * Parsed configuration files indexed by their location
+	 */
+	private final Map<Path, ParsedFile> parsedFiles = new ConcurrentHashMap<>();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Registers the service inside the build or returns the service already registered
+	 * by another project.
+	 *
+	 * @param project The project where the plugin is applied
+	 * @return The provider of the shared service
+	 */
+	public static @NotNull Provider<ConfigurationFileService> register(@NotNull Project project) {
+		return project.getGradle().getSharedServices()
+			.registerIfAbsent(SERVICE_NAME, ConfigurationFileService.class, spec -> {});
+	}
+	
+	/**
+	 * Search for the configuration files inside the given directory.
+	 * <p>
+	 * The files are returned sorted by depth and then by location, so the files
+	 * closest to the directory are always applied first.
+	 *
+	 * @param directory The directory where the search starts
+	 * @param maxDepth  Maximum search depth. A value of {@code 1} only checks the directory itself.
+	 * @param excluded  Additional directories that must not be searched (for example the child projects)
+	 * @return All the configuration files found
+	 */
+	public @NotNull @Unmodifiable List<Path> findConfigurationFiles(@NotNull Path directory, int maxDepth,
+		@NotNull Set<Path> excluded) {
+		Path normalized = directory.toAbsolutePath().normalize();
+		List<Object> scanKey = List.of(normalized, maxDepth, Set.copyOf(excluded));
+		DirectoryScan scan = directoryScans.get(scanKey);
+		
+		// The scan is only repeated when a searched directory changes
+		if (scan == null || !scan.isValid()) {
+			scan = scanDirectory(normalized, maxDepth, excluded);
+			directoryScans.put(scanKey, scan);
+		}
+		return scan.files;
+	}
+	
+	/**
+	 * Loads the content of a configuration file. The content is only parsed again
+	 * when the modification time or the size of the file changes.
+	 *
+	 * @param file The configuration file
+	 * @return The properties of the file or an empty map if the file cannot be read
+	 */
+	public @NotNull @Unmodifiable Map<String, String> loadConfigurationFile(@NotNull Path file) {
+		Path normalized = file.toAbsolutePath().normalize();
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(normalized, BasicFileAttributes.class);
+			ParsedFile parsed = parsedFiles.get(normalized);
+			
+			// Check if the cached content is still valid
+			if (parsed != null && parsed.isSameFile(attributes)) return parsed.properties;
+			
+			parsed = new ParsedFile(attributes, parseFile(normalized));
+			parsedFiles.put(normalized, parsed);
+			return parsed.properties;
+		} catch (IOException e) {
+			System.err.printf("Error reading %s: %s%n", normalized, e.getMessage());
+		}
+		return Map.of();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Search for the configuration files inside the given directory.
+	 *
+	 * @param directory The directory where the search starts
+	 * @param maxDepth  Maximum search depth
+	 * @param excluded  Additional directories that must not be searched
+	 * @return The search result
+	 */
+	private @NotNull DirectoryScan scanDirectory(@NotNull Path directory, int maxDepth, @NotNull Set<Path> excluded) {
+		Map<Path, FileTime> directories = new HashMap<>();
+		List<Path> files = new ArrayList<>();
+		if (!Files.isDirectory(directory) || maxDepth <= 0) return new DirectoryScan(directories, files);
+		
+		try {
+			Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<>() {
+				
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					if (!dir.equals(directory) && isExcluded(dir, excluded)) return FileVisitResult.SKIP_SUBTREE;
+					
+					directories.put(dir, attrs.lastModifiedTime());
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (attrs.isRegularFile() && CONFIGURATION_FILE_NAME.equals(file.getFileName().toString())) {
+						files.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) {
+					return FileVisitResult.CONTINUE;
+				}
+				
+			});
+		} catch (IOException e) {
+			System.err.printf("Error searching cjfx configuration files: %s%n", e.getMessage());
+		}
+		
+		// The closest files are applied first
+		files.sort(Comparator.comparingInt(Path::getNameCount)
+					   .thenComparing(Comparator.naturalOrder()));
+		return new DirectoryScan(directories, files);
+	}
+	
+	/**
+	 * Checks if a directory must not be searched
+	 *
+	 * @param directory The directory to check
+	 * @param excluded  Additional directories that must not be searched
+	 * @return {@code true} if the directory is skipped or {@code false} otherwise
+	 */
+	private static boolean isExcluded(@NotNull Path directory, @NotNull Set<Path> excluded) {
+		String name = directory.getFileName().toString();
+		return name.startsWith(".") ||
+			   EXCLUDED_DIRECTORIES.contains(name) ||
+			   excluded.contains(directory);
+	}
+	
+	/**
+	 * Parses the content of a properties file
+	 *
+	 * @param file The file to parse
+	 * @return The properties of the file
+	 * @throws IOException If the file cannot be read
+	 */
+	private static @NotNull @Unmodifiable Map<String, String> parseFile(@NotNull Path file) throws IOException {
+		try (InputStream stream = Files.newInputStream(file)) {
+			Properties properties = new Properties();
+			Map<String, String> result = new HashMap<>();
+			properties.load(stream);
+			
+			for (String name : properties.stringPropertyNames()) {
+				result.put(name, properties.getProperty(name));
+			}
+			return Map.copyOf(result);
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Result of a directory search.
+	 */
+	private static final class DirectoryScan {
+		
+		/**
+		 * All the searched directories with their modification time
+		 */
+		private final Map<Path, FileTime> directories;
+		
+		/**
+		 * The configuration files found
+		 */
+		private final List<Path> files;
+		
+		/**
+		 * Default constructor
+		 *
+		 * @param dirs  All the searched directories with their modification time
+		 * @param found The configuration files found
+		 */
+		private DirectoryScan(@NotNull Map<Path, FileTime> dirs, @NotNull List<Path> found) {
+			directories = Map.copyOf(dirs);
+			files = List.copyOf(found);
+		}
+		
+		/**
+		 * Checks that no searched directory has changed. Adding or removing a file
+		 * always changes the modification time of its directory.
+		 *
+		 * @return {@code true} if the result is still valid or {@code false} otherwise
+		 */
+		private boolean isValid() {
+			for (Map.Entry<Path, FileTime> entry : directories.entrySet()) {
+				try {
+					FileTime current = Files.getLastModifiedTime(entry.getKey());
+					if (!current.equals(entry.getValue())) return false;
+				} catch (IOException e) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+	}
+	
+	/**
+	 * Parsed configuration file.
+	 */
+	private static final class ParsedFile {
+		
+		/**
+		 * Modification time of the file when it was parsed
+		 */
+		private final FileTime lastModified;
+		
+		/**
+		 * Size of the file when it was parsed
+		 */
+		private final long size;
+		
+		/**
+		 * The properties of the file
+		 */
+		private final Map<String, String> properties;
+		
+		/**
+		 * Default constructor
+		 *
+		 * @param attributes The file attributes when it was parsed
+		 * @param content    The properties of the file
+		 */
+		private ParsedFile(@NotNull BasicFileAttributes attributes, @NotNull Map<String, String> content) {
+			lastModified = attributes.lastModifiedTime();
+			size = attributes.size();
+			properties = content;
+		}
+		
+		/**
+		 * Checks if the file has not changed since it was parsed
+		 *
+		 * @param attributes The current file attributes
+		 * @return {@code true} if the file has not changed or {@code false} otherwise
+		 */
+		private boolean isSameFile(@NotNull BasicFileAttributes attributes) {
+			return size == attributes.size() &&
+				   Objects.equals(lastModified, attributes.lastModifiedTime());
+		}
+		
+	}
+	
+}
@@ -0,0 +1,385 @@
+package uoxx3.cjfx.internal.service;
+
+import com.google.gson.Gson;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.BaseDependencyResolver;
+import uoxx3.cjfx.internal.resolver.DynamicDependencyResolver;
+import uoxx3.cjfx.internal.resolver.IDependencyResolver;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactMemoryCache;
+import uoxx3.cjfx.internal.resolver.cache.DaemonArtifactCache;
+import uoxx3.cjfx.internal.resolver.local.LocalRepositoryDependencyResolver;
+import uoxx3.cjfx.internal.resolver.maven.MavenDependencyResolver;
+import uoxx3.cjfx.internal.resolver.maven.MavenMetadataDependencyResolver;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Build service that shares a single dependency resolver between all the projects of the build.
+ * <p>
+ * The HTTP client, the serialization instances and the resolution caches live inside the resolver,
+ * so a multi-project build only creates them once and every artifact is resolved a single time.
+ * The service is also in charge of registering the resolvers in order of priority: local repositories,
+ * repository metadata files and finally the Maven-Central search API.
+ * <p>
+ * Gradle closes the service when the build finishes, which also shuts down the threads of the HTTP client,
+ * so the long-lived Gradle daemons never accumulate threads between builds.
+ */
+public abstract class DependencyResolverService implements BuildService<DependencyResolverService.Parameters>,
+	AutoCloseable {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the service within the Gradle context.
+	 */
+	public static final String SERVICE_NAME = "cjfxDependencyResolver";
+	
+	/**
+	 * Name of the property that defines the time to live (in minutes) of the persistent version cache.
+	 * A value of {@code 0} disables the persistent cache.
+	 */
+	public static final String CACHE_TTL_PROPERTY = "cjfx.configuration.cacheTtl";
+	
+	/**
+	 * Name of the property that defines the maximum time (in seconds) that a version resolution can take.
+	 */
+	public static final String RESOLUTION_TIMEOUT_PROPERTY = "cjfx.configuration.resolutionTimeout";
+	
+	/**
+	 * Name of the property that defines the Maven repositories (separated by commas) where the
+	 * {@code maven-metadata.xml} files are downloaded. Any mirror of Maven Central can be used.
+	 */
+	public static final String REPOSITORY_URL_PROPERTY = "cjfx.configuration.repositoryUrl";
+	
+	/**
+	 * Name of the property that defines the time (in minutes) during which the versions resolved by a previous
+	 * build of the same Gradle daemon are used without a refresh. Older versions are still used, but they are
+	 * refreshed in the background for the next builds. The versions are never kept longer than the time to live
+	 * of the persistent cache ({@link #CACHE_TTL_PROPERTY}). A value of {@code 0} disables the daemon cache.
+	 */
+	public static final String DAEMON_CACHE_FRESHNESS_PROPERTY = "cjfx.configuration.daemonCacheFreshness";
+	
+	/**
+	 * Default time to live (in minutes) of the persistent version cache.
+	 */
+	private static final long DEFAULT_CACHE_TTL = Duration.ofHours(24).toMinutes();
+	
+	/**
+	 * Default freshness window (in minutes) of the daemon cache.
+	 */
+	private static final long DEFAULT_DAEMON_CACHE_FRESHNESS = Duration.ofHours(1).toMinutes();
+	
+	/**
+	 * Default maximum time (in seconds) that a version resolution can take.
+	 */
+	private static final long DEFAULT_RESOLUTION_TIMEOUT = BaseDependencyResolver.DEFAULT_REQUEST_TIMEOUT.toSeconds();
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Object in charge of resolving the versions of the JavaFX modules.
+	 */
+	private final DynamicDependencyResolver resolver;
+	
+	/**
+	 * Resolver without caches and local repositories, or {@code null} if it was never used.
+	 * See {@link #freshResolver()}.
+	 */
+	private DynamicDependencyResolver freshResolver;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor of the service. The instance is created by Gradle the first
+	 * time that the service is used.
+	 */
+	public DependencyResolverService() {
+		Parameters parameters = getParameters();
+		BuildStatistics statistics = parameters.getStatisticsService().get().statistics();
+		DynamicDependencyResolver dynamicResolver = new DynamicDependencyResolver(
+			Duration.ofSeconds(parameters.getResolutionTimeout().get()), statistics);
+		HttpClient httpClient = dynamicResolver.httpClient();
+		Gson gsonClient = dynamicResolver.gsonClient();
+		Duration requestTimeout = dynamicResolver.requestTimeout();
+		ArtifactDiskCache diskCache = new ArtifactDiskCache(parameters.getCacheDirectory().get().getAsFile().toPath(),
+															Duration.ofMinutes(parameters.getCacheTtl().get()),
+															gsonClient);
+		List<ArtifactMemoryCache> memoryCaches = new ArrayList<>();
+		boolean offline = parameters.getOffline().get();
+		
+		// The local repositories go first because they do not need network access
+		dynamicResolver.registerResolver(new LocalRepositoryDependencyResolver(
+			httpClient, gsonClient,
+			parameters.getMavenLocalDirectory().get().getAsFile().toPath(),
+			parameters.getGradleModuleDirectory().get().getAsFile().toPath()));
+		if (!offline) {
+			for (String repositoryUrl : parameters.getRepositoryUrls().get()) {
+				MavenMetadataDependencyResolver metadataResolver = new MavenMetadataDependencyResolver(
+					httpClient, gsonClient, requestTimeout, repositoryUrl, diskCache);
+				memoryCaches.add(metadataResolver.memoryCache());
+				dynamicResolver.registerResolver(metadataResolver);
+			}
+		}
+		MavenDependencyResolver searchResolver = new MavenDependencyResolver(
+			httpClient, gsonClient, requestTimeout, diskCache, offline);
+		memoryCaches.add(searchResolver.memoryCache());
+		dynamicResolver.registerResolver(searchResolver);
+		resolver = dynamicResolver;
+		
+		// The versions resolved by the previous builds of the daemon are shared only with
+		// the builds that use the same repositories, and never for longer than the persistent cache
+		long daemonCacheFreshness = parameters.getDaemonCacheFreshness().get();
+		long cacheTtl = parameters.getCacheTtl().get();
+		if (daemonCacheFreshness > 0L && cacheTtl > 0L) {
+			List<String> scope = new ArrayList<>(parameters.getRepositoryUrls().get());
+			if (offline) scope.add("offline");
+			DaemonArtifactCache daemonCache = DaemonArtifactCache.shared(String.join(",", scope));
+			dynamicResolver.useDaemonCache(daemonCache, Duration.ofMinutes(daemonCacheFreshness),
+										   Duration.ofMinutes(Math.max(daemonCacheFreshness, cacheTtl)));
+			
+			// The stale versions are refreshed with the remote repositories (never with the local ones)
+			if (!offline) dynamicResolver.useRefreshResolver(this::freshResolver, diskCache);
+			
+			statistics.registerGauge("cache.daemon.hits", daemonCache::hitCount);
+			statistics.registerGauge("cache.daemon.stale", daemonCache::staleCount);
+			statistics.registerGauge("cache.daemon.misses", daemonCache::missCount);
+		}
+		
+		// The cache counters are read when the report is generated
+		statistics.registerGauge("cache.memory.hits",
+								 () -> memoryCaches.stream().mapToLong(ArtifactMemoryCache::hitCount).sum());
+		statistics.registerGauge("cache.memory.misses",
+								 () -> memoryCaches.stream().mapToLong(ArtifactMemoryCache::missCount).sum());
+		statistics.registerGauge("cache.disk.hits", diskCache::hitCount);
+		statistics.registerGauge("cache.disk.misses", diskCache::missCount);
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Registers the service inside the build or returns the service already registered
+	 * by another project.
+	 *
+	 * @param project The project where the plugin is applied
+	 * @return The provider of the shared service
+	 */
+	public static @NotNull Provider<DependencyResolverService> register(@NotNull Project project) {
+		File gradleUserHome = project.getGradle().getGradleUserHomeDir();
+		File cacheDirectory = new File(gradleUserHome, "caches/cjfx");
+		Provider<Long> cacheTtl = project.getProviders()
+			.gradleProperty(CACHE_TTL_PROPERTY)
+			.map(property -> parseLongProperty(CACHE_TTL_PROPERTY, property, DEFAULT_CACHE_TTL));
+		Provider<Long> resolutionTimeout = project.getProviders()
+			.gradleProperty(RESOLUTION_TIMEOUT_PROPERTY)
+			.map(property -> parseLongProperty(RESOLUTION_TIMEOUT_PROPERTY, property, DEFAULT_RESOLUTION_TIMEOUT));
+		Provider<Long> daemonCacheFreshness = project.getProviders()
+			.gradleProperty(DAEMON_CACHE_FRESHNESS_PROPERTY)
+			.map(property -> parseLongProperty(DAEMON_CACHE_FRESHNESS_PROPERTY, property,
+											   DEFAULT_DAEMON_CACHE_FRESHNESS));
+		Provider<List<String>> repositoryUrls = project.getProviders()
+			.gradleProperty(REPOSITORY_URL_PROPERTY)
+			.map(DependencyResolverService::parseListProperty);
+		
+		Provider<BuildStatisticsService> statisticsService = BuildStatisticsService.register(project);
+		
+		return project.getGradle().getSharedServices()
+			.registerIfAbsent(SERVICE_NAME, DependencyResolverService.class, spec -> {
+				spec.getParameters().getStatisticsService().set(statisticsService);
+				spec.getParameters().getCacheDirectory().set(cacheDirectory);
+				spec.getParameters().getCacheTtl().set(cacheTtl.orElse(DEFAULT_CACHE_TTL));
+				spec.getParameters().getDaemonCacheFreshness()
+					.set(daemonCacheFreshness.orElse(DEFAULT_DAEMON_CACHE_FRESHNESS));
+				spec.getParameters().getResolutionTimeout().set(resolutionTimeout.orElse(DEFAULT_RESOLUTION_TIMEOUT));
+				spec.getParameters().getOffline().set(project.getGradle().getStartParameter().isOffline());
+				spec.getParameters().getRepositoryUrls()
+					.set(repositoryUrls.orElse(List.of(MavenMetadataDependencyResolver.DEFAULT_REPOSITORY_URL)));
+				spec.getParameters().getMavenLocalDirectory()
+					.set(LocalRepositoryDependencyResolver.defaultMavenRepository().toFile());
+				spec.getParameters().getGradleModuleDirectory()
+					.set(LocalRepositoryDependencyResolver.gradleModuleCache(gradleUserHome.toPath()).toFile());
+			});
+	}
+	
+	/**
+	 * Gets the resolver shared between all the projects of the build.
+	 *
+	 * @return The shared dependency resolver
+	 */
+	public @NotNull IDependencyResolver resolver() {
+		return resolver;
+	}
+	
+	/**
+	 * Gets a resolver that always asks the remote repositories. It does not use the caches (daemon,
+	 * persistent and in-memory) or the local repositories, so the result is the current version of the
+	 * repositories and not a version downloaded before. It is used to refresh the version lock file
+	 * and the stale entries of the daemon cache.
+	 *
+	 * @return The resolver without caches
+	 * @throws IllegalStateException If the build is running in offline mode
+	 */
+	public synchronized @NotNull IDependencyResolver freshResolver() {
+		Parameters parameters = getParameters();
+		if (parameters.getOffline().get()) {
+			throw new IllegalStateException("The remote repositories cannot be used in offline mode");
+		}
+		if (freshResolver != null) return freshResolver;
+		
+		DynamicDependencyResolver dynamicResolver = new DynamicDependencyResolver(
+			Duration.ofSeconds(parameters.getResolutionTimeout().get()),
+			parameters.getStatisticsService().get().statistics());
+		HttpClient httpClient = dynamicResolver.httpClient();
+		Gson gsonClient = dynamicResolver.gsonClient();
+		Duration requestTimeout = dynamicResolver.requestTimeout();
+		for (String repositoryUrl : parameters.getRepositoryUrls().get()) {
+			dynamicResolver.registerResolver(new MavenMetadataDependencyResolver(
+				httpClient, gsonClient, requestTimeout, repositoryUrl, null));
+		}
+		dynamicResolver.registerResolver(new MavenDependencyResolver(
+			httpClient, gsonClient, requestTimeout, null, false));
+		freshResolver = dynamicResolver;
+		return freshResolver;
+	}
+	
+	/**
+	 * Releases the resources of the resolvers. Gradle calls this method when the build finishes.
+	 */
+	@Override
+	public synchronized void close() {
+		resolver.close();
+		if (freshResolver != null) freshResolver.close();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Converts the property value into a numeric value.
+	 *
+	 * @param name         The property name
+	 * @param property     The property value
+	 * @param defaultValue The value used when the property is not a valid number
+	 * @return The numeric value of the property
+	 */
+	private static @NotNull Long parseLongProperty(@NotNull String name, @NotNull String property, long defaultValue) {
+		try {
+			return Long.parseLong(property.trim());
+		} catch (NumberFormatException e) {
+			System.err.printf("Invalid %s value: %s%n", name, property);
+		}
+		return defaultValue;
+	}
+	
+	/**
+	 * Converts the property value into a list of values separated by commas.
+	 *
+	 * @param property The property value
+	 * @return All the non-empty values of the property
+	 */
+	private static @NotNull List<String> parseListProperty(@NotNull String property) {
+		return Arrays.stream(property.split(","))
+			.map(String::trim)
+			.filter(item -> !item.isEmpty())
+			.collect(Collectors.toList());
+	}
+	
+	/* -----------------------------------------------------
+	 * Service parameters
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Parameters used to create the shared resolver.
+	 */
+	public interface Parameters extends BuildServiceParameters {
+		
+		/**
+		 * Directory where the persistent version cache is located.
+		 *
+		 * @return The cache directory property
+		 */
+		DirectoryProperty getCacheDirectory();
+		
+		/**
+		 * Time to live (in minutes) of the persistent version cache.
+		 *
+		 * @return The time to live property
+		 */
+		Property<Long> getCacheTtl();
+		
+		/**
+		 * Freshness window (in minutes) of the cache shared by all the builds of the daemon.
+		 *
+		 * @return The daemon cache freshness property
+		 */
+		Property<Long> getDaemonCacheFreshness();
+		
+		/**
+		 * Maximum time (in seconds) that a version resolution can take.
+		 *
+		 * @return The resolution timeout property
+		 */
+		Property<Long> getResolutionTimeout();
+		
+		/**
+		 * Determines if the build is running in offline mode ({@code --offline}).
+		 * In this mode the versions are never resolved through the network.
+		 *
+		 * @return The offline mode property
+		 */
+		Property<Boolean> getOffline();
+		
+		/**
+		 * Maven repositories where the {@code maven-metadata.xml} files are downloaded.
+		 *
+		 * @return The repository list property
+		 */
+		ListProperty<String> getRepositoryUrls();
+		
+		/**
+		 * Location of the Maven local repository ({@code ~/.m2/repository}).
+		 *
+		 * @return The Maven local repository property
+		 */
+		DirectoryProperty getMavenLocalDirectory();
+		
+		/**
+		 * Location of the module cache inside the Gradle user home.
+		 *
+		 * @return The Gradle module cache property
+		 */
+		DirectoryProperty getGradleModuleDirectory();
+		
+		/**
+		 * Service where the requests and the resolutions are registered.
+		 *
+		 * @return The statistics service property
+		 */
+		Property<BuildStatisticsService> getStatisticsService();
+		
+	}
+	
+}
@@ -0,0 +1,271 @@
+package uoxx3.cjfx.internal.stats;
+
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe collector of the timings and counters of the plugin during a single build.
+ * <p>
+ * The statistics are grouped by name. Timers keep the number of measurements, the total time and
+ * the slowest measurement; counters only keep a sum; and gauges read a value that is maintained
+ * by another object (for example the hit counters of the caches) when the report is generated.
+ */
+public final class BuildStatistics {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Time spent searching and parsing the {@code cjfx.properties} files
+	 */
+	public static final String CONFIGURATION_FILES = "configuration.files";
+	
+	/**
+	 * Time spent updating the dependencies of the project
+	 */
+	public static final String DEPENDENCY_UPDATE = "dependencies.update";
+	
+	/**
+	 * Time spent generating the JVM arguments of the execution task
+	 */
+	public static final String RUN_CONFIGURATION = "task.configureRun";
+	
+	/**
+	 * Prefix of the statistics of every resolver
+	 */
+	public static final String RESOLVER_PREFIX = "resolver.";
+	
+	/**
+	 * Latency of the HTTP requests (until the response headers are received)
+	 */
+	public static final String HTTP_REQUESTS = "http.requests";
+	
+	/**
+	 * Number of bytes received by the HTTP requests
+	 */
+	public static final String HTTP_BYTES = "http.bytes";
+	
+	/**
+	 * Number of HTTP requests that failed or returned an error status
+	 */
+	public static final String HTTP_ERRORS = "http.errors";
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * All the timers indexed by name
+	 */
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+	
+	/**
+	 * All the counters indexed by name
+	 */
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+	
+	/**
+	 * All the gauges indexed by name
+	 */
+	private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Measures the time of an action
+	 *
+	 * @param name   The timer name
+	 * @param action The action to measure
+	 * @param <T>    The action result type
+	 * @return The result of the action
+	 */
+	public <T> T measure(@NotNull String name, @NotNull Supplier<T> action) {
+		long start = System.nanoTime();
+		try {
+			return action.get();
+		} finally {
+			recordTime(name, start);
+		}
+	}
+	
+	/**
+	 * Measures the time of an action without result
+	 *
+	 * @param name   The timer name
+	 * @param action The action to measure
+	 */
+	public void measure(@NotNull String name, @NotNull Runnable action) {
+		long start = System.nanoTime();
+		try {
+			action.run();
+		} finally {
+			recordTime(name, start);
+		}
+	}
+	
+	/**
+	 * Registers a measurement that started at the given moment and ends now.
+	 *
+	 * @param name      The timer name
+	 * @param startNano The start of the measurement ({@link System#nanoTime()})
+	 */
+	public void recordTime(@NotNull String name, long startNano) {
+		long elapsed = Math.max(0L, System.nanoTime() - startNano);
+		timers.computeIfAbsent(name, key -> new Timer())
+			.record(elapsed);
+	}
+	
+	/**
+	 * Increments a counter by one
+	 *
+	 * @param name The counter name
+	 */
+	public void increment(@NotNull String name) {
+		add(name, 1L);
+	}
+	
+	/**
+	 * Increments a counter
+	 *
+	 * @param name   The counter name
+	 * @param amount The amount to add
+	 */
+	public void add(@NotNull String name, long amount) {
+		counters.computeIfAbsent(name, key -> new LongAdder())
+			.add(amount);
+	}
+	
+	/**
+	 * Registers a value that is read when the report is generated.
+	 *
+	 * @param name  The gauge name
+	 * @param value The value supplier
+	 */
+	public void registerGauge(@NotNull String name, @NotNull LongSupplier value) {
+		gauges.put(name, value);
+	}
+	
+	/**
+	 * Generates the machine-readable representation of the statistics. The names are sorted,
+	 * so two reports of the same build can be compared line by line.
+	 *
+	 * @return The statistics as a Json object
+	 */
+	public @NotNull JsonObject toJson() {
+		JsonObject result = new JsonObject();
+		JsonObject timerObject = new JsonObject();
+		JsonObject counterObject = new JsonObject();
+		
+		new TreeMap<>(timers).forEach((name, timer) -> timerObject.add(name, timer.toJson()));
+		counterValues().forEach(counterObject::addProperty);
+		result.add("timers", timerObject);
+		result.add("counters", counterObject);
+		return result;
+	}
+	
+	/**
+	 * Generates a human-readable summary of the statistics
+	 *
+	 * @return All the lines of the summary
+	 */
+	public @NotNull @Unmodifiable List<String> summary() {
+		List<String> lines = new ArrayList<>();
+		new TreeMap<>(timers).forEach((name, timer) -> lines.add(String.format(
+			"%-48s %6d calls %10.2f ms total %10.2f ms max", name, timer.count.sum(),
+			toMillis(timer.totalNanos.sum()), toMillis(timer.maxNanos.get()))));
+		counterValues().forEach((name, value) -> lines.add(String.format("%-48s %6d", name, value)));
+		return List.copyOf(lines);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the current value of all the counters and gauges
+	 *
+	 * @return The values sorted by name
+	 */
+	private @NotNull Map<String, Long> counterValues() {
+		Map<String, Long> result = new TreeMap<>();
+		counters.forEach((name, counter) -> result.put(name, counter.sum()));
+		gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+		return result;
+	}
+	
+	/**
+	 * Converts nanoseconds into milliseconds with decimals
+	 *
+	 * @param nanos The time in nanoseconds
+	 * @return The time in milliseconds
+	 */
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Accumulated measurements of a single timer.
+	 */
+	private static final class Timer {
+		
+		/**
+		 * Number of measurements
+		 */
+		private final LongAdder count = new LongAdder();
+		
+		/**
+		 * Sum of all the measurements
+		 */
+		private final LongAdder totalNanos = new LongAdder();
+		
+		/**
+		 * Slowest measurement
+		 */
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+		
+		/**
+		 * Registers a new measurement
+		 *
+		 * @param nanos The measured time in nanoseconds
+		 */
+		private void record(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+		
+		/**
+		 * Generates the machine-readable representation of the timer
+		 *
+		 * @return The timer as a Json object
+		 */
+		private @NotNull JsonObject toJson() {
+			JsonObject result = new JsonObject();
+			result.addProperty("count", count.sum());
+			result.addProperty("totalMillis", toMillis(totalNanos.sum()));
+			result.addProperty("maxMillis", toMillis(maxNanos.get()));
+			return result;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,348 @@
+package uoxx3.cjfx.internal.stats;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * HTTP client that delegates all the requests to another client and registers their
+ * latency, the received bytes and the failed requests inside the {@link BuildStatistics}.
+ * <p>
+ * All the resolvers share the same client, so every request of the plugin is measured without
+ * modifying the resolvers.
+ */
+public final class MeasuredHttpClient extends HttpClient {
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The client that performs the requests
+	 */
+	private final HttpClient delegate;
+	
+	/**
+	 * The statistics where the requests are registered
+	 */
+	private final BuildStatistics statistics;
+	
+	/* -----------------------------------------------------
+	 * Constructors
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Default constructor
+	 *
+	 * @param client The client that performs the requests
+	 * @param stats  The statistics where the requests are registered
+	 */
+	public MeasuredHttpClient(@NotNull HttpClient client, @NotNull BuildStatistics stats) {
+		delegate = client;
+		statistics = stats;
+	}
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The cookie handler of the wrapped client
+	 *
+	 * @return The cookie handler
+	 */
+	@Override
+	public Optional<CookieHandler> cookieHandler() {
+		return delegate.cookieHandler();
+	}
+	
+	/**
+	 * The connection timeout of the wrapped client
+	 *
+	 * @return The connection timeout
+	 */
+	@Override
+	public Optional<Duration> connectTimeout() {
+		return delegate.connectTimeout();
+	}
+	
+	/**
+	 * The redirection policy of the wrapped client
+	 *
+	 * @return The redirection policy
+	 */
+	@Override
+	public Redirect followRedirects() {
+		return delegate.followRedirects();
+	}
+	
+	/**
+	 * The proxy selector of the wrapped client
+	 *
+	 * @return The proxy selector
+	 */
+	@Override
+	public Optional<ProxySelector> proxy() {
+		return delegate.proxy();
+	}
+	
+	/**
+	 * The SSL context of the wrapped client
+	 *
+	 * @return The SSL context
+	 */
+	@Override
+	public SSLContext sslContext() {
+		return delegate.sslContext();
+	}
+	
+	/**
+	 * The SSL parameters of the wrapped client
+	 *
+	 * @return The SSL parameters
+	 */
+	@Override
+	public SSLParameters sslParameters() {
+		return delegate.sslParameters();
+	}
+	
+	/**
+	 * The authenticator of the wrapped client
+	 *
+	 * @return The authenticator
+	 */
+	@Override
+	public Optional<Authenticator> authenticator() {
+		return delegate.authenticator();
+	}
+	
+	/**
+	 * The preferred HTTP version of the wrapped client
+	 *
+	 * @return The HTTP version
+	 */
+	@Override
+	public Version version() {
+		return delegate.version();
+	}
+	
+	/**
+	 * The executor of the wrapped client
+	 *
+	 * @return The executor
+	 */
+	@Override
+	public Optional<Executor> executor() {
+		return delegate.executor();
+	}
+	
+	/**
+	 * Creates a web socket builder with the wrapped client (the web sockets are not measured)
+	 *
+	 * @return The web socket builder
+	 */
+	@Override
+	public WebSocket.Builder newWebSocketBuilder() {
+		return delegate.newWebSocketBuilder();
+	}
+	
+	/**
+	 * Sends the request and waits for the response
+	 *
+	 * @param request     The request to send
+	 * @param bodyHandler The handler of the response body
+	 * @param <T>         The response body type
+	 * @return The response of the request
+	 * @throws IOException          If the request fails
+	 * @throws InterruptedException If the current thread is interrupted
+	 */
+	@Override
+	public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+		throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<T> response = delegate.send(request, countingHandler(bodyHandler));
+			registerResponse(response, null);
+			return response;
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			registerResponse(null, e);
+			throw e;
+		} finally {
+			statistics.recordTime(BuildStatistics.HTTP_REQUESTS, start);
+		}
+	}
+	
+	/**
+	 * Sends the request without blocking the current thread
+	 *
+	 * @param request     The request to send
+	 * @param bodyHandler The handler of the response body
+	 * @param <T>         The response body type
+	 * @return A future with the response of the request
+	 */
+	@Override
+	public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+		HttpResponse.BodyHandler<T> bodyHandler) {
+		long start = System.nanoTime();
+		return measure(start, delegate.sendAsync(request, countingHandler(bodyHandler)));
+	}
+	
+	/**
+	 * Sends the request without blocking the current thread
+	 *
+	 * @param request            The request to send
+	 * @param bodyHandler        The handler of the response body
+	 * @param pushPromiseHandler The handler of the server push promises
+	 * @param <T>                The response body type
+	 * @return A future with the response of the request
+	 */
+	@Override
+	public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+		HttpResponse.BodyHandler<T> bodyHandler, HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+		long start = System.nanoTime();
+		return measure(start, delegate.sendAsync(request, countingHandler(bodyHandler), pushPromiseHandler));
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Registers the latency and the result of an asynchronous request
+	 *
+	 * @param start   The moment when the request was sent ({@link System#nanoTime()})
+	 * @param request The request in progress
+	 * @param <T>     The response body type
+	 * @return The same request
+	 */
+	private <T> @NotNull CompletableFuture<HttpResponse<T>> measure(long start,
+		@NotNull CompletableFuture<HttpResponse<T>> request) {
+		request.whenComplete((response, error) -> {
+			statistics.recordTime(BuildStatistics.HTTP_REQUESTS, start);
+			registerResponse(response, error);
+		});
+		return request;
+	}
+	
+	/**
+	 * Registers the failed requests and the responses with an error status
+	 *
+	 * @param response The response of the request or {@code null} if the request failed
+	 * @param error    The error of the request or {@code null} if the request did not fail
+	 */
+	private void registerResponse(@Nullable HttpResponse<?> response, @Nullable Throwable error) {
+		if (error != null || response == null || response.statusCode() >= 400) {
+			statistics.increment(BuildStatistics.HTTP_ERRORS);
+		}
+	}
+	
+	/**
+	 * Wraps the body handler to count the bytes of the response body
+	 *
+	 * @param handler The original body handler
+	 * @param <T>     The response body type
+	 * @return The handler that counts the received bytes
+	 */
+	private <T> @NotNull HttpResponse.BodyHandler<T> countingHandler(@NotNull HttpResponse.BodyHandler<T> handler) {
+		return responseInfo -> new CountingSubscriber<>(handler.apply(responseInfo));
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Body subscriber that counts the received bytes before passing them to the original subscriber.
+	 *
+	 * @param <T> The response body type
+	 */
+	private final class CountingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+		
+		/**
+		 * The original subscriber
+		 */
+		private final HttpResponse.BodySubscriber<T> subscriber;
+		
+		/**
+		 * Default constructor
+		 *
+		 * @param original The original subscriber
+		 */
+		private CountingSubscriber(@NotNull HttpResponse.BodySubscriber<T> original) {
+			subscriber = original;
+		}
+		
+		/**
+		 * The body of the original subscriber
+		 *
+		 * @return The response body
+		 */
+		@Override
+		public CompletionStage<T> getBody() {
+			return subscriber.getBody();
+		}
+		
+		/**
+		 * Passes the subscription to the original subscriber
+		 *
+		 * @param subscription The body subscription
+		 */
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			subscriber.onSubscribe(subscription);
+		}
+		
+		/**
+		 * Counts the received bytes and passes them to the original subscriber
+		 *
+		 * @param item The received buffers
+		 */
+		@Override
+		public void onNext(List<ByteBuffer> item) {
+			long received = 0L;
+			for (ByteBuffer buffer : item) {
+				received += buffer.remaining();
+			}
+			statistics.add(BuildStatistics.HTTP_BYTES, received);
+			subscriber.onNext(item);
+		}
+		
+		/**
+		 * Passes the error to the original subscriber
+		 *
+		 * @param throwable The body error
+		 */
+		@Override
+		public void onError(Throwable throwable) {
+			subscriber.onError(throwable);
+		}
+		
+		/**
+		 * Notifies the end of the body to the original subscriber
+		 */
+		@Override
+		public void onComplete() {
+			subscriber.onComplete();
+		}
+		
+	}
+	
+}
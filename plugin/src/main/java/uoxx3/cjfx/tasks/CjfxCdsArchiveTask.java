@@ -0,0 +1,377 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaInstallationMetadata;
+import org.gradle.jvm.toolchain.JavaLanguageVersion;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.CommandLineArgumentProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Task that performs a training run of the application to generate a dynamic CDS archive
+ * ({@code -XX:ArchiveClassesAtExit}) with the classes loaded by the application, including the JavaFX classes.
+ * <p>
+ * The application runs with the same command line as the execution task (main class, classpath, JVM arguments,
+ * system properties and argument providers) and the archive is written when the application exits. A key with
+ * the JDK and the JavaFX module path is saved next to the archive, and the execution task only uses the archive
+ * ({@code -XX:SharedArchiveFile}) through a {@link SharedArchiveProvider} while that key is still valid.
+ * <p>
+ * The JVM cannot archive classes loaded from non-empty directories, so the classpath must only contain
+ * jar files (the plugin replaces the classes and resources of the application by the {@code jar} task output).
+ */
+public abstract class CjfxCdsArchiveTask extends JavaExec {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxCdsArchive";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "application";
+	
+	/**
+	 * First Java version that supports dynamic CDS archives
+	 */
+	public static final int MINIMUM_JAVA_VERSION = 13;
+	
+	/**
+	 * JVM option that loads a CDS archive
+	 */
+	public static final String SHARED_ARCHIVE_OPTION = "-XX:SharedArchiveFile=";
+	
+	/**
+	 * Extension of the file with the archive key
+	 */
+	private static final String KEY_EXTENSION = ".key";
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxCdsArchiveTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Runs the application and saves the loaded classes inside a CDS archive for faster startups.");
+		
+		// The archive location is an argument of the training run
+		getJvmArgumentProviders().add(new ArchiveOutputProvider(getArchiveFile()));
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * File with the JVM arguments generated by the {@link CjfxConfigureRunTask} task.
+	 *
+	 * @return The argument file property
+	 */
+	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
+	public abstract RegularFileProperty getArgumentFile();
+	
+	/**
+	 * File where the CDS archive is written.
+	 *
+	 * @return The archive file property
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getArchiveFile();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Runs the application and saves the archive key once the archive is generated.
+	 */
+	@TaskAction
+	@Override
+	public void exec() {
+		JavaLauncher launcher = getJavaLauncher().get();
+		JavaLanguageVersion languageVersion = launcher.getMetadata().getLanguageVersion();
+		if (!languageVersion.canCompileOrRun(MINIMUM_JAVA_VERSION)) {
+			throw new GradleException(String.format("Dynamic CDS archives require Java %d or newer (current: %s)",
+													MINIMUM_JAVA_VERSION, languageVersion));
+		}
+		
+		// The JVM refuses to dump the archive when the classpath has a non-empty directory
+		List<File> directories = getClasspath().getFiles().stream()
+			.filter(CjfxCdsArchiveTask::isNonEmptyDirectory)
+			.collect(Collectors.toList());
+		if (!directories.isEmpty()) {
+			throw new GradleException(String.format(
+				"CDS archives cannot be generated with non-empty directories in the classpath " +
+					"(package them inside jar files): %s", directories));
+		}
+		
+		// The previous archive is removed, so an interrupted run never leaves an outdated archive
+		Path archiveFile = getArchiveFile().get().getAsFile().toPath();
+		Path keyFile = keyFile(archiveFile.toFile()).toPath();
+		try {
+			Files.deleteIfExists(keyFile);
+			Files.deleteIfExists(archiveFile);
+			Files.createDirectories(archiveFile.getParent());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		super.exec();
+		
+		if (!Files.isRegularFile(archiveFile)) {
+			throw new GradleException("The CDS archive was not generated: " + archiveFile);
+		}
+		try {
+			Files.writeString(keyFile, archiveKey(launcher.getMetadata(), getArgumentFile().get().getAsFile()),
+							  StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		getLogger().lifecycle("> cjfx-cds-archive: {}", archiveFile);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Checks if a classpath element is a directory with files
+	 *
+	 * @param file The classpath element
+	 * @return {@code true} if the element is a non-empty directory or {@code false} otherwise
+	 */
+	private static boolean isNonEmptyDirectory(@NotNull File file) {
+		String[] children = file.list();
+		return file.isDirectory() && children != null && children.length > 0;
+	}
+	
+	/**
+	 * Gets the file with the key of an archive
+	 *
+	 * @param archiveFile The archive file
+	 * @return The key file
+	 */
+	private static @NotNull File keyFile(@NotNull File archiveFile) {
+		return new File(archiveFile.getParentFile(), archiveFile.getName() + KEY_EXTENSION);
+	}
+	
+	/**
+	 * Generates the key of an archive. An archive can only be used by the same JDK and with the
+	 * same JavaFX modules, so the key contains the JDK version, the JDK location and the content of
+	 * the argument file (JavaFX module path and modules).
+	 *
+	 * @param metadata     The JDK that runs the application
+	 * @param argumentFile The file with the JavaFX arguments
+	 * @return The archive key
+	 */
+	private static @NotNull String archiveKey(@NotNull JavaInstallationMetadata metadata, @NotNull File argumentFile) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(metadata.getJavaRuntimeVersion().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(metadata.getInstallationPath().getAsFile().getAbsolutePath()
+							  .getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			if (argumentFile.isFile()) digest.update(Files.readAllBytes(argumentFile.toPath()));
+			
+			StringBuilder builder = new StringBuilder();
+			for (byte item : digest.digest()) {
+				builder.append(String.format("%02x", item));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Argument provider that adds the CDS archive to the execution task. The archive is only used
+	 * when it was generated with the same JDK and the same JavaFX arguments as the current execution,
+	 * otherwise no argument is added.
+	 */
+	public static class SharedArchiveProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The CDS archive file
+		 */
+		private final Provider<RegularFile> archiveFile;
+		
+		/**
+		 * The file with the JavaFX arguments of the execution
+		 */
+		private final Provider<RegularFile> argumentFile;
+		
+		/**
+		 * The JDK that runs the application
+		 */
+		private final Provider<JavaLauncher> javaLauncher;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param archive  The CDS archive file
+		 * @param argument The file with the JavaFX arguments of the execution
+		 * @param launcher The JDK that runs the application
+		 */
+		public SharedArchiveProvider(@NotNull Provider<RegularFile> archive, @NotNull Provider<RegularFile> argument,
+			@NotNull Provider<JavaLauncher> launcher) {
+			archiveFile = archive;
+			argumentFile = argument;
+			javaLauncher = launcher;
+		}
+		
+		/**
+		 * The CDS archive file. The archive is a cache, so it is not an input of the execution.
+		 *
+		 * @return The archive file
+		 */
+		@Internal
+		public @NotNull Provider<RegularFile> getArchiveFile() {
+			return archiveFile;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The reference to the archive or an empty list if the archive is not valid
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			File archive = archiveFile.get().getAsFile();
+			File key = keyFile(archive);
+			if (!archive.isFile() || !key.isFile() || !javaLauncher.isPresent()) return List.of();
+			
+			try {
+				String currentKey = archiveKey(javaLauncher.get().getMetadata(), argumentFile.get().getAsFile());
+				if (!currentKey.equals(Files.readString(key.toPath(), StandardCharsets.UTF_8).trim())) return List.of();
+			} catch (IOException | UncheckedIOException e) {
+				System.err.printf("Invalid CDS archive key %s: %s%n", key, e.getMessage());
+				return List.of();
+			}
+			return List.of(SHARED_ARCHIVE_OPTION + archive.getAbsolutePath());
+		}
+		
+	}
+	
+	/**
+	 * Argument provider that tells the JVM of the training run where the archive is written.
+	 */
+	public static class ArchiveOutputProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The CDS archive file
+		 */
+		private final Provider<RegularFile> archiveFile;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param archive The CDS archive file
+		 */
+		public ArchiveOutputProvider(@NotNull Provider<RegularFile> archive) {
+			archiveFile = archive;
+		}
+		
+		/**
+		 * The CDS archive file. The file is already an output of the task.
+		 *
+		 * @return The archive file
+		 */
+		@Internal
+		public @NotNull Provider<RegularFile> getArchiveFile() {
+			return archiveFile;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The archive option
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			return List.of("-XX:ArchiveClassesAtExit=" + archiveFile.get().getAsFile().getAbsolutePath());
+		}
+		
+	}
+	
+	/**
+	 * Argument provider with the application arguments of the execution task. The arguments are read
+	 * lazily, so the changes made to the execution task after the training task was created are included.
+	 */
+	public static class ApplicationArgumentProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The application arguments
+		 */
+		private final Provider<List<String>> arguments;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param applicationArguments The application arguments
+		 */
+		public ApplicationArgumentProvider(@NotNull Provider<List<String>> applicationArguments) {
+			arguments = applicationArguments;
+		}
+		
+		/**
+		 * The application arguments
+		 *
+		 * @return The application arguments
+		 */
+		@Input
+		public @NotNull Provider<List<String>> getArguments() {
+			return arguments;
+		}
+		
+		/**
+		 * Generates the arguments of the application
+		 *
+		 * @return The application arguments
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			return arguments.get();
+		}
+		
+	}
+	
+}
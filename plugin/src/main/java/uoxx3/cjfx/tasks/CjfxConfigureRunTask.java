@@ -1,27 +1,47 @@
 package uoxx3.cjfx.tasks;
 
 import org.gradle.api.DefaultTask;
-import org.gradle.api.Project;
-import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.specs.Spec;
-import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.javamodularity.moduleplugin.extensions.RunModuleOptions;
+import org.gradle.process.CommandLineArgumentProvider;
 import org.jetbrains.annotations.NotNull;
-import uoxx3.cjfx.CjfxModule;
-import uoxx3.cjfx.extensions.CjfxConfiguration;
-import ushiosan.jvm.collections.USet;
-import ushiosan.jvm.filesystem.UResource;
+import uoxx3.cjfx.internal.module.ModuleMetadataIndex;
+import uoxx3.cjfx.internal.service.BuildStatisticsService;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
 
-import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Task that is executed just before the "{@link org.gradle.api.plugins.ApplicationPlugin#TASK_RUN_NAME}" task to configure the
- * JVM arguments so that JavaFX works correctly.
+ * Task that is executed just before the "{@link org.gradle.api.plugins.ApplicationPlugin#TASK_RUN_NAME}" task to
+ * generate the JVM arguments so that JavaFX works correctly.
+ * <p>
+ * The task does not modify the execution task. It only writes the arguments ({@code --module-path} and
+ * {@code --add-modules}) and the arguments of the run profile ({@link uoxx3.cjfx.CjfxRunProfile}) inside a JVM
+ * argument file, and the execution task receives that file through an {@link ArgumentFileProvider}. All the task
+ * inputs are lazy properties, so the task is compatible with the configuration cache.
  */
 public abstract class CjfxConfigureRunTask extends DefaultTask {
 	
@@ -39,140 +59,347 @@ public abstract class CjfxConfigureRunTask extends DefaultTask {
 	 */
 	public static final String GROUP_NAME = "application";
 	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxConfigureRunTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		
+		// Default options
+		getProfileArguments().convention(List.of());
+	}
+	
 	/* -----------------------------------------------------
 	 * Properties
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Reference to the project to which the task will be applied.
+	 * Names of the JavaFX modules (Java 9 format) that must be added to the application.
+	 *
+	 * @return The module names property
 	 */
-	@SuppressWarnings({"FieldCanBeLocal", "unused"})
-	private final Project project;
+	@Input
+	public abstract SetProperty<String> getModuleNames();
 	
 	/**
-	 * The current configuration of the plugin.
+	 * The runtime classpath of the application. The JavaFX modules of the classpath form
+	 * the module path of the application.
+	 *
+	 * @return The runtime classpath files
 	 */
-	private final CjfxConfiguration configuration;
+	@Classpath
+	public abstract ConfigurableFileCollection getRuntimeClasspath();
 	
 	/**
-	 * The task where the Java application is executed with JavaFX.
+	 * JVM arguments of the run profile. The arguments are written in the same order after the
+	 * JavaFX module arguments.
+	 *
+	 * @return The profile arguments property
 	 */
-	private final JavaExec execTask;
+	@Input
+	public abstract ListProperty<String> getProfileArguments();
 	
-	/* -----------------------------------------------------
-	 * Constructor
-	 * ----------------------------------------------------- */
+	/**
+	 * File with the module index of the classpath elements. The index is a cache,
+	 * so it is not an input of the task.
+	 *
+	 * @return The module index file property
+	 */
+	@Internal
+	public abstract RegularFileProperty getModuleIndexFile();
 	
 	/**
-	 * Task constructor
+	 * File where the JVM arguments are written.
 	 *
-	 * @param proj Reference to the project where the task is applied
-	 * @param con  Plugin Configuration Reference
-	 * @param task Java application execution task
+	 * @return The argument file property
 	 */
-	@Inject
-	public CjfxConfigureRunTask(@NotNull Project proj, @NotNull CjfxConfiguration con, @NotNull JavaExec task) {
-		super();
-		// Initialize properties
-		project = proj;
-		configuration = con;
-		execTask = task;
-		// Configure Tasks
-		setGroup(GROUP_NAME);
-		execTask.dependsOn(this);
-	}
+	@OutputFile
+	public abstract RegularFileProperty getArgumentFile();
+	
+	/**
+	 * The service where the execution time of the task is registered.
+	 *
+	 * @return The statistics service property
+	 */
+	@Internal
+	public abstract Property<BuildStatisticsService> getStatisticsService();
 	
 	/* -----------------------------------------------------
 	 * Methods
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Method used to configure the JVM arguments to run the Java application along with JavaFX.
+	 * Method used to generate the JVM arguments to run the Java application along with JavaFX.
 	 * <p>
-	 * If the {@link org.javamodularity.moduleplugin.ModuleSystemPlugin} plugin is found within the project, only the modules
-	 * need to be defined within the project, but if it does not exist, then all JVM arguments are created to determine
-	 * the modules and the dependency paths to those modules.
+	 * If there are no modules or no JavaFX artifacts, the file is written without module arguments,
+	 * so the execution task runs with its own configuration.
 	 */
 	@TaskAction
 	public void process() {
-		// Extract module configurations
-		Set<CjfxModule> javafxModules = CjfxModule
-			.resolveModuleDependencies(configuration.modules);
-		RunModuleOptions runModuleOptions = execTask.getExtensions()
-			.findByType(RunModuleOptions.class);
-		FileCollection cleanClasspath = extractClasspathWithoutJfx();
-		FileCollection jfxClasspath = extractJarClasspathJfx();
-		
-		// Check if the module options exists
-		if (runModuleOptions != null) {
-			// Attach the classpath to the current module
-			execTask.setClasspath(cleanClasspath.plus(jfxClasspath));
-			// Also attach the modules
-			javafxModules.forEach(module -> {
-				runModuleOptions.getAddModules()
-					.add(module.javaModuleName());
-			});
-		} else {
-			// We need to create the classpath from scratch.
-			execTask.setClasspath(cleanClasspath);
-			
-			// Generate JVM configuration
-			Set<String> moduleArgs = USet.makeMutable(
-				"--module-path",
-				jfxClasspath.getAsPath());
-			Set<String> jvmArgs = USet.makeMutable(
-				"--add-modules",
-				javafxModules.stream().map(CjfxModule::javaModuleName)
-					.collect(Collectors.joining(",")));
-			
-			// Try to replace JVM arguments
-			List<String> originalJvmArgs = execTask.getJvmArgs();
-			if (originalJvmArgs != null) {
-				jvmArgs.addAll(originalJvmArgs);
+		long start = System.nanoTime();
+		try {
+			writeArgumentFile();
+		} finally {
+			if (getStatisticsService().isPresent()) {
+				getStatisticsService().get().statistics()
+					.recordTime(BuildStatistics.RUN_CONFIGURATION, start);
 			}
-			jvmArgs.addAll(moduleArgs);
-			
-			// Replace arguments
-			execTask.setJvmArgs(jvmArgs);
 		}
 	}
 	
+	/**
+	 * Creates a filter that only accepts the JavaFX modules.
+	 *
+	 * @param moduleIndexFile File with the module index of the classpath elements
+	 * @return The JavaFX artifacts filter
+	 */
+	public static @NotNull Spec<File> javafxArtifacts(@NotNull File moduleIndexFile) {
+		return new JavafxArtifactSpec(true, moduleIndexFile);
+	}
+	
+	/**
+	 * Creates a filter that accepts all the classpath elements except the JavaFX modules.
+	 *
+	 * @param moduleIndexFile File with the module index of the classpath elements
+	 * @return The non-JavaFX artifacts filter
+	 */
+	public static @NotNull Spec<File> nonJavafxArtifacts(@NotNull File moduleIndexFile) {
+		return new JavafxArtifactSpec(false, moduleIndexFile);
+	}
+	
 	/* -----------------------------------------------------
 	 * Internal methods
 	 * ----------------------------------------------------- */
 	
 	/**
-	 * Removes all javafx modules within the JVM arguments classpath. This is done because
-	 * when it resolves the arguments automatically, they cause errors and are not configured correctly.
-	 *
-	 * @return A new classpath but without the JavaFX modules.
+	 * Writes the JVM arguments inside the argument file. The classpath is classified in a single pass
+	 * and the index is saved, so the next builds (and the execution task) do not open the jars again.
 	 */
-	private @NotNull FileCollection extractClasspathWithoutJfx() {
-		FileCollection originalClasspath = execTask.getClasspath();
-		Spec<File> action = (File item) -> {
-			String basename = UResource.basename(item);
-			// Iterate all modules
-			return !basename.contains("javafx-");
-		};
+	private void writeArgumentFile() {
+		Set<String> moduleNames = getModuleNames().get();
+		ModuleMetadataIndex moduleIndex = ModuleMetadataIndex.shared(getModuleIndexFile().get().getAsFile());
+		List<String> modulePath = getRuntimeClasspath().getFiles().stream()
+			.filter(moduleIndex::isJavafxModule)
+			.map(File::getAbsolutePath)
+			.collect(Collectors.toList());
+		List<String> jvmArgs = new ArrayList<>();
+		moduleIndex.save();
 		
-		return originalClasspath.filter(action);
+		// Generate JVM configuration
+		if (!moduleNames.isEmpty() && !modulePath.isEmpty()) {
+			jvmArgs.add("--module-path");
+			jvmArgs.add(String.join(File.pathSeparator, modulePath));
+			jvmArgs.add("--add-modules");
+			jvmArgs.add(String.join(",", moduleNames));
+		}
+		jvmArgs.addAll(getProfileArguments().get());
+		
+		// Every argument is written in its own line
+		Path argumentFile = getArgumentFile().get().getAsFile().toPath();
+		try {
+			Files.createDirectories(argumentFile.getParent());
+			Files.write(argumentFile, jvmArgs.stream()
+				.map(CjfxConfigureRunTask::quoteArgument)
+				.collect(Collectors.toList()), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 	
 	/**
-	 * Returns all JavaFX modules in the current classpath. These are configured differently to work
-	 * correctly and not cause collisions.
+	 * Quotes an argument following the format of the JVM argument files. The backslashes must be
+	 * escaped because they are escape characters inside the quotes.
 	 *
-	 * @return A new classpath whit only the JavaFX modules.
+	 * @param argument The argument to quote
+	 * @return The quoted argument
+	 */
+	private static @NotNull String quoteArgument(@NotNull String argument) {
+		String escaped = argument
+			.replace("\\", "\\\\")
+			.replace("\"", "\\\"");
+		return String.format("\"%s\"", escaped);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Argument provider that passes the argument file generated by the task to the JVM
+	 * of the execution task ({@code @file} notation).
+	 */
+	public static class ArgumentFileProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The file with the JVM arguments
+		 */
+		private final Provider<RegularFile> argumentFile;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param file The file with the JVM arguments
+		 */
+		public ArgumentFileProvider(@NotNull Provider<RegularFile> file) {
+			argumentFile = file;
+		}
+		
+		/**
+		 * The file with the JVM arguments
+		 *
+		 * @return The argument file
+		 */
+		@InputFile
+		@PathSensitive(PathSensitivity.NONE)
+		public @NotNull Provider<RegularFile> getArgumentFile() {
+			return argumentFile;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The reference to the argument file
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			return List.of("@" + argumentFile.get().getAsFile().getAbsolutePath());
+		}
+		
+	}
+	
+	/**
+	 * Argument provider that adds the JavaFX modules to the execution task ({@code --add-modules}) when
+	 * the module system plugin runs the application. The module names are read when the task is executed,
+	 * so the changes made by the build script after the execution task was created are included.
 	 */
-	private @NotNull FileCollection extractJarClasspathJfx() {
-		FileCollection originalClasspath = execTask.getClasspath();
-		Spec<File> action = (File item) -> {
-			String basename = UResource.basename(item);
-			// Iterate all modules
-			return basename.contains("javafx-");
-		};
+	public static class AddModulesProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * Names of the JavaFX modules (Java 9 format)
+		 */
+		private final Provider<Set<String>> moduleNames;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param names Names of the JavaFX modules (Java 9 format)
+		 */
+		public AddModulesProvider(@NotNull Provider<Set<String>> names) {
+			moduleNames = names;
+		}
+		
+		/**
+		 * Names of the JavaFX modules (Java 9 format)
+		 *
+		 * @return The module names
+		 */
+		@Input
+		public @NotNull Provider<Set<String>> getModuleNames() {
+			return moduleNames;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The module arguments or an empty list if there are no modules
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			Set<String> names = moduleNames.get();
+			if (names.isEmpty()) return List.of();
+			return List.of("--add-modules", String.join(",", names));
+		}
+		
+	}
+	
+	/**
+	 * Argument provider that passes the arguments of the run profile to the JVM of the execution task.
+	 * It is only used when the execution task does not receive the argument file (for example, when
+	 * the module system plugin runs the application).
+	 */
+	public static class ProfileArgumentProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The arguments of the run profile
+		 */
+		private final Provider<List<String>> profileArguments;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param arguments The arguments of the run profile
+		 */
+		public ProfileArgumentProvider(@NotNull Provider<List<String>> arguments) {
+			profileArguments = arguments;
+		}
+		
+		/**
+		 * The arguments of the run profile
+		 *
+		 * @return The profile arguments
+		 */
+		@Input
+		public @NotNull Provider<List<String>> getProfileArguments() {
+			return profileArguments;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The profile arguments
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			return profileArguments.get();
+		}
+		
+	}
+	
+	/**
+	 * Filter of the classpath files that separates the JavaFX modules from the rest of the artifacts.
+	 * The module of every file is obtained from the shared {@link ModuleMetadataIndex}, so the filter
+	 * can be evaluated many times without opening the jars again.
+	 */
+	private static final class JavafxArtifactSpec implements Spec<File> {
+		
+		/**
+		 * Determines if the JavaFX artifacts are accepted or rejected
+		 */
+		private final boolean acceptJavafx;
+		
+		/**
+		 * File with the module index of the classpath elements
+		 */
+		private final File moduleIndexFile;
+		
+		/**
+		 * Default filter constructor
+		 *
+		 * @param javafx    {@code true} to accept only the JavaFX artifacts or {@code false} to reject them
+		 * @param indexFile File with the module index of the classpath elements
+		 */
+		private JavafxArtifactSpec(boolean javafx, @NotNull File indexFile) {
+			acceptJavafx = javafx;
+			moduleIndexFile = indexFile;
+		}
+		
+		/**
+		 * Checks if the file is accepted by the filter
+		 *
+		 * @param item The file to check
+		 * @return {@code true} if the file is accepted or {@code false} otherwise
+		 */
+		@Override
+		public boolean isSatisfiedBy(@NotNull File item) {
+			return ModuleMetadataIndex.shared(moduleIndexFile).isJavafxModule(item) == acceptJavafx;
+		}
 		
-		return originalClasspath.filter(action);
 	}
 	
 }
@@ -0,0 +1,293 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.CommandLineArgumentProvider;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Task that extracts the native libraries (prism, glass, fonts, media, etc.) of the JavaFX platform artifacts.
+ * <p>
+ * JavaFX extracts its native libraries into the user cache ({@code ~/.openjfx/cache}) every time that the
+ * application starts, checking every file before the first frame. Before that extraction, the JavaFX loader
+ * searches the libraries next to the {@code javafx.graphics} artifact ({@code ../bin} on Windows), so this task
+ * copies the artifacts into the {@code lib} directory ({@link #getModulesDirectory()}) and extracts the libraries
+ * beside them, only when the artifacts change. The execution task uses those copies as its module path, and
+ * it also receives the libraries in the {@code java.library.path} property through a
+ * {@link NativeLibraryProvider}.
+ */
+public abstract class CjfxExtractNativesTask extends DefaultTask {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxExtractNatives";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "application";
+	
+	/**
+	 * Extensions of the native libraries of all the supported platforms
+	 */
+	private static final Set<String> NATIVE_EXTENSIONS = Set.of(".so", ".dll", ".dylib", ".jnilib");
+	
+	/**
+	 * Directory of the copied artifacts and the native libraries of Linux and macOS
+	 */
+	private static final String MODULES_DIRECTORY = "lib";
+	
+	/**
+	 * Directory of the Windows native libraries, which are searched in {@code ../bin} from the artifacts
+	 */
+	private static final String WINDOWS_LIBRARIES_DIRECTORY = "bin";
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxExtractNativesTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Extracts the native libraries of the JavaFX artifacts.");
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The JavaFX artifacts of the current platform.
+	 *
+	 * @return The JavaFX artifact files
+	 */
+	@Classpath
+	public abstract ConfigurableFileCollection getArtifacts();
+	
+	/**
+	 * Directory where the native libraries are extracted.
+	 *
+	 * @return The natives directory property
+	 */
+	@OutputDirectory
+	public abstract DirectoryProperty getNativesDirectory();
+	
+	/**
+	 * Directory with the copies of the JavaFX artifacts, which must be used as the module path of the
+	 * application, so JavaFX finds the native libraries beside them.
+	 *
+	 * @return The modules directory
+	 */
+	@Internal
+	public @NotNull Provider<Directory> getModulesDirectory() {
+		return getNativesDirectory().dir(MODULES_DIRECTORY);
+	}
+	
+	/**
+	 * Service used to remove the previous libraries.
+	 *
+	 * @return The file system service
+	 */
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Copies the artifacts and extracts their native libraries. The previous files are removed,
+	 * so the directory never mixes libraries of different JavaFX versions.
+	 */
+	@TaskAction
+	public void process() {
+		File nativesDirectory = getNativesDirectory().get().getAsFile();
+		getFileSystemOperations().delete(spec -> spec.delete(nativesDirectory));
+		
+		int libraries = 0;
+		try {
+			Path modulesDirectory = Files.createDirectories(nativesDirectory.toPath().resolve(MODULES_DIRECTORY));
+			for (File artifact : getArtifacts().getFiles()) {
+				if (!artifact.isFile()) continue;
+				
+				Files.copy(artifact.toPath(), modulesDirectory.resolve(artifact.getName()),
+						   StandardCopyOption.REPLACE_EXISTING);
+				libraries += extractNatives(artifact, nativesDirectory.toPath());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		getLogger().info("> cjfx-natives: {} libraries extracted in {}", libraries, nativesDirectory);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Extracts the native libraries of a single artifact. The libraries are located at the root of
+	 * the JavaFX artifacts, so the entries inside directories are ignored.
+	 * The Windows libraries are extracted in their own directory (see {@link #WINDOWS_LIBRARIES_DIRECTORY}).
+	 *
+	 * @param artifact         The artifact file
+	 * @param nativesDirectory The destination directory
+	 * @return The number of extracted libraries
+	 * @throws IOException If an error occurs while reading the artifact
+	 */
+	private static int extractNatives(@NotNull File artifact, @NotNull Path nativesDirectory) throws IOException {
+		int libraries = 0;
+		try (JarFile jarFile = new JarFile(artifact, false)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (entry.isDirectory() || name.contains("/") || !isNativeLibrary(name)) continue;
+				
+				Path librariesDirectory = nativesDirectory.resolve(librariesDirectoryName(name));
+				Files.createDirectories(librariesDirectory);
+				try (InputStream stream = jarFile.getInputStream(entry)) {
+					Files.copy(stream, librariesDirectory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+				}
+				libraries++;
+			}
+		}
+		return libraries;
+	}
+	
+	/**
+	 * Gets the directory where a native library is searched by JavaFX
+	 *
+	 * @param name The library name
+	 * @return The name of the libraries directory
+	 */
+	private static @NotNull String librariesDirectoryName(@NotNull String name) {
+		return name.toLowerCase(Locale.ROOT).endsWith(".dll") ? WINDOWS_LIBRARIES_DIRECTORY : MODULES_DIRECTORY;
+	}
+	
+	/**
+	 * Checks if an entry is a native library
+	 *
+	 * @param name The entry name
+	 * @return {@code true} if the entry is a native library or {@code false} otherwise
+	 */
+	private static boolean isNativeLibrary(@NotNull String name) {
+		String lowerName = name.toLowerCase(Locale.ROOT);
+		return NATIVE_EXTENSIONS.stream()
+			.anyMatch(lowerName::endsWith);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Argument provider that adds the directories of the extracted libraries to the
+	 * {@code java.library.path} property of the execution task. The library path defined by the
+	 * user is kept, and the directories are appended to it.
+	 */
+	public static class NativeLibraryProvider implements CommandLineArgumentProvider {
+		
+		/**
+		 * The directory of the extracted libraries
+		 */
+		private final Provider<Directory> nativesDirectory;
+		
+		/**
+		 * The library path defined by the user
+		 */
+		private final Provider<String> userLibraryPath;
+		
+		/**
+		 * Default provider constructor
+		 *
+		 * @param directory   The directory of the extracted libraries
+		 * @param libraryPath The library path defined by the user. It can be empty if necessary.
+		 */
+		public NativeLibraryProvider(@NotNull Provider<Directory> directory, @NotNull Provider<String> libraryPath) {
+			nativesDirectory = directory;
+			userLibraryPath = libraryPath;
+		}
+		
+		/**
+		 * The directory of the extracted libraries. The directory is an output of the extraction task,
+		 * which is executed again when the JavaFX artifacts change.
+		 *
+		 * @return The natives directory
+		 */
+		@Internal
+		public @NotNull Provider<Directory> getNativesDirectory() {
+			return nativesDirectory;
+		}
+		
+		/**
+		 * The library path defined by the user, which is placed before the extracted libraries.
+		 *
+		 * @return The user library path
+		 */
+		@Input
+		@Optional
+		public @NotNull Provider<String> getUserLibraryPath() {
+			return userLibraryPath;
+		}
+		
+		/**
+		 * Generates the arguments of the JVM
+		 *
+		 * @return The library path property
+		 */
+		@Override
+		public @NotNull Iterable<String> asArguments() {
+			List<String> libraryPath = new ArrayList<>();
+			String userPath = userLibraryPath.getOrNull();
+			if (userPath != null && !userPath.isBlank()) libraryPath.add(userPath);
+			
+			Path directory = nativesDirectory.get().getAsFile().toPath();
+			libraryPath.addAll(Stream.of(MODULES_DIRECTORY, WINDOWS_LIBRARIES_DIRECTORY)
+								   .map(directory::resolve)
+								   .filter(Files::isDirectory)
+								   .map(path -> path.toAbsolutePath().toString())
+								   .collect(Collectors.toList()));
+			if (libraryPath.isEmpty()) return List.of();
+			return List.of("-Djava.library.path=" + String.join(File.pathSeparator, libraryPath));
+		}
+		
+	}
+	
+}
@@ -0,0 +1,174 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaInstallationMetadata;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.module.JdkModuleScanner;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Task that detects the JDK modules required by the application, so the runtime image ({@link CjfxJlinkTask})
+ * contains them.
+ * <p>
+ * The modules are read from the {@code requires} directives when the application is modular, otherwise the
+ * application classpath is analyzed with the {@code jdeps} tool of the JDK ({@code --print-module-deps}).
+ * The artifacts without module descriptor are always analyzed with {@code jdeps}.
+ * The modules are written in a file (one module per line) that is an input of the image task.
+ */
+@CacheableTask
+public abstract class CjfxJdkModulesTask extends DefaultTask {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxJdkModules";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "distribution";
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxJdkModulesTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Detects the JDK modules required by the application.");
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The application classes and the artifacts that it uses, without the JavaFX artifacts.
+	 *
+	 * @return The application classpath files
+	 */
+	@Classpath
+	public abstract ConfigurableFileCollection getApplicationClasspath();
+	
+	/**
+	 * The JDK whose {@code jdeps} tool analyzes the application.
+	 *
+	 * @return The Java launcher property
+	 */
+	@Nested
+	public abstract Property<JavaLauncher> getJavaLauncher();
+	
+	/**
+	 * File where the required JDK modules are written.
+	 *
+	 * @return The modules file property
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getModulesFile();
+	
+	/**
+	 * Service used to run the {@code jdeps} tool.
+	 *
+	 * @return The execution service
+	 */
+	@Inject
+	protected abstract ExecOperations getExecOperations();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Detects the required JDK modules and writes them inside the modules file.
+	 */
+	@TaskAction
+	public void process() {
+		List<File> applicationFiles = getApplicationClasspath().getFiles().stream()
+			.filter(File::exists)
+			.collect(Collectors.toList());
+		// The artifacts without module descriptor of a modular application are still analyzed
+		Set<String> modules = JdkModuleScanner.declaredJdkModules(applicationFiles)
+			.map(declaredModules -> {
+				Set<String> result = new TreeSet<>(declaredModules);
+				result.addAll(analyzeClasspath(JdkModuleScanner.undeclaredFiles(applicationFiles)));
+				return result;
+			})
+			.orElseGet(() -> analyzeClasspath(applicationFiles));
+		
+		Path modulesFile = getModulesFile().get().getAsFile().toPath();
+		try {
+			Files.createDirectories(modulesFile.getParent());
+			Files.write(modulesFile, modules, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		getLogger().info("> cjfx-jdk-modules: {}", modules);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Analyzes a non-modular application with the {@code jdeps} tool
+	 *
+	 * @param applicationFiles The application classpath
+	 * @return The JDK modules used by the application
+	 */
+	private @NotNull Set<String> analyzeClasspath(@NotNull List<File> applicationFiles) {
+		if (applicationFiles.isEmpty()) return new TreeSet<>();
+		
+		JavaInstallationMetadata metadata = getJavaLauncher().get().getMetadata();
+		List<String> arguments = JdkModuleScanner.jdepsArguments(applicationFiles,
+																 metadata.getLanguageVersion().asInt());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		getExecOperations().exec(spec -> {
+			spec.setExecutable(jdepsExecutable(metadata));
+			spec.args(arguments);
+			spec.setStandardOutput(output);
+		});
+		return JdkModuleScanner.parseModuleDeps(output.toString(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Gets the location of the {@code jdeps} tool of a JDK
+	 *
+	 * @param metadata The JDK metadata
+	 * @return The tool location
+	 */
+	private static @NotNull File jdepsExecutable(@NotNull JavaInstallationMetadata metadata) {
+		String executable = File.separatorChar == '\\' ? "jdeps.exe" : "jdeps";
+		return metadata.getInstallationPath().dir("bin").file(executable).getAsFile();
+	}
+	
+}
@@ -0,0 +1,283 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaInstallationMetadata;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.module.ModuleMetadataIndex;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Task that generates a runtime image ({@code jlink}) with the JavaFX modules of the project and the JDK
+ * modules that they require.
+ * <p>
+ * The JavaFX modules are the modules resolved by the plugin for the current platform, so the image does not
+ * contain unused modules. The JDK modules used by the application are detected by {@link CjfxJdkModulesTask}
+ * and read from its output file. The image is created by the {@code jlink} tool of the JDK that runs the application,
+ * and all the options are task inputs, so the image is only generated again (or taken from the build cache)
+ * when the modules, the JDK or the options change.
+ */
+@CacheableTask
+public abstract class CjfxJlinkTask extends DefaultTask {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxJlink";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "distribution";
+	
+	/**
+	 * First Java version that uses the new compression levels ({@code zip-[0-9]})
+	 */
+	private static final int ZIP_COMPRESSION_VERSION = 21;
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxJlinkTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Generates a runtime image with the JavaFX modules of the project.");
+		
+		// Default options
+		getAdditionalModules().convention(Set.of());
+		getStripDebug().convention(true);
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Names of the JavaFX modules (Java 9 format) that are added to the image.
+	 *
+	 * @return The module names property
+	 */
+	@Input
+	public abstract SetProperty<String> getModuleNames();
+	
+	/**
+	 * Additional modules of the image, for example the JDK modules used by the application
+	 * ({@code java.sql}, {@code jdk.crypto.ec}) or the module of the application itself.
+	 *
+	 * @return The additional modules property
+	 */
+	@Input
+	public abstract SetProperty<String> getAdditionalModules();
+	
+	/**
+	 * File with the JDK modules required by the application (one module per line), generated by
+	 * {@link CjfxJdkModulesTask}.
+	 *
+	 * @return The JDK modules file property
+	 */
+	@InputFile
+	@Optional
+	@PathSensitive(PathSensitivity.NONE)
+	public abstract RegularFileProperty getJdkModulesFile();
+	
+	/**
+	 * The JavaFX artifacts (and any other modular artifact) used to generate the image.
+	 *
+	 * @return The module path files
+	 */
+	@Classpath
+	public abstract ConfigurableFileCollection getModulePath();
+	
+	/**
+	 * File with the module index of the classpath elements. The index is a cache,
+	 * so it is not an input of the task.
+	 *
+	 * @return The module index file property
+	 */
+	@Internal
+	public abstract RegularFileProperty getModuleIndexFile();
+	
+	/**
+	 * The JDK whose {@code jlink} tool and modules are used.
+	 *
+	 * @return The Java launcher property
+	 */
+	@Nested
+	public abstract Property<JavaLauncher> getJavaLauncher();
+	
+	/**
+	 * Determines if the debug information is removed from the image.
+	 *
+	 * @return The strip debug property
+	 */
+	@Input
+	public abstract Property<Boolean> getStripDebug();
+	
+	/**
+	 * Compression of the image resources ({@code --compress} option). If the property is not defined,
+	 * the zip compression is used ({@code zip-6} or {@code 2} before Java 21).
+	 *
+	 * @return The compression property
+	 */
+	@Input
+	@Optional
+	public abstract Property<String> getCompression();
+	
+	/**
+	 * Directory where the runtime image is generated.
+	 *
+	 * @return The image directory property
+	 */
+	@OutputDirectory
+	public abstract DirectoryProperty getImageDirectory();
+	
+	/**
+	 * Service used to remove the previous image.
+	 *
+	 * @return The file system service
+	 */
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+	
+	/**
+	 * Service used to run the {@code jlink} tool.
+	 *
+	 * @return The execution service
+	 */
+	@Inject
+	protected abstract ExecOperations getExecOperations();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Generates the runtime image. The previous image is removed, because {@code jlink}
+	 * never writes inside an existing directory.
+	 */
+	@TaskAction
+	public void process() {
+		JavaInstallationMetadata metadata = getJavaLauncher().get().getMetadata();
+		File imageDirectory = getImageDirectory().get().getAsFile();
+		getFileSystemOperations().delete(spec -> spec.delete(imageDirectory));
+		
+		List<String> arguments = jlinkArguments(metadata, imageDirectory);
+		getExecOperations().exec(spec -> {
+			spec.setExecutable(jlinkExecutable(metadata));
+			spec.args(arguments);
+		});
+		getLogger().lifecycle("> cjfx-runtime-image: {}", imageDirectory);
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Generates the arguments of the {@code jlink} tool
+	 *
+	 * @param metadata       The JDK that generates the image
+	 * @param imageDirectory The directory of the image
+	 * @return The tool arguments
+	 */
+	private @NotNull List<String> jlinkArguments(@NotNull JavaInstallationMetadata metadata,
+		@NotNull File imageDirectory) {
+		Set<String> modules = new LinkedHashSet<>(getModuleNames().get());
+		modules.addAll(getAdditionalModules().get());
+		modules.addAll(jdkModules());
+		if (modules.isEmpty()) modules.add("java.base");
+		
+		// The automatic modules (for example the empty JavaFX artifacts without classifier) are not supported
+		ModuleMetadataIndex moduleIndex = ModuleMetadataIndex.shared(getModuleIndexFile().get().getAsFile());
+		List<String> modulePath = getModulePath().getFiles().stream()
+			.filter(file -> !moduleIndex.isAutomaticModule(file))
+			.map(File::getAbsolutePath)
+			.collect(Collectors.toList());
+		moduleIndex.save();
+		
+		List<String> arguments = new ArrayList<>();
+		if (!modulePath.isEmpty()) {
+			arguments.add("--module-path");
+			arguments.add(String.join(File.pathSeparator, modulePath));
+		}
+		arguments.add("--add-modules");
+		arguments.add(String.join(",", modules));
+		arguments.add("--output");
+		arguments.add(imageDirectory.getAbsolutePath());
+		arguments.add("--compress");
+		arguments.add(getCompression().getOrElse(
+			metadata.getLanguageVersion().canCompileOrRun(ZIP_COMPRESSION_VERSION) ? "zip-6" : "2"));
+		arguments.add("--no-header-files");
+		arguments.add("--no-man-pages");
+		if (getStripDebug().get()) arguments.add("--strip-debug");
+		return arguments;
+	}
+	
+	/**
+	 * Reads the JDK modules required by the application
+	 *
+	 * @return The JDK modules or an empty list if the modules file is not defined
+	 */
+	private @NotNull List<String> jdkModules() {
+		if (!getJdkModulesFile().isPresent()) return List.of();
+		
+		try {
+			return Files.readAllLines(getJdkModulesFile().get().getAsFile().toPath(), StandardCharsets.UTF_8).stream()
+				.map(String::trim)
+				.filter(line -> !line.isEmpty())
+				.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Gets the location of the {@code jlink} tool of a JDK
+	 *
+	 * @param metadata The JDK metadata
+	 * @return The tool location
+	 */
+	private static @NotNull File jlinkExecutable(@NotNull JavaInstallationMetadata metadata) {
+		String executable = File.separatorChar == '\\' ? "jlink.exe" : "jlink";
+		return metadata.getInstallationPath().dir("bin").file(executable).getAsFile();
+	}
+	
+}
@@ -0,0 +1,190 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.lock.VersionLockFile;
+import uoxx3.cjfx.internal.resolver.IDependencyResolver;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Task that resolves the JavaFX version of the project and saves the concrete version of every module
+ * inside the version lock file ({@code cjfx.lockfile}). The entries of other classifiers (platforms) are kept,
+ * so the same lock file can be refreshed from different operating systems.
+ * <p>
+ * The version is always resolved with the remote repositories, without the version caches or the local
+ * repositories, so the lock file never pins a version only because it was resolved or downloaded before.
+ */
+public abstract class CjfxLockTask extends DefaultTask {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxLock";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "build setup";
+	
+	/**
+	 * Group of all the JavaFX artifacts
+	 */
+	private static final String ARTIFACT_GROUP = "org.openjfx";
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxLockTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Resolves the JavaFX version and saves it inside the cjfx version lock file.");
+		
+		// The task always refreshes the locked versions
+		getOutputs().upToDateWhen(task -> false);
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The JavaFX version specification of the project.
+	 *
+	 * @return The version specification property
+	 */
+	@Input
+	public abstract Property<String> getVersionSpecification();
+	
+	/**
+	 * The names of all the JavaFX artifacts used by the project (including the dependencies of the modules).
+	 *
+	 * @return The artifact names property
+	 */
+	@Input
+	public abstract SetProperty<String> getArtifactNames();
+	
+	/**
+	 * The classifier of the artifacts (platform and architecture).
+	 *
+	 * @return The classifier property
+	 */
+	@Input
+	public abstract Property<String> getClassifier();
+	
+	/**
+	 * The service used to resolve the version.
+	 *
+	 * @return The resolver service property
+	 */
+	@Internal
+	public abstract Property<DependencyResolverService> getResolverService();
+	
+	/**
+	 * The version lock file.
+	 *
+	 * @return The lock file property
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getLockFile();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Resolves the version and updates the lock file.
+	 */
+	@TaskAction
+	public void process() {
+		DependencyResolverService resolverService = getResolverService().get();
+		IDependencyResolver resolver = resolverService.resolver();
+		Path lockFile = getLockFile().get().getAsFile().toPath();
+		String specification = getVersionSpecification().get();
+		Set<String> artifactNames = getArtifactNames().get();
+		VersionLockFile lock = readLockFile(lockFile);
+		
+		// Specific versions never use the lock file
+		if (!resolver.isSpecialCase(specification) || artifactNames.isEmpty()) {
+			getLogger().lifecycle("> cjfx-version-lock: {} is not a dynamic version", specification);
+		} else {
+			// All the modules share the same version, so only the first one is resolved
+			String version = freshResolver(resolverService)
+				.resolveArtifact(ARTIFACT_GROUP, artifactNames.iterator().next(), specification)
+				.map(IArtifactResponse::version)
+				.orElseThrow(() -> new GradleException("Cannot resolve the JavaFX version " + specification));
+			
+			String classifier = getClassifier().get();
+			for (String artifact : artifactNames) {
+				lock = lock.with(ARTIFACT_GROUP, artifact, classifier, specification, version);
+			}
+			getLogger().lifecycle("> cjfx-version-locked: {} -> {} ({})", specification, version, classifier);
+		}
+		
+		try {
+			Files.writeString(lockFile, lock.format(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Gets the resolver that ignores the version caches and the local repositories
+	 *
+	 * @param resolverService The service with the resolvers of the build
+	 * @return The resolver without caches
+	 * @throws GradleException If the build is running in offline mode
+	 */
+	private static @NotNull IDependencyResolver freshResolver(@NotNull DependencyResolverService resolverService) {
+		try {
+			return resolverService.freshResolver();
+		} catch (IllegalStateException e) {
+			throw new GradleException(String.format("The %s task needs the remote repositories: %s",
+													TASK_NAME, e.getMessage()), e);
+		}
+	}
+	
+	/**
+	 * Reads the current lock file
+	 *
+	 * @param lockFile The location of the lock file
+	 * @return The current lock file or an empty lock file if the file does not exist
+	 */
+	private static VersionLockFile readLockFile(Path lockFile) {
+		if (!Files.isRegularFile(lockFile)) return VersionLockFile.empty();
+		try {
+			return VersionLockFile.parse(Files.readString(lockFile, StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
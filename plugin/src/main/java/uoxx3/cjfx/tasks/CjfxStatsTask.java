@@ -0,0 +1,109 @@
+package uoxx3.cjfx.tasks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import uoxx3.cjfx.internal.service.BuildStatisticsService;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Task that shows the timings and counters of the plugin collected during the current build
+ * (configuration files, dependency updates, version resolutions and HTTP requests) and saves them
+ * inside a Json file, so they can be compared between builds.
+ */
+public abstract class CjfxStatsTask extends DefaultTask {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Name of the task within the Gradle context.
+	 */
+	public static final String TASK_NAME = "cjfxStats";
+	
+	/**
+	 * Name of the group where the task is located.
+	 */
+	public static final String GROUP_NAME = "help";
+	
+	/* -----------------------------------------------------
+	 * Constructor
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Task constructor
+	 */
+	public CjfxStatsTask() {
+		super();
+		// Configure Tasks
+		setGroup(GROUP_NAME);
+		setDescription("Shows the configuration and resolution statistics of the cjfx plugin.");
+		
+		// The statistics are different in every build
+		getOutputs().upToDateWhen(task -> false);
+	}
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * The service with the statistics of the current build.
+	 *
+	 * @return The statistics service property
+	 */
+	@Internal
+	public abstract Property<BuildStatisticsService> getStatisticsService();
+	
+	/**
+	 * File where the machine-readable report is written.
+	 *
+	 * @return The report file property
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getReportFile();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Shows the summary of the statistics and writes the Json report.
+	 */
+	@TaskAction
+	public void process() {
+		BuildStatistics statistics = getStatisticsService().get().statistics();
+		Path reportFile = getReportFile().get().getAsFile().toPath();
+		Gson gson = new GsonBuilder()
+			.setPrettyPrinting()
+			.create();
+		
+		// Human-readable summary
+		statistics.summary()
+			.forEach(line -> getLogger().lifecycle(line));
+		
+		try {
+			Files.createDirectories(reportFile.getParent());
+			try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+				gson.toJson(statistics.toJson(), writer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		getLogger().lifecycle("> cjfx-stats-report: {}", reportFile);
+	}
+	
+}
@@ -4,13 +4,34 @@
 package uoxx3.cjfx;
 
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencySet;
 import org.gradle.api.plugins.ApplicationPlugin;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetOutput;
+import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.jupiter.api.Test;
 import uoxx3.cjfx.extensions.CjfxConfiguration;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+import uoxx3.cjfx.tasks.CjfxCdsArchiveTask;
 import uoxx3.cjfx.tasks.CjfxConfigureRunTask;
+import uoxx3.cjfx.tasks.CjfxExtractNativesTask;
+import uoxx3.cjfx.tasks.CjfxJdkModulesTask;
+import uoxx3.cjfx.tasks.CjfxJlinkTask;
+import uoxx3.cjfx.tasks.CjfxStatsTask;
 
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * A simple unit test for the 'uoxx3.cjfx.greeting' plugin.
@@ -42,6 +63,121 @@ class CjfxPluginEntryTest {
 		// Verify the result
 		assertNotNull(project.getTasks()
 						  .findByName(CjfxConfigureRunTask.TASK_NAME));
+		assertNotNull(project.getTasks()
+						  .findByName(CjfxCdsArchiveTask.TASK_NAME));
+		assertNotNull(project.getTasks()
+						  .findByName(CjfxJlinkTask.TASK_NAME));
+		assertNotNull(project.getTasks()
+						  .findByName(CjfxJdkModulesTask.TASK_NAME));
+		assertNotNull(project.getTasks()
+						  .findByName(CjfxExtractNativesTask.TASK_NAME));
+	}
+	
+	@Test
+	void pluginRegistersTheStatsTaskTest() {
+		// Create a test project and apply the plugin
+		Project project = ProjectBuilder.builder()
+			.withName("pluginRegistersTheStatsTaskTest")
+			.build();
+		project.getPlugins().apply("io.github.uoxx3.cjfx");
+		
+		// Verify the result
+		CjfxStatsTask task = (CjfxStatsTask) project.getTasks()
+			.findByName(CjfxStatsTask.TASK_NAME);
+		assertNotNull(task);
+		assertTrue(task.getReportFile().get().getAsFile().toPath()
+					   .endsWith("build/reports/cjfx/stats.json"));
+	}
+	
+	@Test
+	void pluginSharesTheResolverServiceTest() {
+		// Create a multi-project build and apply the plugin to all projects
+		Project rootProject = ProjectBuilder.builder()
+			.withName("pluginSharesTheResolverServiceTest")
+			.build();
+		Project childProject = ProjectBuilder.builder()
+			.withName("child")
+			.withParent(rootProject)
+			.build();
+		rootProject.getPlugins().apply("io.github.uoxx3.cjfx");
+		childProject.getPlugins().apply("io.github.uoxx3.cjfx");
+		
+		// Verify the result
+		assertEquals(1, rootProject.getGradle().getSharedServices().getRegistrations()
+			.matching(registration -> registration.getName().equals(DependencyResolverService.SERVICE_NAME))
+			.size());
+	}
+	
+	
+	@Test
+	void pluginContributesDependenciesLazilyTest() {
+		// Create a test project and apply the plugin
+		Project project = ProjectBuilder.builder()
+			.withName("pluginContributesDependenciesLazilyTest")
+			.build();
+		project.getPlugins().apply(JavaPlugin.class);
+		project.getPlugins().apply("io.github.uoxx3.cjfx");
+		
+		// The configuration is changed after the plugin is applied
+		CjfxConfiguration configuration = project.getExtensions().getByType(CjfxConfiguration.class);
+		configuration.version.set("21.0.1");
+		configuration.dependencyConfigurations.set(List.of("implementation"));
+		
+		// Verify the result
+		assertTrue(project.getConfigurations().getByName("implementation").getDependencies().stream()
+					   .anyMatch(dependency -> "javafx-base".equals(dependency.getName()) &&
+											   "21.0.1".equals(dependency.getVersion())));
+		assertTrue(project.getConfigurations().getByName("testImplementation").getDependencies().isEmpty());
+	}
+	
+	
+	@Test
+	void pluginUpdatesOnlyChangedDependenciesTest() {
+		// Create a test project and apply the plugin
+		Project project = ProjectBuilder.builder()
+			.withName("pluginUpdatesOnlyChangedDependenciesTest")
+			.build();
+		project.getPlugins().apply(JavaPlugin.class);
+		project.getPlugins().apply("io.github.uoxx3.cjfx");
+		
+		// Use the dependencies and change the version later
+		CjfxConfiguration configuration = project.getExtensions().getByType(CjfxConfiguration.class);
+		configuration.version.set("21.0.1");
+		DependencySet dependencies = project.getConfigurations().getByName("implementation").getDependencies();
+		Dependency firstDependency = dependencies.iterator().next();
+		configuration.version.set("21.0.2");
+		configuration.applyChanges();
+		
+		// Verify the result
+		assertEquals(1, dependencies.size());
+		assertFalse(dependencies.contains(firstDependency));
+		assertEquals("21.0.2", dependencies.iterator().next().getVersion());
+	}
+	
+	@Test
+	void pluginRunsTheApplicationJarTest() {
+		// Create an application project without JavaFX dependencies, so the classpath is resolved offline
+		Project project = ProjectBuilder.builder()
+			.withName("pluginRunsTheApplicationJarTest")
+			.build();
+		project.getPlugins().apply(ApplicationPlugin.class);
+		project.getPlugins().apply("io.github.uoxx3.cjfx");
+		project.getExtensions().getByType(CjfxConfiguration.class)
+			.dependencyConfigurations.set(List.of());
+		
+		// The CDS archives cannot contain classes loaded from directories
+		SourceSetOutput mainOutput = project.getExtensions().getByType(JavaPluginExtension.class)
+			.getSourceSets().getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput();
+		File applicationJar = project.getTasks().named(JavaPlugin.JAR_TASK_NAME, Jar.class)
+			.get().getArchiveFile().get().getAsFile();
+		JavaExec runTask = (JavaExec) project.getTasks().getByName(ApplicationPlugin.TASK_RUN_NAME);
+		CjfxCdsArchiveTask cdsTask = (CjfxCdsArchiveTask) project.getTasks().getByName(CjfxCdsArchiveTask.TASK_NAME);
+		
+		// Verify the result
+		for (Set<File> classpath : List.of(runTask.getClasspath().getFiles(), cdsTask.getClasspath().getFiles())) {
+			assertTrue(classpath.contains(applicationJar));
+			assertTrue(mainOutput.getFiles().stream().noneMatch(classpath::contains));
+		}
 	}
 	
 }
@@ -0,0 +1,41 @@
+package uoxx3.cjfx;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class CjfxRunProfileTest {
+	
+	@Test
+	public void profileArgumentsTest() {
+		List<String> expected = List.of("-Dprism.vsync=false",
+										"-Djavafx.animation.fullspeed=true",
+										"-Dprism.maxvram=1g",
+										"-XX:+UseParallelGC");
+		
+		// Assert content
+		Assertions.assertEquals(expected, CjfxRunProfile.THROUGHPUT.jvmArguments(List.of()),
+								"Invalid profile arguments");
+		Assertions.assertTrue(CjfxRunProfile.DEFAULT.jvmArguments().isEmpty(),
+							  "Unexpected default arguments");
+	}
+	
+	@Test
+	public void userArgumentsOverrideTest() {
+		List<String> userArguments = List.of("-Dprism.maxvram=2g",
+											 "-Dprism.vsync",
+											 "-XX:+UseG1GC",
+											 "-Xmx1g");
+		List<String> expected = List.of("-Djavafx.animation.fullspeed=true");
+		
+		// Assert content
+		Assertions.assertEquals(expected, CjfxRunProfile.THROUGHPUT.jvmArguments(userArguments),
+								"The user arguments must have priority");
+		
+		// Display information
+		System.out.printf("[Expected - Actual]: %s - %s%n", expected,
+						  CjfxRunProfile.THROUGHPUT.jvmArguments(userArguments));
+	}
+	
+}
@@ -0,0 +1,48 @@
+package uoxx3.cjfx.internal.lock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+class VersionLockFileTest {
+	
+	@Test
+	public void formatAndParseTest() {
+		VersionLockFile lock = VersionLockFile.empty()
+			.with("org.openjfx", "javafx-controls", "linux", "#latest#", "21.0.1")
+			.with("org.openjfx", "javafx-base", "linux", "#latest#", "21.0.1")
+			.with("org.openjfx", "javafx-base", "win", "#latest#", "21.0.1")
+			.with("org.openjfx", "javafx-base", "linux", "#latest#", "21.0.2");
+		VersionLockFile result = VersionLockFile.parse(lock.format());
+		
+		Assertions.assertEquals(lock.entries(), result.entries(), "Invalid parsed entries");
+		Assertions.assertEquals(3, result.entries().size(), "Invalid entries size");
+		Assertions.assertEquals(Optional.of("21.0.2"),
+								result.find("org.openjfx", "javafx-base", "linux", "#latest#"),
+								"Invalid locked version");
+		Assertions.assertTrue(result.find("org.openjfx", "javafx-base", "mac", "#latest#").isEmpty(),
+							  "Unexpected locked version");
+	}
+	
+	@Test
+	public void invalidLinesAreIgnoredTest() {
+		String content = "# comment\n" +
+			"\n" +
+			"org.openjfx:javafx-base::#early#=22-ea+5\n" +
+			"org.openjfx:javafx-base::(21\\.0\\..+)=21.0.1\n" +
+			"invalid-line\n" +
+			"org.openjfx:javafx-fxml::#latest#=\n";
+		VersionLockFile result = VersionLockFile.parse(content);
+		
+		Assertions.assertEquals(2, result.entries().size(), "Invalid entries size");
+		Assertions.assertEquals(Optional.of("22-ea+5"),
+								result.find("org.openjfx", "javafx-base", "", "#early#"),
+								"Invalid locked version");
+		Assertions.assertEquals(Optional.of("21.0.1"),
+								result.find("org.openjfx", "javafx-base", "", "(21\\.0\\..+)"),
+								"Invalid regex locked version");
+		Assertions.assertTrue(VersionLockFile.parse(null).entries().isEmpty(), "Invalid empty lock");
+	}
+	
+}
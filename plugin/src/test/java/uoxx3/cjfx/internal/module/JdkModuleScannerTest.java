@@ -0,0 +1,96 @@
+package uoxx3.cjfx.internal.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class JdkModuleScannerTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void modularApplicationModulesAreReadFromTheDescriptorTest() throws IOException {
+		Path sources = temporaryDirectory.resolve("src");
+		Path classes = temporaryDirectory.resolve("classes");
+		writeSource(sources.resolve("module-info.java"),
+					"module app { requires java.sql; requires static java.compiler; }");
+		writeSource(sources.resolve("app/Main.java"),
+					"package app; public class Main { java.sql.Connection connection; }");
+		compile(sources, classes, "module-info.java", "app/Main.java");
+		
+		// The optional dependencies are only needed at compile time (java.base is always required)
+		Assertions.assertEquals(Optional.of(Set.of("java.base", "java.sql")),
+								JdkModuleScanner.declaredJdkModules(List.of(classes.toFile())),
+								"Invalid declared modules");
+	}
+	
+	@Test
+	public void classpathApplicationModulesAreReadWithJdepsTest() throws IOException {
+		Path sources = temporaryDirectory.resolve("src");
+		Path classes = temporaryDirectory.resolve("classes");
+		writeSource(sources.resolve("app/Main.java"),
+					"package app; public class Main { public static void main(String[] args) throws Exception {" +
+						" java.sql.DriverManager.getConnection(args[0]); } }");
+		compile(sources, classes, "app/Main.java");
+		
+		List<File> applicationFiles = List.of(classes.toFile());
+		Assertions.assertEquals(Optional.empty(), JdkModuleScanner.declaredJdkModules(applicationFiles),
+								"The application is not modular");
+		
+		java.util.spi.ToolProvider jdeps = java.util.spi.ToolProvider.findFirst("jdeps")
+			.orElseThrow(() -> new AssertionError("The jdeps tool is not available"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		int result = jdeps.run(new PrintStream(output, true, StandardCharsets.UTF_8), System.err,
+							   JdkModuleScanner.jdepsArguments(applicationFiles, Runtime.version().feature())
+								   .toArray(String[]::new));
+		
+		Assertions.assertEquals(0, result, "The jdeps tool failed");
+		Assertions.assertTrue(JdkModuleScanner.parseModuleDeps(output.toString(StandardCharsets.UTF_8))
+								  .contains("java.sql"), "The java.sql module was not detected");
+	}
+	
+	@Test
+	public void moduleDepsOutputIsParsedTest() {
+		Assertions.assertEquals(Set.of("java.base", "java.sql", "jdk.crypto.ec"),
+								JdkModuleScanner.parseModuleDeps("java.base,java.sql,jdk.crypto.ec\n"),
+								"Invalid parsed modules");
+		Assertions.assertEquals(Set.of(), JdkModuleScanner.parseModuleDeps(""), "Invalid empty output");
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private static void writeSource(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+	
+	private static void compile(Path sources, Path classes, String... files) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assertions.assertNotNull(compiler, "The Java compiler is not available");
+		
+		String[] arguments = new String[files.length + 2];
+		arguments[0] = "-d";
+		arguments[1] = classes.toString();
+		for (int index = 0; index < files.length; index++) {
+			arguments[index + 2] = sources.resolve(files[index]).toString();
+		}
+		Assertions.assertEquals(0, compiler.run(null, null, null, arguments), "Compilation failed");
+	}
+	
+}
@@ -0,0 +1,78 @@
+package uoxx3.cjfx.internal.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+class ModuleMetadataIndexTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void moduleNamesAreReadFromTheJarsTest() throws IOException {
+		File utilities = makeJar("my-javafx-utils.jar", null);
+		File customBuild = makeJar("graphics-custom.jar", "javafx.graphics");
+		File automatic = makeJar("library.jar", "com.example.library");
+		ModuleMetadataIndex index = new ModuleMetadataIndex(temporaryDirectory.resolve("index.json"));
+		
+		// The file names are never used
+		Assertions.assertFalse(index.isJavafxModule(utilities), "Invalid JavaFX module");
+		Assertions.assertTrue(index.isJavafxModule(customBuild), "JavaFX module not found");
+		Assertions.assertEquals(Optional.of("com.example.library"), index.moduleName(automatic),
+								"Invalid automatic module name");
+		Assertions.assertEquals(Optional.empty(), index.moduleName(utilities), "Invalid module name");
+		Assertions.assertTrue(index.isAutomaticModule(automatic), "Automatic module not found");
+		Assertions.assertFalse(index.isAutomaticModule(utilities), "Invalid automatic module");
+	}
+	
+	@Test
+	public void indexIsPersistedTest() throws IOException {
+		Path indexFile = temporaryDirectory.resolve("index.json");
+		File customBuild = makeJar("graphics-custom.jar", "javafx.graphics");
+		ModuleMetadataIndex index = new ModuleMetadataIndex(indexFile);
+		
+		index.isJavafxModule(customBuild);
+		index.save();
+		
+		// The entry is loaded from the index file
+		ModuleMetadataIndex result = new ModuleMetadataIndex(indexFile);
+		Assertions.assertEquals(1, result.size(), "Invalid index size");
+		Assertions.assertTrue(result.isJavafxModule(customBuild), "JavaFX module not found");
+		
+		// The entry is invalidated when the file changes
+		makeJar("graphics-custom.jar", "com.example.graphics");
+		Assertions.assertTrue(customBuild.setLastModified(customBuild.lastModified() + 2000L),
+							  "Cannot change the modification time");
+		Assertions.assertFalse(result.isJavafxModule(customBuild), "The index entry was not invalidated");
+	}
+	
+	private File makeJar(String name, String automaticModuleName) throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		if (automaticModuleName != null) {
+			manifest.getMainAttributes().put(new Attributes.Name("Automatic-Module-Name"), automaticModuleName);
+		}
+		
+		Path jarFile = temporaryDirectory.resolve(name);
+		try (OutputStream stream = Files.newOutputStream(jarFile);
+			 JarOutputStream jar = new JarOutputStream(stream, manifest)) {
+			jar.putNextEntry(new JarEntry("readme.txt"));
+			jar.write(name.getBytes());
+			jar.closeEntry();
+		}
+		return jarFile.toFile();
+	}
+	
+}
@@ -0,0 +1,113 @@
+package uoxx3.cjfx.internal.process;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.CjfxLockMode;
+import uoxx3.cjfx.extensions.CjfxConfiguration;
+import uoxx3.cjfx.internal.lock.VersionLockFile;
+import uoxx3.cjfx.internal.service.BuildStatisticsService;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+import uoxx3.cjfx.internal.service.StubResolverService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class DependencyProcessorTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void lenientModeUsesTheLockedVersionTest() throws IOException {
+		Project project = makeProject();
+		Provider<StubResolverService> service = StubResolverService.register(project, temporaryDirectory);
+		CjfxConfiguration configuration = makeConfiguration(project, service, CjfxLockMode.LENIENT);
+		writeLockFile(project, classifier(configuration), "21.0.1");
+		
+		// The locked version is used without the resolver
+		Assertions.assertEquals("21.0.1", javafxBaseVersion(project), "The locked version was not used");
+		Assertions.assertEquals(0, service.get().resolutionCount(), "The resolver was used");
+	}
+	
+	@Test
+	public void strictModeRequiresTheLockedVersionTest() throws IOException {
+		Project project = makeProject();
+		Provider<StubResolverService> service = StubResolverService.register(project, temporaryDirectory);
+		makeConfiguration(project, service, CjfxLockMode.STRICT);
+		writeLockFile(project, "other-platform", "21.0.1");
+		
+		// Only the entries of other classifiers are locked
+		RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> javafxBaseVersion(project));
+		Throwable cause = exception;
+		while (cause.getCause() != null && !(cause instanceof IllegalStateException)) {
+			cause = cause.getCause();
+		}
+		Assertions.assertTrue(String.valueOf(cause.getMessage()).contains("is not locked"),
+							  "Invalid error: " + cause.getMessage());
+		Assertions.assertEquals(0, service.get().resolutionCount(), "The resolver was used");
+	}
+	
+	@Test
+	public void disabledModeIgnoresTheLockFileTest() throws IOException {
+		Project project = makeProject();
+		Provider<StubResolverService> service = StubResolverService.register(project, temporaryDirectory);
+		CjfxConfiguration configuration = makeConfiguration(project, service, CjfxLockMode.DISABLED);
+		writeLockFile(project, classifier(configuration), "21.0.1");
+		
+		// The version is always resolved
+		Assertions.assertEquals(StubResolverService.RESOLVED_VERSION, javafxBaseVersion(project),
+								"The lock file was used");
+		Assertions.assertEquals(1, service.get().resolutionCount(), "The resolver was not used");
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private Project makeProject() {
+		Project project = ProjectBuilder.builder()
+			.withProjectDir(temporaryDirectory.resolve("project").toFile())
+			.build();
+		project.getPlugins().apply(JavaPlugin.class);
+		return project;
+	}
+	
+	private static CjfxConfiguration makeConfiguration(Project project, Provider<StubResolverService> service,
+		CjfxLockMode lockMode) {
+		DependencyProcessor processor = new DependencyProcessor(
+			project, service.map(DependencyResolverService.class::cast), BuildStatisticsService.register(project));
+		CjfxConfiguration configuration = new CjfxConfiguration(project, processor);
+		configuration.dependencyConfigurations.set(List.of(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME));
+		configuration.lockMode.set(lockMode);
+		return configuration;
+	}
+	
+	private static String classifier(CjfxConfiguration configuration) {
+		return PlatformProcessor.instance()
+			.resolveArtifactModifier(configuration.platform.get(), configuration.architecture.get());
+	}
+	
+	private static void writeLockFile(Project project, String classifier, String version) throws IOException {
+		Files.writeString(project.file(VersionLockFile.FILE_NAME).toPath(), VersionLockFile.empty()
+			.with("org.openjfx", "javafx-base", classifier, CjfxConfiguration.DEFAULT_VERSION, version)
+			.format());
+	}
+	
+	private static String javafxBaseVersion(Project project) {
+		return project.getConfigurations().getByName(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME)
+			.getDependencies().stream()
+			.filter(dependency -> "javafx-base".equals(dependency.getName()))
+			.map(Dependency::getVersion)
+			.findFirst()
+			.orElse(null);
+	}
+	
+}
@@ -0,0 +1,228 @@
+package uoxx3.cjfx.internal.resolver;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactCacheKey;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.cache.DaemonArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.MavenMetadataDependencyResolver;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+class DynamicDependencyResolverTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void staleEntryIsRefreshedWithTheRemoteVersionTest() throws IOException, InterruptedException {
+		AtomicReference<String> remoteRelease = new AtomicReference<>("21");
+		HttpServer server = startMetadataServer(remoteRelease);
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver();
+			 DynamicDependencyResolver remoteResolver = new DynamicDependencyResolver()) {
+			String repositoryUrl = String.format("http://127.0.0.1:%d/maven2/", server.getAddress().getPort());
+			ArtifactDiskCache diskCache = new ArtifactDiskCache(temporaryDirectory, Duration.ofHours(1),
+																resolver.gsonClient());
+			
+			// The local repository always answers first with the version that it already has
+			AtomicInteger localRequests = new AtomicInteger();
+			resolver.registerResolver(new StubResolver(version -> {
+				localRequests.incrementAndGet();
+				return CompletableFuture.completedFuture(Optional.of(makeArtifact("21")));
+			}));
+			resolver.registerResolver(new MavenMetadataDependencyResolver(
+				resolver.httpClient(), resolver.gsonClient(), resolver.requestTimeout(), repositoryUrl, diskCache));
+			remoteResolver.registerResolver(new MavenMetadataDependencyResolver(
+				remoteResolver.httpClient(), remoteResolver.gsonClient(), remoteResolver.requestTimeout(),
+				repositoryUrl, null));
+			resolver.useDaemonCache(DaemonArtifactCache.shared(UUID.randomUUID().toString()), Duration.ZERO,
+									Duration.ofHours(1));
+			resolver.useRefreshResolver(() -> remoteResolver, diskCache);
+			
+			Assertions.assertEquals("21", resolveLatest(resolver), "Invalid first version");
+			
+			// A new version is published: the stale entry is still returned while it is refreshed
+			remoteRelease.set("21.0.1");
+			Assertions.assertEquals("21", resolveLatest(resolver), "The stale entry was not used");
+			String refreshedVersion = resolveLatest(resolver);
+			for (int attempt = 0; attempt < 100 && !"21.0.1".equals(refreshedVersion); attempt++) {
+				Thread.sleep(50L);
+				refreshedVersion = resolveLatest(resolver);
+			}
+			
+			// The new version comes from the remote repository (the local one never has it)
+			Assertions.assertEquals("21.0.1", refreshedVersion, "The stale entry was not refreshed");
+			Assertions.assertEquals(1, localRequests.get(), "The refresh used the local repository");
+			Assertions.assertEquals("21.0.1", diskCache.find(new ArtifactCacheKey(
+										"org.openjfx", "javafx-base", "#latest#"))
+										.map(MavenArtifactCache::version)
+										.orElse(null),
+									"The refreshed version was not saved inside the persistent cache");
+		} finally {
+			server.stop(0);
+		}
+	}
+	
+	@Test
+	public void firstSuccessfulResolverWinsTest() throws Exception {
+		CompletableFuture<Optional<IArtifactResponse>> slowRequest = new CompletableFuture<>();
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver()) {
+			resolver.registerResolver(new StubResolver(version -> slowRequest));
+			resolver.registerResolver(new StubResolver(version -> CompletableFuture.completedFuture(Optional.empty())));
+			resolver.registerResolver(new StubResolver(version -> {
+				throw new IllegalStateException("Broken resolver");
+			}));
+			CompletableFuture<Optional<IArtifactResponse>> fastRequest = new CompletableFuture<>();
+			resolver.registerResolver(new StubResolver(version -> fastRequest));
+			
+			// The empty and failed answers do not complete the resolution
+			CompletableFuture<Optional<IArtifactResponse>> result = resolver.resolveArtifactAsync(
+				"org.openjfx", "javafx-base", "21");
+			Assertions.assertFalse(result.isDone(), "The resolution finished without an artifact");
+			
+			fastRequest.complete(Optional.of(makeArtifact("21")));
+			Assertions.assertEquals("21", result.get(5, TimeUnit.SECONDS).map(IArtifactResponse::version).orElse(null),
+									"Invalid resolved version");
+			Assertions.assertTrue(slowRequest.isCancelled(), "The slower request was not cancelled");
+		}
+	}
+	
+	@Test
+	public void synchronousAnswerSkipsTheSlowerResolversTest() {
+		AtomicInteger remoteRequests = new AtomicInteger();
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver()) {
+			resolver.registerResolver(new StubResolver(
+				version -> CompletableFuture.completedFuture(Optional.of(makeArtifact(version)))));
+			resolver.registerResolver(new StubResolver(version -> {
+				remoteRequests.incrementAndGet();
+				return new CompletableFuture<>();
+			}));
+			
+			Assertions.assertEquals("21", resolver.resolveArtifact("org.openjfx", "javafx-base", "21")
+				.map(IArtifactResponse::version)
+				.orElse(null), "Invalid resolved version");
+			Assertions.assertEquals(0, remoteRequests.get(), "The slower resolver was started");
+		}
+	}
+	
+	@Test
+	public void emptyAnswersResolveNothingTest() throws Exception {
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver()) {
+			resolver.registerResolver(new StubResolver(version -> CompletableFuture.completedFuture(Optional.empty())));
+			resolver.registerResolver(new StubResolver(
+				version -> CompletableFuture.supplyAsync(Optional::<IArtifactResponse>empty)));
+			
+			// The resolution finishes as soon as every resolver answered (long before the deadline)
+			Assertions.assertEquals(Optional.empty(), resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "21")
+				.get(5, TimeUnit.SECONDS), "Invalid empty resolution");
+		}
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver()) {
+			Assertions.assertEquals(Optional.empty(), resolver.resolveArtifact("org.openjfx", "javafx-base", "21"),
+									"Invalid resolution without resolvers");
+		}
+	}
+	
+	@Test
+	public void deadlineCancelsThePendingRequestsTest() throws Exception {
+		CompletableFuture<Optional<IArtifactResponse>> pendingRequest = new CompletableFuture<>();
+		try (DynamicDependencyResolver resolver = new DynamicDependencyResolver(Duration.ofMillis(200))) {
+			resolver.registerResolver(new StubResolver(version -> pendingRequest));
+			
+			long start = System.nanoTime();
+			Assertions.assertEquals(Optional.empty(), resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "21")
+				.get(5, TimeUnit.SECONDS), "Invalid resolution after the deadline");
+			Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(150)) >= 0,
+								  "The resolution finished before the deadline");
+			Assertions.assertTrue(pendingRequest.isCancelled(), "The pending request was not cancelled");
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private static String resolveLatest(DynamicDependencyResolver resolver) {
+		return resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#")
+			.map(IArtifactResponse::version)
+			.orElse(null);
+	}
+	
+	private static IArtifactResponse makeArtifact(String version) {
+		return MavenArtifactResponse.of("org.openjfx", "javafx-base", version, "");
+	}
+	
+	private static HttpServer startMetadataServer(AtomicReference<String> release) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/maven2/org/openjfx/javafx-base/maven-metadata.xml", exchange -> {
+			byte[] content = String.format(
+				"<metadata><groupId>org.openjfx</groupId><artifactId>javafx-base</artifactId><versioning>" +
+					"<release>%1$s</release><versions><version>21</version><version>%1$s</version></versions>" +
+					"</versioning></metadata>", release.get()).getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, content.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(content);
+			}
+		});
+		server.start();
+		return server;
+	}
+	
+	/**
+	 * Resolver whose answers are controlled by the test
+	 */
+	private static final class StubResolver extends BaseDependencyResolver {
+		
+		private final Function<String, CompletableFuture<Optional<IArtifactResponse>>> answer;
+		
+		private StubResolver(Function<String, CompletableFuture<Optional<IArtifactResponse>>> resolution) {
+			super(HttpClient.newHttpClient(), new Gson());
+			answer = resolution;
+		}
+		
+		@Override
+		public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+			@NotNull String version, @NotNull String classifier) {
+			return resolveArtifactAsync(group, artifact, version, classifier).join();
+		}
+		
+		@Override
+		public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+			@NotNull String version) {
+			return resolveArtifactAsync(group, artifact, version).join();
+		}
+		
+		@Override
+		public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+			@NotNull String artifact, @NotNull String version, @NotNull String classifier) {
+			return answer.apply(version);
+		}
+		
+		@Override
+		public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+			@NotNull String artifact, @NotNull String version) {
+			return answer.apply(version);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,22 @@
+package uoxx3.cjfx.internal.resolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class HttpExecutorsTest {
+	
+	@Test
+	public void executorNeverKeepsTheDaemonAliveTest() throws Exception {
+		ExecutorService executor = HttpExecutors.newExecutor();
+		boolean daemonThread = executor.submit(() -> Thread.currentThread().isDaemon())
+			.get(5L, TimeUnit.SECONDS);
+		executor.shutdown();
+		
+		Assertions.assertTrue(daemonThread, "The request thread is not a daemon thread");
+		Assertions.assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS), "The executor was not terminated");
+	}
+	
+}
@@ -0,0 +1,81 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+class ArtifactDiskCacheTest {
+	
+	private final Gson gson = new GsonBuilder()
+		.excludeFieldsWithoutExposeAnnotation()
+		.create();
+	
+	@TempDir
+	Path cacheDirectory;
+	
+	@Test
+	public void storeAndFindTest() {
+		ArtifactDiskCache cache = new ArtifactDiskCache(cacheDirectory, Duration.ofHours(1), gson);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux");
+		cache.store(key, makeArtifact("javafx-base", "21.0.1"));
+		
+		// A new instance must read the content from the disk
+		ArtifactDiskCache otherCache = new ArtifactDiskCache(cacheDirectory, Duration.ofHours(1), gson);
+		Optional<MavenArtifactCache> result = otherCache.find(key);
+		
+		// Assert content
+		Assertions.assertTrue(result.isPresent(), "Cache entry not found");
+		Assertions.assertEquals("21.0.1", result.get().version(), "Invalid cached version");
+		Assertions.assertEquals("latest", result.get().specialVersion(), "Invalid special version");
+	}
+	
+	@Test
+	public void keySeparationTest() {
+		ArtifactDiskCache cache = new ArtifactDiskCache(cacheDirectory, Duration.ofHours(1), gson);
+		cache.store(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux"),
+					makeArtifact("javafx-base", "21.0.1"));
+		
+		// Other classifiers or artifacts must not share the entry
+		Assertions.assertFalse(cache.find(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "win"))
+								   .isPresent(), "Classifier collision");
+		Assertions.assertFalse(cache.find(new ArtifactCacheKey("org.openjfx", "javafx-web", "#latest#", "linux"))
+								   .isPresent(), "Artifact collision");
+	}
+	
+	@Test
+	public void expiredEntryTest() throws InterruptedException {
+		ArtifactDiskCache cache = new ArtifactDiskCache(cacheDirectory, Duration.ofMillis(1), gson);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#");
+		cache.store(key, makeArtifact("javafx-base", "21.0.1"));
+		Thread.sleep(10);
+		
+		// Expired entries are only available for offline resolutions
+		Assertions.assertFalse(cache.find(key).isPresent(), "Expired entry returned");
+		Assertions.assertTrue(cache.findAny(key).isPresent(), "Expired entry was removed");
+	}
+	
+	@Test
+	public void disabledCacheTest() {
+		ArtifactDiskCache cache = new ArtifactDiskCache(cacheDirectory, Duration.ZERO, gson);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#");
+		cache.store(key, makeArtifact("javafx-base", "21.0.1"));
+		
+		// Assert content
+		Assertions.assertFalse(cache.isEnabled(), "Cache must be disabled");
+		Assertions.assertFalse(cache.find(key).isPresent(), "Disabled cache returned an entry");
+	}
+	
+	private MavenArtifactCache makeArtifact(String artifact, String version) {
+		String json = String.format("{\"g\":\"org.openjfx\",\"a\":\"%s\",\"v\":\"%s\"}", artifact, version);
+		return new MavenArtifactCache(gson.fromJson(json, MavenArtifactResponse.class), "latest");
+	}
+	
+}
@@ -0,0 +1,54 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+
+class ArtifactMemoryCacheTest {
+	
+	@Test
+	public void keyCollisionTest() {
+		ArtifactMemoryCache cache = new ArtifactMemoryCache();
+		cache.store(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux"),
+					makeArtifact("21.0.1"));
+		
+		// The same special case for another artifact or classifier is a different entry
+		Assertions.assertTrue(cache.find(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux"))
+								  .isPresent(), "Cache entry not found");
+		Assertions.assertFalse(cache.find(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "mac"))
+								   .isPresent(), "Classifier collision");
+		Assertions.assertFalse(cache.find(new ArtifactCacheKey("com.example", "javafx-base", "#latest#", "linux"))
+								   .isPresent(), "Group collision");
+		
+		// Assert counters
+		Assertions.assertEquals(1, cache.hitCount(), "Invalid hit counter");
+		Assertions.assertEquals(2, cache.missCount(), "Invalid miss counter");
+	}
+	
+	@Test
+	public void leastRecentlyUsedEvictionTest() {
+		ArtifactMemoryCache cache = new ArtifactMemoryCache(2);
+		ArtifactCacheKey first = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#");
+		ArtifactCacheKey second = new ArtifactCacheKey("org.openjfx", "javafx-graphics", "#latest#");
+		ArtifactCacheKey third = new ArtifactCacheKey("org.openjfx", "javafx-controls", "#latest#");
+		
+		cache.store(first, makeArtifact("21"));
+		cache.store(second, makeArtifact("21"));
+		cache.find(first);
+		cache.store(third, makeArtifact("21"));
+		
+		// The second entry is the least recently used
+		Assertions.assertEquals(2, cache.size(), "Invalid cache size");
+		Assertions.assertTrue(cache.find(first).isPresent(), "Recently used entry was removed");
+		Assertions.assertFalse(cache.find(second).isPresent(), "Least recently used entry was not removed");
+		Assertions.assertTrue(cache.find(third).isPresent(), "New entry was removed");
+	}
+	
+	private MavenArtifactCache makeArtifact(String version) {
+		String json = String.format("{\"g\":\"org.openjfx\",\"a\":\"javafx-base\",\"v\":\"%s\"}", version);
+		return new MavenArtifactCache(new Gson().fromJson(json, MavenArtifactResponse.class), "latest");
+	}
+	
+}
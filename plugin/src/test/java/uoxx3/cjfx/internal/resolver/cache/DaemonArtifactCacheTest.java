@@ -0,0 +1,84 @@
+package uoxx3.cjfx.internal.resolver.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DaemonArtifactCacheTest {
+	
+	@Test
+	public void freshEntryTest() {
+		DaemonArtifactCache cache = new DaemonArtifactCache(DaemonArtifactCache.DEFAULT_CAPACITY);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux");
+		AtomicInteger resolutions = new AtomicInteger();
+		
+		for (int i = 0; i < 3; i++) {
+			Optional<IArtifactResponse> result = cache.resolve(key, Duration.ofHours(1), () -> {
+				resolutions.incrementAndGet();
+				return CompletableFuture.completedFuture(Optional.of(makeArtifact("21.0.1")));
+			}).join();
+			Assertions.assertEquals("21.0.1", result.orElseThrow().version(), "Invalid cached version");
+		}
+		
+		Assertions.assertEquals(1, resolutions.get(), "The fresh entry was resolved again");
+		Assertions.assertEquals(2, cache.hitCount(), "Invalid hit counter");
+		Assertions.assertEquals(1, cache.missCount(), "Invalid miss counter");
+	}
+	
+	@Test
+	public void staleEntryIsRefreshedInBackgroundTest() {
+		DaemonArtifactCache cache = new DaemonArtifactCache(DaemonArtifactCache.DEFAULT_CAPACITY);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#");
+		CompletableFuture<Optional<IArtifactResponse>> refresh = new CompletableFuture<>();
+		AtomicInteger refreshes = new AtomicInteger();
+		
+		cache.resolve(key, Duration.ZERO, () -> CompletableFuture.completedFuture(Optional.of(makeArtifact("21"))))
+			.join();
+		
+		// The stale entry is returned while the refresh is pending
+		for (int i = 0; i < 2; i++) {
+			Optional<IArtifactResponse> stale = cache.resolve(key, Duration.ZERO, () -> {
+				refreshes.incrementAndGet();
+				return refresh;
+			}).join();
+			Assertions.assertEquals("21", stale.orElseThrow().version(), "The stale entry was not used");
+		}
+		Assertions.assertEquals(1, refreshes.get(), "Only one refresh must be started");
+		
+		// The next lookup uses the refreshed value
+		refresh.complete(Optional.of(makeArtifact("21.0.1")));
+		Optional<IArtifactResponse> result = cache.resolve(key, Duration.ofHours(1), CompletableFuture::new).join();
+		Assertions.assertEquals("21.0.1", result.orElseThrow().version(), "The entry was not refreshed");
+		Assertions.assertEquals(2, cache.staleCount(), "Invalid stale counter");
+	}
+	
+	@Test
+	public void expiredEntryIsResolvedAgainTest() {
+		DaemonArtifactCache cache = new DaemonArtifactCache(DaemonArtifactCache.DEFAULT_CAPACITY);
+		ArtifactCacheKey key = new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#");
+		
+		cache.resolve(key, Duration.ZERO, Duration.ofHours(1),
+					  () -> CompletableFuture.completedFuture(Optional.of(makeArtifact("21"))))
+			.join();
+		
+		// The entry is older than the maximum age, so the caller waits for the new resolution
+		Optional<IArtifactResponse> result = cache.resolve(key, Duration.ZERO, Duration.ZERO,
+														   () -> CompletableFuture.completedFuture(
+															   Optional.of(makeArtifact("21.0.1"))))
+			.join();
+		Assertions.assertEquals("21.0.1", result.orElseThrow().version(), "The expired entry was used");
+		Assertions.assertEquals(2, cache.missCount(), "Invalid miss counter");
+		Assertions.assertEquals(0, cache.staleCount(), "Invalid stale counter");
+	}
+	
+	private IArtifactResponse makeArtifact(String version) {
+		return MavenArtifactResponse.of("org.openjfx", "javafx-base", version, "");
+	}
+	
+}
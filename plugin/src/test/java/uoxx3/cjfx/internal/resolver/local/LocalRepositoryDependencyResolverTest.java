@@ -0,0 +1,84 @@
+package uoxx3.cjfx.internal.resolver.local;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+class LocalRepositoryDependencyResolverTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void latestFromMavenLocalTest() throws IOException {
+		Path mavenLocal = temporaryDirectory.resolve("m2");
+		Path artifactDirectory = mavenLocal.resolve("org/openjfx/javafx-base");
+		Files.createDirectories(artifactDirectory);
+		Files.writeString(artifactDirectory.resolve("maven-metadata-local.xml"),
+						  "<metadata><versioning><versions>" +
+						  "<version>17.0.2</version><version>21.0.1</version><version>22-ea+16</version>" +
+						  "</versions></versioning></metadata>");
+		createArtifact(artifactDirectory.resolve("17.0.2"), "javafx-base-17.0.2-linux.jar");
+		createArtifact(artifactDirectory.resolve("21.0.1"), "javafx-base-21.0.1-linux.jar");
+		createArtifact(artifactDirectory.resolve("22-ea+16"), "javafx-base-22-ea+16-linux.jar");
+		
+		LocalRepositoryDependencyResolver resolver = makeResolver(mavenLocal, null);
+		Optional<IArtifactResponse> latest = resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#", "linux");
+		Optional<IArtifactResponse> early = resolver.resolveArtifact("org.openjfx", "javafx-base", "#early#", "linux");
+		
+		Assertions.assertTrue(latest.isPresent(), "Latest version not found");
+		Assertions.assertEquals("21.0.1", latest.get().version(), "Invalid latest version");
+		Assertions.assertTrue(early.isPresent(), "Early access version not found");
+		Assertions.assertEquals("22-ea+16", early.get().version(), "Invalid early access version");
+	}
+	
+	@Test
+	public void latestFromGradleCacheTest() throws IOException {
+		Path gradleModules = temporaryDirectory.resolve("files-2.1");
+		Path artifactDirectory = gradleModules.resolve("org.openjfx/javafx-base");
+		createArtifact(artifactDirectory.resolve("21.0.1/5f1c0e8"), "javafx-base-21.0.1-linux.jar");
+		createArtifact(artifactDirectory.resolve("21.0.2/a93b77d"), "javafx-base-21.0.2.pom");
+		createArtifact(artifactDirectory.resolve("9.0.4/c0f3e1b"), "javafx-base-9.0.4-linux.jar");
+		
+		LocalRepositoryDependencyResolver resolver = makeResolver(null, gradleModules);
+		Optional<IArtifactResponse> withClassifier =
+			resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#", "linux");
+		Optional<IArtifactResponse> withoutClassifier =
+			resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#");
+		
+		// The platform jar of the newest version is not on disk
+		Assertions.assertTrue(withClassifier.isPresent(), "Latest version not found");
+		Assertions.assertEquals("21.0.1", withClassifier.get().version(), "Invalid latest version");
+		Assertions.assertTrue(withoutClassifier.isPresent(), "Latest version not found");
+		Assertions.assertEquals("21.0.2", withoutClassifier.get().version(), "Invalid latest version");
+	}
+	
+	@Test
+	public void artifactNotPresentTest() {
+		LocalRepositoryDependencyResolver resolver =
+			makeResolver(temporaryDirectory.resolve("m2"), temporaryDirectory.resolve("files-2.1"));
+		
+		Assertions.assertFalse(resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#").isPresent(),
+							   "Artifact resolved without local files");
+		Assertions.assertFalse(resolver.resolveArtifact("org.openjfx", "javafx-base", "21").isPresent(),
+							   "Artifact resolved without local files");
+	}
+	
+	private LocalRepositoryDependencyResolver makeResolver(Path mavenLocal, Path gradleModules) {
+		return new LocalRepositoryDependencyResolver(HttpClient.newHttpClient(), new Gson(), mavenLocal, gradleModules);
+	}
+	
+	private void createArtifact(Path directory, String fileName) throws IOException {
+		Files.createDirectories(directory);
+		Files.createFile(directory.resolve(fileName));
+	}
+	
+}
@@ -0,0 +1,81 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactCacheKey;
+import uoxx3.cjfx.internal.resolver.cache.ArtifactDiskCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactCache;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+import uoxx3.cjfx.internal.stats.MeasuredHttpClient;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+class MavenDependencyResolverTest {
+	
+	private final Gson gson = new GsonBuilder()
+		.excludeFieldsWithoutExposeAnnotation()
+		.create();
+	
+	@TempDir
+	Path cacheDirectory;
+	
+	@Test
+	public void offlineExpiredEntryTest() throws InterruptedException {
+		ArtifactDiskCache diskCache = new ArtifactDiskCache(cacheDirectory, Duration.ofMillis(1), gson);
+		diskCache.store(new ArtifactCacheKey("org.openjfx", "javafx-base", "#latest#", "linux"),
+						new MavenArtifactCache(MavenArtifactResponse.of("org.openjfx", "javafx-base", "21.0.1", "linux"),
+											   "latest"));
+		Thread.sleep(10);
+		
+		BuildStatistics statistics = new BuildStatistics();
+		MavenDependencyResolver resolver = makeResolver(diskCache, statistics);
+		CompletableFuture<Optional<IArtifactResponse>> result =
+			resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "#latest#", "linux");
+		
+		// An old resolution is used immediately
+		Assertions.assertTrue(result.isDone(), "The offline resolution is not immediate");
+		Assertions.assertEquals("21.0.1", result.join().map(IArtifactResponse::version).orElse(null),
+								"The expired entry was not used");
+		Assertions.assertFalse(hasRequests(statistics), "The network was used in offline mode");
+	}
+	
+	@Test
+	public void offlineMissTest() {
+		ArtifactDiskCache diskCache = new ArtifactDiskCache(cacheDirectory, Duration.ofHours(1), gson);
+		BuildStatistics statistics = new BuildStatistics();
+		MavenDependencyResolver resolver = makeResolver(diskCache, statistics);
+		CompletableFuture<Optional<IArtifactResponse>> special =
+			resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "#latest#", "linux");
+		CompletableFuture<Optional<IArtifactResponse>> specific =
+			resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "21.0.1");
+		
+		// Without a previous resolution the answer is empty, but the build does not wait for the network
+		Assertions.assertTrue(special.isDone() && specific.isDone(), "The offline resolution is not immediate");
+		Assertions.assertEquals(Optional.empty(), special.join(), "Invalid offline special case");
+		Assertions.assertEquals(Optional.empty(), specific.join(), "Invalid offline version");
+		Assertions.assertFalse(hasRequests(statistics), "The network was used in offline mode");
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private MavenDependencyResolver makeResolver(ArtifactDiskCache diskCache, BuildStatistics statistics) {
+		return new MavenDependencyResolver(new MeasuredHttpClient(HttpClient.newHttpClient(), statistics), gson,
+										   Duration.ofSeconds(1), diskCache, true);
+	}
+	
+	private static boolean hasRequests(BuildStatistics statistics) {
+		return statistics.toJson().getAsJsonObject("timers").has(BuildStatistics.HTTP_REQUESTS);
+	}
+	
+}
@@ -0,0 +1,106 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MavenMetadataDependencyResolverTest {
+	
+	private static final String METADATA_CONTENT =
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+		"<metadata>\n" +
+		"  <groupId>org.openjfx</groupId>\n" +
+		"  <artifactId>javafx-base</artifactId>\n" +
+		"  <versioning>\n" +
+		"    <latest>23-ea+3</latest>\n" +
+		"    <release>21.0.1</release>\n" +
+		"    <versions>\n" +
+		"      <version>11.0.2</version>\n" +
+		"      <version>21</version>\n" +
+		"      <version>21.0.1</version>\n" +
+		"      <version>22-ea+16</version>\n" +
+		"      <version>23-ea+3</version>\n" +
+		"      <version>21.0.1-ea+1</version>\n" +
+		"    </versions>\n" +
+		"  </versioning>\n" +
+		"</metadata>\n";
+	
+	private HttpServer server;
+	
+	private AtomicInteger requestCounter;
+	
+	@BeforeEach
+	public void startServer() throws IOException {
+		requestCounter = new AtomicInteger();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/maven2/org/openjfx/javafx-base/maven-metadata.xml", exchange -> {
+			requestCounter.incrementAndGet();
+			byte[] content = METADATA_CONTENT.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, content.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(content);
+			}
+		});
+		server.start();
+	}
+	
+	@AfterEach
+	public void stopServer() {
+		server.stop(0);
+	}
+	
+	@Test
+	public void specialCasesTest() {
+		MavenMetadataDependencyResolver resolver = makeResolver();
+		Optional<IArtifactResponse> latest = resolver.resolveArtifact("org.openjfx", "javafx-base", "#latest#", "linux");
+		Optional<IArtifactResponse> early = resolver.resolveArtifact("org.openjfx", "javafx-base", "#early#");
+		Optional<IArtifactResponse> custom = resolver.resolveArtifact("org.openjfx", "javafx-base", "#^21.*#");
+		
+		Assertions.assertTrue(latest.isPresent(), "Latest version not found");
+		Assertions.assertEquals("21.0.1", latest.get().version(), "Invalid latest version");
+		Assertions.assertEquals("org.openjfx:javafx-base:21.0.1:linux", latest.get().id(), "Invalid artifact id");
+		Assertions.assertTrue(early.isPresent(), "Early access version not found");
+		Assertions.assertEquals("23-ea+3", early.get().version(), "Invalid early access version");
+		Assertions.assertTrue(custom.isPresent(), "Custom version not found");
+		Assertions.assertEquals("21.0.1", custom.get().version(), "Invalid custom version");
+		
+		// The version list is downloaded only once
+		Assertions.assertEquals(1, requestCounter.get(), "Metadata downloaded more than once");
+	}
+	
+	@Test
+	public void specificVersionTest() {
+		MavenMetadataDependencyResolver resolver = makeResolver();
+		
+		Assertions.assertTrue(resolver.resolveArtifact("org.openjfx", "javafx-base", "21").isPresent(),
+							  "Existing version not found");
+		Assertions.assertFalse(resolver.resolveArtifact("org.openjfx", "javafx-base", "99").isPresent(),
+							   "Missing version resolved");
+	}
+	
+	@Test
+	public void missingMetadataTest() {
+		MavenMetadataDependencyResolver resolver = makeResolver();
+		
+		Assertions.assertFalse(resolver.resolveArtifact("org.openjfx", "javafx-graphics", "#latest#").isPresent(),
+							   "Artifact resolved without metadata");
+	}
+	
+	private MavenMetadataDependencyResolver makeResolver() {
+		String repositoryUrl = String.format("http://127.0.0.1:%d/maven2/", server.getAddress().getPort());
+		return new MavenMetadataDependencyResolver(HttpClient.newHttpClient(), new Gson(), repositoryUrl);
+	}
+	
+}
@@ -0,0 +1,50 @@
+package uoxx3.cjfx.internal.resolver.maven;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+class MavenSearchReaderTest {
+	
+	@Test
+	public void readAllDocumentsTest() throws IOException {
+		String content = "{\"responseHeader\":{\"status\":0,\"params\":{\"q\":\"g:org.openjfx\"}}," +
+						 "\"response\":{\"numFound\":42,\"start\":0,\"docs\":[" +
+						 "{\"id\":\"org.openjfx:javafx-base:22-ea+16\",\"g\":\"org.openjfx\",\"a\":\"javafx-base\"," +
+						 "\"v\":\"22-ea+16\",\"p\":\"jar\",\"timestamp\":1700000000000," +
+						 "\"ec\":[\"-linux.jar\",\".pom\"],\"tags\":null}," +
+						 "{\"id\":\"org.openjfx:javafx-base:21.0.1\",\"g\":\"org.openjfx\",\"a\":\"javafx-base\"," +
+						 "\"v\":\"21.0.1\",\"p\":\"jar\"}]}}";
+		int[] documents = new int[1];
+		int found = MavenSearchReader.read(new StringReader(content), document -> {
+			documents[0]++;
+			return true;
+		});
+		
+		Assertions.assertEquals(42, found, "Invalid number of documents found");
+		Assertions.assertEquals(2, documents[0], "Invalid number of documents read");
+	}
+	
+	@Test
+	public void stopAtFirstMatchTest() throws IOException {
+		// The content after the first valid document is invalid and must never be read
+		String content = "{\"response\":{\"numFound\":3,\"docs\":[" +
+						 "{\"g\":\"org.openjfx\",\"a\":\"javafx-base\",\"v\":\"22-ea+16\",\"ec\":[\"-linux.jar\"]}," +
+						 "{\"g\":\"org.openjfx\",\"a\":\"javafx-base\",\"v\":\"21.0.1\",\"ec\":[\"-linux.jar\"]}," +
+						 "{\"g\":";
+		Pattern latestPattern = Pattern.compile("^(\\d+\\.)*(\\*|\\d+)$");
+		Optional<IArtifactResponse> artifactFound = MavenSearchReader.findFirst(
+			new StringReader(content), version -> latestPattern.matcher(version).find());
+		
+		Assertions.assertTrue(artifactFound.isPresent(), "Artifact not found");
+		Assertions.assertEquals("21.0.1", artifactFound.get().version(), "Invalid artifact version");
+		Assertions.assertArrayEquals(new String[]{"-linux.jar"}, artifactFound.get().classifiers(),
+									 "Invalid artifact classifiers");
+	}
+	
+}
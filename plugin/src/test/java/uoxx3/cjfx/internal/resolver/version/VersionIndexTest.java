@@ -0,0 +1,43 @@
+package uoxx3.cjfx.internal.resolver.version;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+class VersionIndexTest {
+	
+	@Test
+	public void semanticOrderTest() {
+		VersionIndex index = new VersionIndex(List.of("21.0.1", "17.0.10", "22-ea+2", "17.0.2", "22-ea+16", "22",
+													  "21.0.1-ea+1", "9", "17.0.2"));
+		
+		Assertions.assertEquals(List.of("9", "17.0.2", "17.0.10", "21.0.1-ea+1", "21.0.1", "22-ea+2", "22-ea+16", "22"),
+								index.versions(), "Invalid version order");
+	}
+	
+	@Test
+	public void newestVersionTest() {
+		VersionIndex index = new VersionIndex(List.of("22-ea+16", "21.0.1", "17.0.10", "22-ea+2", "17.0.2"));
+		Optional<String> latest = index.newest(version -> version.matches("^(\\d+\\.)*(\\*|\\d+)$"));
+		Optional<String> early = index.newest(version -> version.matches("^(\\d+\\.)*(\\d+-ea\\+\\d+)$"));
+		Optional<String> custom = index.newest(version -> version.startsWith("17"));
+		
+		Assertions.assertEquals(Optional.of("21.0.1"), latest, "Invalid latest version");
+		Assertions.assertEquals(Optional.of("22-ea+16"), early, "Invalid early access version");
+		Assertions.assertEquals(Optional.of("17.0.10"), custom, "Invalid custom version");
+		Assertions.assertFalse(index.newest(version -> version.startsWith("11")).isPresent(), "Invalid missing version");
+	}
+	
+	@Test
+	public void containsTest() {
+		VersionIndex index = new VersionIndex(List.of("21", "21.0.1", "17.0.2", "22-ea+16"));
+		
+		Assertions.assertTrue(index.contains("21"), "Existing version not found");
+		Assertions.assertTrue(index.contains("22-ea+16"), "Existing version not found");
+		Assertions.assertFalse(index.contains("21.0.0"), "Equivalent version found");
+		Assertions.assertFalse(index.contains("18"), "Missing version found");
+	}
+	
+}
@@ -0,0 +1,85 @@
+package uoxx3.cjfx.internal.service;
+
+import org.gradle.api.services.BuildServiceParameters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ConfigurationFileServiceTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void boundedSearchTest() throws IOException {
+		Path project = temporaryDirectory.resolve("project");
+		Path childProject = project.resolve("child");
+		writeFile(project.resolve("cjfx.properties"), "version=21");
+		writeFile(project.resolve("config/cjfx.properties"), "modules=BASE");
+		writeFile(project.resolve("build/cjfx.properties"), "version=1");
+		writeFile(project.resolve(".gradle/cjfx.properties"), "version=2");
+		writeFile(project.resolve("config/nested/cjfx.properties"), "version=3");
+		writeFile(childProject.resolve("cjfx.properties"), "version=4");
+		
+		ConfigurationFileService service = makeService();
+		List<Path> files = service.findConfigurationFiles(project, 2, Set.of(childProject));
+		
+		Assertions.assertEquals(List.of(project.resolve("cjfx.properties"),
+										project.resolve("config/cjfx.properties")), files,
+								"Invalid configuration files");
+		Assertions.assertEquals(List.of(project.resolve("cjfx.properties")),
+								service.findConfigurationFiles(project, 1, Set.of()),
+								"Invalid configuration files");
+	}
+	
+	@Test
+	public void cacheInvalidationTest() throws IOException {
+		Path project = temporaryDirectory.resolve("project");
+		Path configuration = project.resolve("cjfx.properties");
+		writeFile(configuration, "version=21");
+		
+		ConfigurationFileService service = makeService();
+		List<Path> firstSearch = service.findConfigurationFiles(project, 2, Set.of());
+		Map<String, String> firstContent = service.loadConfigurationFile(configuration);
+		
+		Assertions.assertSame(firstSearch, service.findConfigurationFiles(project, 2, Set.of()),
+							  "The search was repeated");
+		Assertions.assertSame(firstContent, service.loadConfigurationFile(configuration),
+							  "The file was parsed again");
+		Assertions.assertEquals("21", firstContent.get("version"), "Invalid property value");
+		
+		// Modify the file and the directory
+		writeFile(configuration, "version=22.0.1");
+		writeFile(project.resolve("extra/cjfx.properties"), "modules=ALL");
+		Files.setLastModifiedTime(configuration, FileTime.fromMillis(1000L));
+		Files.setLastModifiedTime(project, FileTime.fromMillis(1000L));
+		
+		Assertions.assertEquals(2, service.findConfigurationFiles(project, 2, Set.of()).size(),
+								"The new file was not found");
+		Assertions.assertEquals("22.0.1", service.loadConfigurationFile(configuration).get("version"),
+								"The file was not parsed again");
+	}
+	
+	private static ConfigurationFileService makeService() {
+		return new ConfigurationFileService() {
+			@Override
+			public BuildServiceParameters.None getParameters() {
+				return null;
+			}
+		};
+	}
+	
+	private static void writeFile(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+	
+}
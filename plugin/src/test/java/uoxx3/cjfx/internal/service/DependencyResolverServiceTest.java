@@ -0,0 +1,91 @@
+package uoxx3.cjfx.internal.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.resolver.IDependencyResolver;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+import uoxx3.cjfx.internal.stats.BuildStatistics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DependencyResolverServiceTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void offlineModeNeverUsesTheNetworkTest() throws IOException {
+		AtomicInteger requestCounter = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			requestCounter.incrementAndGet();
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+		});
+		server.start();
+		try {
+			Path artifactDirectory = temporaryDirectory.resolve("m2/org/openjfx/javafx-base/21.0.1");
+			Files.createDirectories(artifactDirectory);
+			Files.writeString(artifactDirectory.resolve("javafx-base-21.0.1-linux.jar"), "");
+			
+			Project project = ProjectBuilder.builder()
+				.withProjectDir(temporaryDirectory.resolve("project").toFile())
+				.build();
+			Provider<DependencyResolverService> service = register(
+				project, String.format("http://127.0.0.1:%d/maven2/", server.getAddress().getPort()));
+			IDependencyResolver resolver = service.get().resolver();
+			CompletableFuture<Optional<IArtifactResponse>> local =
+				resolver.resolveArtifactAsync("org.openjfx", "javafx-base", "#latest#", "linux");
+			CompletableFuture<Optional<IArtifactResponse>> missing =
+				resolver.resolveArtifactAsync("org.openjfx", "javafx-web", "#latest#", "linux");
+			
+			// The local repository answers and the rest of the resolutions fail immediately
+			Assertions.assertTrue(local.isDone() && missing.isDone(), "The offline resolution is not immediate");
+			Assertions.assertEquals("21.0.1", local.join().map(IArtifactResponse::version).orElse(null),
+									"The local repository was not used");
+			Assertions.assertEquals(Optional.empty(), missing.join(), "Invalid offline resolution");
+			Assertions.assertEquals(0, requestCounter.get(), "The repository was used in offline mode");
+			Assertions.assertFalse(BuildStatisticsService.register(project).get().statistics().toJson()
+									   .getAsJsonObject("timers").has(BuildStatistics.HTTP_REQUESTS),
+								   "The network was used in offline mode");
+			Assertions.assertThrows(IllegalStateException.class, () -> service.get().freshResolver(),
+									"The fresh resolver needs the network");
+		} finally {
+			server.stop(0);
+		}
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private Provider<DependencyResolverService> register(Project project, String repositoryUrl) {
+		Provider<BuildStatisticsService> statisticsService = BuildStatisticsService.register(project);
+		return project.getGradle().getSharedServices()
+			.registerIfAbsent(DependencyResolverService.SERVICE_NAME, DependencyResolverService.class, spec -> {
+				spec.getParameters().getStatisticsService().set(statisticsService);
+				spec.getParameters().getCacheDirectory().set(temporaryDirectory.resolve("cache").toFile());
+				spec.getParameters().getCacheTtl().set(60L);
+				spec.getParameters().getDaemonCacheFreshness().set(0L);
+				spec.getParameters().getResolutionTimeout().set(30L);
+				spec.getParameters().getOffline().set(true);
+				spec.getParameters().getRepositoryUrls().set(List.of(repositoryUrl));
+				spec.getParameters().getMavenLocalDirectory().set(temporaryDirectory.resolve("m2").toFile());
+				spec.getParameters().getGradleModuleDirectory()
+					.set(temporaryDirectory.resolve("modules-2").toFile());
+			});
+	}
+	
+}
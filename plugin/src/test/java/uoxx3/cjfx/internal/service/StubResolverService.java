@@ -0,0 +1,133 @@
+package uoxx3.cjfx.internal.service;
+
+import com.google.gson.Gson;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.jetbrains.annotations.NotNull;
+import uoxx3.cjfx.internal.resolver.BaseDependencyResolver;
+import uoxx3.cjfx.internal.resolver.IDependencyResolver;
+import uoxx3.cjfx.internal.resolver.maven.content.MavenArtifactResponse;
+import uoxx3.cjfx.internal.resolver.response.IArtifactResponse;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolver service whose resolvers never use the network. Every resolution answers
+ * {@link #RESOLVED_VERSION} and is counted, so the tests can check if the resolver was used.
+ */
+public abstract class StubResolverService extends DependencyResolverService {
+	
+	/* -----------------------------------------------------
+	 * Constants
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Version returned by every resolution
+	 */
+	public static final String RESOLVED_VERSION = "21.0.2";
+	
+	/* -----------------------------------------------------
+	 * Properties
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Resolver returned by the service
+	 */
+	private final CountingResolver stubResolver = new CountingResolver();
+	
+	/* -----------------------------------------------------
+	 * Methods
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Registers the service inside the build. The service runs in offline mode and all its
+	 * directories are located inside the given directory.
+	 *
+	 * @param project   The project of the test
+	 * @param directory Directory of the caches and local repositories
+	 * @return The provider of the service
+	 */
+	public static @NotNull Provider<StubResolverService> register(@NotNull Project project, @NotNull Path directory) {
+		Provider<BuildStatisticsService> statisticsService = BuildStatisticsService.register(project);
+		return project.getGradle().getSharedServices()
+			.registerIfAbsent("cjfxStubResolver", StubResolverService.class, spec -> {
+				spec.getParameters().getStatisticsService().set(statisticsService);
+				spec.getParameters().getCacheDirectory().set(directory.resolve("cache").toFile());
+				spec.getParameters().getCacheTtl().set(0L);
+				spec.getParameters().getDaemonCacheFreshness().set(0L);
+				spec.getParameters().getResolutionTimeout().set(1L);
+				spec.getParameters().getOffline().set(true);
+				spec.getParameters().getRepositoryUrls().set(List.of());
+				spec.getParameters().getMavenLocalDirectory().set(directory.resolve("m2").toFile());
+				spec.getParameters().getGradleModuleDirectory().set(directory.resolve("modules-2").toFile());
+			});
+	}
+	
+	@Override
+	public @NotNull IDependencyResolver resolver() {
+		return stubResolver;
+	}
+	
+	@Override
+	public synchronized @NotNull IDependencyResolver freshResolver() {
+		return stubResolver;
+	}
+	
+	/**
+	 * Gets the number of resolutions made with the service
+	 *
+	 * @return The number of resolutions
+	 */
+	public int resolutionCount() {
+		return stubResolver.resolutions.get();
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal classes
+	 * ----------------------------------------------------- */
+	
+	/**
+	 * Resolver that counts the resolutions and always answers the same version
+	 */
+	private static final class CountingResolver extends BaseDependencyResolver {
+		
+		private final AtomicInteger resolutions = new AtomicInteger();
+		
+		private CountingResolver() {
+			super(HttpClient.newHttpClient(), new Gson());
+		}
+		
+		@Override
+		public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+			@NotNull String version, @NotNull String classifier) {
+			return resolveArtifactAsync(group, artifact, version, classifier).join();
+		}
+		
+		@Override
+		public @NotNull Optional<IArtifactResponse> resolveArtifact(@NotNull String group, @NotNull String artifact,
+			@NotNull String version) {
+			return resolveArtifactAsync(group, artifact, version).join();
+		}
+		
+		@Override
+		public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+			@NotNull String artifact, @NotNull String version, @NotNull String classifier) {
+			resolutions.incrementAndGet();
+			return CompletableFuture.completedFuture(
+				Optional.of(MavenArtifactResponse.of(group, artifact, RESOLVED_VERSION, classifier)));
+		}
+		
+		@Override
+		public @NotNull CompletableFuture<Optional<IArtifactResponse>> resolveArtifactAsync(@NotNull String group,
+			@NotNull String artifact, @NotNull String version) {
+			return resolveArtifactAsync(group, artifact, version, "");
+		}
+		
+	}
+	
+}
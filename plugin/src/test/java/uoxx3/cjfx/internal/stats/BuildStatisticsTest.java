@@ -0,0 +1,48 @@
+package uoxx3.cjfx.internal.stats;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class BuildStatisticsTest {
+
+	@Test
+	public void timersAndCountersTest() {
+		BuildStatistics statistics = new BuildStatistics();
+		AtomicLong gaugeValue = new AtomicLong();
+
+		String result = statistics.measure(BuildStatistics.DEPENDENCY_UPDATE, () -> "21.0.1");
+		statistics.measure(BuildStatistics.DEPENDENCY_UPDATE, () -> {});
+		statistics.add(BuildStatistics.HTTP_BYTES, 512L);
+		statistics.add(BuildStatistics.HTTP_BYTES, 256L);
+		statistics.registerGauge("cache.memory.hits", gaugeValue::get);
+		gaugeValue.set(3L);
+
+		// The gauges are read when the report is generated
+		JsonObject report = statistics.toJson();
+		JsonObject timer = report.getAsJsonObject("timers").getAsJsonObject(BuildStatistics.DEPENDENCY_UPDATE);
+		JsonObject counters = report.getAsJsonObject("counters");
+
+		Assertions.assertEquals("21.0.1", result, "Invalid measured result");
+		Assertions.assertEquals(2L, timer.get("count").getAsLong(), "Invalid timer count");
+		Assertions.assertEquals(768L, counters.get(BuildStatistics.HTTP_BYTES).getAsLong(), "Invalid counter value");
+		Assertions.assertEquals(3L, counters.get("cache.memory.hits").getAsLong(), "Invalid gauge value");
+		Assertions.assertEquals(3, statistics.summary().size(), "Invalid summary size");
+	}
+
+	@Test
+	public void failedActionIsMeasuredTest() {
+		BuildStatistics statistics = new BuildStatistics();
+
+		Assertions.assertThrows(IllegalStateException.class, () -> statistics.measure(
+			BuildStatistics.CONFIGURATION_FILES, () -> {
+				throw new IllegalStateException("Invalid configuration");
+			}));
+		Assertions.assertEquals(1L, statistics.toJson().getAsJsonObject("timers")
+			.getAsJsonObject(BuildStatistics.CONFIGURATION_FILES)
+			.get("count").getAsLong(), "The failed action was not measured");
+	}
+
+}
@@ -0,0 +1,110 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.jvm.toolchain.JavaToolchainService;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+class CjfxCdsArchiveTaskTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void trainingRunGeneratesTheArchiveTest() throws IOException {
+		Path classes = compileApplication();
+		File applicationJar = makeJar(classes);
+		Project project = makeProject();
+		CjfxCdsArchiveTask task = registerTask(project, applicationJar);
+		task.exec();
+		
+		// The archive and its key are written next to each other
+		File archiveFile = task.getArchiveFile().get().getAsFile();
+		Assertions.assertTrue(archiveFile.isFile(), "The CDS archive was not generated");
+		Assertions.assertTrue(new File(archiveFile.getParentFile(), archiveFile.getName() + ".key").isFile(),
+							  "The archive key was not generated");
+	}
+	
+	@Test
+	public void classDirectoriesAreRejectedTest() throws IOException {
+		Path classes = compileApplication();
+		Project project = makeProject();
+		CjfxCdsArchiveTask task = registerTask(project, classes.toFile());
+		
+		// The JVM would run the application without writing the archive
+		GradleException exception = Assertions.assertThrows(GradleException.class, task::exec);
+		Assertions.assertTrue(exception.getMessage().contains(classes.toString()),
+							  "The directory is not reported: " + exception.getMessage());
+		Assertions.assertFalse(task.getArchiveFile().get().getAsFile().exists(), "Invalid CDS archive");
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private Project makeProject() {
+		Project project = ProjectBuilder.builder()
+			.withProjectDir(temporaryDirectory.resolve("project").toFile())
+			.build();
+		project.getPlugins().apply(JavaPlugin.class);
+		return project;
+	}
+	
+	private CjfxCdsArchiveTask registerTask(Project project, File classpath) throws IOException {
+		File argumentFile = temporaryDirectory.resolve("run.args").toFile();
+		Files.writeString(argumentFile.toPath(), "");
+		
+		JavaPluginExtension javaExtension = project.getExtensions().getByType(JavaPluginExtension.class);
+		JavaToolchainService toolchainService = project.getExtensions().getByType(JavaToolchainService.class);
+		return project.getTasks()
+			.register(CjfxCdsArchiveTask.TASK_NAME, CjfxCdsArchiveTask.class, task -> {
+				task.getMainClass().set("app.Main");
+				task.setClasspath(project.files(classpath));
+				task.getJavaLauncher().set(toolchainService.launcherFor(javaExtension.getToolchain()));
+				task.getArgumentFile().set(argumentFile);
+				task.getArchiveFile().set(project.getLayout().getBuildDirectory().file("cds/application.jsa"));
+			})
+			.get();
+	}
+	
+	private Path compileApplication() throws IOException {
+		Path source = temporaryDirectory.resolve("src/app/Main.java");
+		Path classes = temporaryDirectory.resolve("classes");
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, "package app; public class Main { public static void main(String[] args) {" +
+			" System.out.println(java.util.List.of(args)); } }");
+		
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assertions.assertNotNull(compiler, "The Java compiler is not available");
+		Assertions.assertEquals(0, compiler.run(null, null, null, "-d", classes.toString(), source.toString()),
+								"Compilation failed");
+		return classes;
+	}
+	
+	private File makeJar(Path classes) throws IOException {
+		File file = temporaryDirectory.resolve("application.jar").toFile();
+		try (OutputStream stream = Files.newOutputStream(file.toPath());
+			 JarOutputStream jarStream = new JarOutputStream(stream)) {
+			jarStream.putNextEntry(new JarEntry("app/Main.class"));
+			jarStream.write(Files.readAllBytes(classes.resolve("app/Main.class")));
+			jarStream.closeEntry();
+		}
+		return file;
+	}
+	
+}
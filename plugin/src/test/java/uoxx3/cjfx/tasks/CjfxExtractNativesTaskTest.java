@@ -0,0 +1,90 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+class CjfxExtractNativesTaskTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void librariesAreExtractedBesideTheArtifactsTest() throws IOException {
+		File graphics = makeJar("javafx-graphics-21-linux.jar", "libprism_sw.so", "libglass.so",
+								"com/sun/glass/utils/NativeLibLoader.class");
+		File windows = makeJar("javafx-media-21-win.jar", "jfxmedia.dll");
+		Project project = ProjectBuilder.builder()
+			.withProjectDir(temporaryDirectory.resolve("project").toFile())
+			.build();
+		CjfxExtractNativesTask task = project.getTasks()
+			.register(CjfxExtractNativesTask.TASK_NAME, CjfxExtractNativesTask.class, configuration -> {
+				configuration.getArtifacts().from(graphics, windows);
+				configuration.getNativesDirectory().set(project.getLayout().getBuildDirectory().dir("natives"));
+			})
+			.get();
+		task.process();
+		
+		// The artifacts are copied and the libraries are extracted where JavaFX searches them first
+		Path nativesDirectory = task.getNativesDirectory().get().getAsFile().toPath();
+		Path modulesDirectory = task.getModulesDirectory().get().getAsFile().toPath();
+		Assertions.assertEquals(nativesDirectory.resolve("lib"), modulesDirectory, "Invalid modules directory");
+		Assertions.assertTrue(Files.isRegularFile(modulesDirectory.resolve(graphics.getName())),
+							  "The artifact was not copied");
+		Assertions.assertTrue(Files.isRegularFile(modulesDirectory.resolve("libprism_sw.so")),
+							  "The library was not extracted");
+		Assertions.assertTrue(Files.isRegularFile(modulesDirectory.resolve("libglass.so")),
+							  "The library was not extracted");
+		Assertions.assertTrue(Files.isRegularFile(nativesDirectory.resolve("bin/jfxmedia.dll")),
+							  "The Windows library was not extracted");
+		Assertions.assertFalse(Files.exists(modulesDirectory.resolve("NativeLibLoader.class")),
+							   "The classes must not be extracted");
+		
+		// The library path defined by the user is kept
+		CjfxExtractNativesTask.NativeLibraryProvider provider = new CjfxExtractNativesTask.NativeLibraryProvider(
+			task.getNativesDirectory(), project.provider(() -> "/opt/libraries"));
+		String libraryPath = String.join(File.pathSeparator, "/opt/libraries",
+										 modulesDirectory.toAbsolutePath().toString(),
+										 nativesDirectory.resolve("bin").toAbsolutePath().toString());
+		Assertions.assertEquals(List.of("-Djava.library.path=" + libraryPath), provider.asArguments(),
+								"Invalid library path");
+		
+		// Without a user library path, only the extracted libraries are used
+		CjfxExtractNativesTask.NativeLibraryProvider defaultProvider = new CjfxExtractNativesTask.NativeLibraryProvider(
+			task.getNativesDirectory(), project.provider(() -> null));
+		Assertions.assertEquals(List.of("-Djava.library.path=" + String.join(
+									File.pathSeparator, modulesDirectory.toAbsolutePath().toString(),
+									nativesDirectory.resolve("bin").toAbsolutePath().toString())),
+								defaultProvider.asArguments(), "Invalid default library path");
+	}
+	
+	/* -----------------------------------------------------
+	 * Internal methods
+	 * ----------------------------------------------------- */
+	
+	private File makeJar(String name, String... entries) throws IOException {
+		File file = temporaryDirectory.resolve(name).toFile();
+		try (OutputStream stream = Files.newOutputStream(file.toPath());
+			 JarOutputStream jarStream = new JarOutputStream(stream)) {
+			for (String entry : entries) {
+				jarStream.putNextEntry(new JarEntry(entry));
+				jarStream.write(entry.getBytes(StandardCharsets.UTF_8));
+				jarStream.closeEntry();
+			}
+		}
+		return file;
+	}
+	
+}
@@ -0,0 +1,60 @@
+package uoxx3.cjfx.tasks;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uoxx3.cjfx.internal.lock.VersionLockFile;
+import uoxx3.cjfx.internal.service.DependencyResolverService;
+import uoxx3.cjfx.internal.service.StubResolverService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+class CjfxLockTaskTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	@Test
+	public void otherClassifiersAreKeptTest() throws IOException {
+		Project project = ProjectBuilder.builder()
+			.withProjectDir(temporaryDirectory.resolve("project").toFile())
+			.build();
+		Provider<StubResolverService> service = StubResolverService.register(project, temporaryDirectory);
+		Path lockFile = project.file(VersionLockFile.FILE_NAME).toPath();
+		Files.writeString(lockFile, VersionLockFile.empty()
+			.with("org.openjfx", "javafx-base", "win", "#latest#", "21")
+			.with("org.openjfx", "javafx-base", "linux", "#latest#", "21")
+			.format());
+		
+		CjfxLockTask task = project.getTasks()
+			.register(CjfxLockTask.TASK_NAME, CjfxLockTask.class, configuration -> {
+				configuration.getVersionSpecification().set("#latest#");
+				configuration.getArtifactNames().set(Set.of("javafx-base", "javafx-graphics"));
+				configuration.getClassifier().set("linux");
+				configuration.getResolverService().set(service.map(DependencyResolverService.class::cast));
+				configuration.getLockFile().set(lockFile.toFile());
+			})
+			.get();
+		task.process();
+		
+		// Only the entries of the current classifier are refreshed
+		VersionLockFile result = VersionLockFile.parse(Files.readString(lockFile));
+		Assertions.assertEquals(3, result.entries().size(), "Invalid entries size");
+		Assertions.assertEquals(Optional.of("21"), result.find("org.openjfx", "javafx-base", "win", "#latest#"),
+								"The entry of the other classifier was not kept");
+		Assertions.assertEquals(Optional.of(StubResolverService.RESOLVED_VERSION),
+								result.find("org.openjfx", "javafx-base", "linux", "#latest#"),
+								"The entry of the current classifier was not refreshed");
+		Assertions.assertEquals(Optional.of(StubResolverService.RESOLVED_VERSION),
+								result.find("org.openjfx", "javafx-graphics", "linux", "#latest#"),
+								"The new artifact was not locked");
+	}
+	
+}